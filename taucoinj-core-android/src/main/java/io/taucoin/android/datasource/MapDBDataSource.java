@@ -92,6 +92,10 @@ public class MapDBDataSource implements KeyValueDataSource {
         try {
             for (byte[] key : rows.keySet()) {
                 byte[] value = rows.get(key);
+                if (value == null) {
+                    map.remove(key);
+                    continue;
+                }
                 savedSize += value.length;
 
                 map.put(key, value);
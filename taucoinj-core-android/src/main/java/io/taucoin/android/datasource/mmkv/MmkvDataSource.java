@@ -112,7 +112,11 @@ public class MmkvDataSource implements KeyValueDataSource {
 
     private void updateBatchInternal(Map<byte[], byte[]> rows) {
         for (Map.Entry<byte[], byte[]> entry : rows.entrySet()) {
-            put(entry.getKey(), entry.getValue());
+            if (entry.getValue() == null) {
+                delete(entry.getKey());
+            } else {
+                put(entry.getKey(), entry.getValue());
+            }
         }
         db.commit();
     }
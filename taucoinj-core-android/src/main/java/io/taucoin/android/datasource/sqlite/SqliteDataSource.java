@@ -157,7 +157,12 @@ public class SqliteDataSource implements KeyValueDataSource {
 
         try {
             for (Map.Entry<byte[], byte[]> entry : rows.entrySet()) {
-                put(db, entry.getKey(), entry.getValue());
+                if (entry.getValue() == null) {
+                    db.delete(name, KEY_COLUMN + "=?",
+                            new String[] {toHexString(entry.getKey())});
+                } else {
+                    put(db, entry.getKey(), entry.getValue());
+                }
             }
 
             db.setTransactionSuccessful();
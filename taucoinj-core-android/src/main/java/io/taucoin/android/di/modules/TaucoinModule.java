@@ -18,6 +18,8 @@ import io.taucoin.core.PendingStateImpl;
 import io.taucoin.core.Repository;
 import io.taucoin.datasource.HashMapDB;
 import io.taucoin.datasource.KeyValueDataSource;
+import io.taucoin.datasource.RocksDbDataSource;
+import io.taucoin.datasource.RocksDbSupport;
 import io.taucoin.datasource.mapdb.MapDBFactory;
 import io.taucoin.datasource.mapdb.MapDBFactoryImpl;
 import io.taucoin.db.BlockStore;
@@ -25,6 +27,9 @@ import io.taucoin.db.file.FileBlockStore;
 import io.taucoin.db.IndexedBlockStore;
 import io.taucoin.db.MemoryIndexedBlockStore;
 import io.taucoin.db.RepositoryImpl;
+import io.taucoin.db.StateUndoStore;
+import io.taucoin.db.StripedRepositoryImpl;
+import io.taucoin.db.TransactionIndexStore;
 import io.taucoin.db.state.StateLoader;
 import io.taucoin.debug.RefWatcher;
 import io.taucoin.facade.Taucoin;
@@ -118,8 +123,12 @@ public class TaucoinModule {
     io.taucoin.core.Blockchain provideBlockchain(BlockStore blockStore, io.taucoin.core.Repository repository,
             PendingState pendingState, TaucoinListener listener, ChainInfoManager chainInfoManager,
             FileBlockStore fileBlockStore, RefWatcher refWatcher) {
+        TransactionIndexStore txIndex = CONFIG.txIndexEnabled()
+                ? new TransactionIndexStore(new MmkvDataSource()) : null;
+        StateUndoStore undoStore = CONFIG.stateUndoEnabled()
+                ? new StateUndoStore(new MmkvDataSource()) : null;
         return new BlockchainImpl(blockStore, repository, pendingState, listener,
-                chainInfoManager, fileBlockStore, refWatcher);
+                chainInfoManager, fileBlockStore, refWatcher, txIndex, undoStore);
     }
 
     @Provides
@@ -181,10 +190,22 @@ public class TaucoinModule {
     @Singleton
     Repository provideRepository() {
         //LevelDbDataSource stateDS = new LevelDbDataSource();
-        MmkvDataSource stateDS = new MmkvDataSource();
-        //RocksDbDataSource stateDS = new RocksDbDataSource();
         //AccountStateDatabaseImpl accountStateDb = new AccountStateDatabaseImpl(stateDS);
-        return new RepositoryImpl(stateDS);
+        // RocksDB if it is configured and an Android build of it is packaged,
+        // rocksdbjni isn't, see taucoinj-core-android/build.gradle.
+        KeyValueDataSource stateDS;
+        if ("rocksdb".equals(CONFIG.getKeyValueDataSource())
+                && RocksDbSupport.isAvailable()) {
+            stateDS = new RocksDbDataSource();
+        } else {
+            stateDS = new MmkvDataSource();
+        }
+        int stripes = CONFIG.databaseStateLockStripes();
+        long cacheSize = CONFIG.databaseStateCacheSize();
+        if (stripes > 0) {
+            return new StripedRepositoryImpl(stateDS, stripes, cacheSize);
+        }
+        return new RepositoryImpl(stateDS, cacheSize);
     }
 
     @Provides
@@ -56,8 +56,7 @@ public final class JsonRpcServer extends io.taucoin.android.rpc.server.JsonRpcSe
         this.dispatcher.register(new tau_getAccountDetails(this.taucoin));
 
         //transactions
-		//getTransactionByHash, Not supported now for no TransactionStore
-        //this.dispatcher.register(new tau_getTransactionByHash(this.taucoin));
+        this.dispatcher.register(new tau_getTransactionByHash(this.taucoin));
         this.dispatcher.register(new tau_sendTransaction(this.taucoin));
         this.dispatcher.register(new tau_getTransactionDetail(this.taucoin));
 
@@ -74,6 +73,12 @@ public final class JsonRpcServer extends io.taucoin.android.rpc.server.JsonRpcSe
         this.dispatcher.register(new db_getHex(this.taucoin));
         this.dispatcher.register(new db_getbestblock(this.taucoin));
 
+        //metrics
+        this.dispatcher.register(new tau_getMetrics(this.taucoin));
+
+        //states tag
+        this.dispatcher.register(new tau_exportStatesTag(this.taucoin));
+
         taucoin.addListener(FilterManager.getInstance());
     }
 
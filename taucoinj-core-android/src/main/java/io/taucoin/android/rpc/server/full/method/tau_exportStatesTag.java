@@ -0,0 +1,51 @@
+package io.taucoin.android.rpc.server.full.method;
+
+import com.thetransactioncompany.jsonrpc2.*;
+import com.thetransactioncompany.jsonrpc2.server.*;
+import io.taucoin.android.rpc.server.full.JsonRpcServerMethod;
+import io.taucoin.db.state.StateSnapshotManifest;
+import io.taucoin.facade.Taucoin;
+import net.minidev.json.JSONObject;
+import org.spongycastle.util.encoders.Hex;
+
+import java.util.List;
+
+/**
+ * Exports the current states into a states tag named by the only parameter,
+ * in the configured 'database.statesTags' directory, returns its manifest.
+ * Blocks keep being imported meanwhile.
+ */
+public class tau_exportStatesTag extends JsonRpcServerMethod {
+
+    public tau_exportStatesTag (Taucoin taucoin) {
+        super(taucoin);
+    }
+
+    protected JSONRPC2Response worker(JSONRPC2Request req, MessageContext ctx) {
+
+        List<Object> params = req.getPositionalParams();
+        if (params == null || params.size() != 1 || !(params.get(0) instanceof String)) {
+            return new JSONRPC2Response(JSONRPC2Error.INVALID_PARAMS, req.getID());
+        }
+
+        StateSnapshotManifest manifest;
+        try {
+            manifest = taucoin.getWorldManager().exportStatesTag((String) params.get(0));
+        } catch (IllegalArgumentException e) {
+            return new JSONRPC2Response(JSONRPC2Error.INVALID_PARAMS, req.getID());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new JSONRPC2Response(JSONRPC2Error.INTERNAL_ERROR, req.getID());
+        }
+
+        JSONObject tag = new JSONObject();
+        tag.put("number", manifest.getNumber());
+        tag.put("hash", "0x" + Hex.toHexString(manifest.getHash()));
+        tag.put("accounts", manifest.getAccounts());
+        tag.put("chunks", manifest.getChunks());
+        tag.put("blocks", manifest.getBlocks());
+        JSONRPC2Response res = new JSONRPC2Response(tag, req.getID());
+        return res;
+
+    }
+}
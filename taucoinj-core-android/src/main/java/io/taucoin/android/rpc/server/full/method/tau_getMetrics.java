@@ -0,0 +1,31 @@
+package io.taucoin.android.rpc.server.full.method;
+
+import com.thetransactioncompany.jsonrpc2.*;
+import com.thetransactioncompany.jsonrpc2.server.*;
+import io.taucoin.android.rpc.server.full.JsonRpcServerMethod;
+import io.taucoin.facade.Taucoin;
+import io.taucoin.metrics.Metrics;
+import net.minidev.json.JSONObject;
+
+import java.util.Map;
+
+/**
+ * Returns the block import metrics by name, empty unless 'metrics.enabled'.
+ */
+public class tau_getMetrics extends JsonRpcServerMethod {
+
+    public tau_getMetrics (Taucoin taucoin) {
+        super(taucoin);
+    }
+
+    protected JSONRPC2Response worker(JSONRPC2Request req, MessageContext ctx) {
+
+        JSONObject metrics = new JSONObject();
+        for (Map.Entry<String, Long> entry : Metrics.snapshot().entrySet()) {
+            metrics.put(entry.getKey(), entry.getValue());
+        }
+        JSONRPC2Response res = new JSONRPC2Response(metrics, req.getID());
+        return res;
+
+    }
+}
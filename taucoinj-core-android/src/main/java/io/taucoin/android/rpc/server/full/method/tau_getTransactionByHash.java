@@ -4,6 +4,7 @@ import com.thetransactioncompany.jsonrpc2.*;
 import com.thetransactioncompany.jsonrpc2.server.*;
 import io.taucoin.android.rpc.server.full.JsonRpcServerMethod;
 import io.taucoin.core.Blockchain;
+import io.taucoin.core.Transaction;
 import io.taucoin.facade.Taucoin;
 import java.util.List;
 
@@ -19,18 +20,20 @@ public class tau_getTransactionByHash extends JsonRpcServerMethod {
         if (params.size() != 1) {
             return new JSONRPC2Response(JSONRPC2Error.INVALID_PARAMS, req.getID());
         } else {
-            byte[] address = jsToAddress((String) params.get(0));
-            
-            /*
-            Blockchain blockchain = (Blockchain)taucoin.getBlockchain();
-            TransactionReceipt transaction = blockchain.getTransactionReceiptByHash(address);
+            byte[] hash = jsToAddress((String) params.get(0));
+
+            Blockchain blockchain = taucoin.getBlockchain();
+            Transaction transaction;
+            try {
+                transaction = blockchain.getTransactionByHash(hash);
+            } catch (UnsupportedOperationException e) {
+                return new JSONRPC2Response(JSONRPC2Error.METHOD_NOT_FOUND, req.getID());
+            }
 
             if (transaction == null)
                 return new JSONRPC2Response(null, req.getID());
 
-            JSONRPC2Response res = new JSONRPC2Response(transactionToJS(null, transaction.getTransaction()), req.getID());
-            */
-            JSONRPC2Response res = new JSONRPC2Response(JSONRPC2Error.INVALID_PARAMS, req.getID());
+            JSONRPC2Response res = new JSONRPC2Response(transactionToJS(null, transaction), req.getID());
             return res;
         }
 
@@ -268,6 +268,13 @@ public class TaucoinService extends Service {
             }
         }
 
+        @Override
+        public void onRecvHttpBytes(int length) {
+            if (length > 0) {
+                broadcastEvent(EventFlag.EVENT_NETWORK_TRAFFIC, new NetworkTrafficData(length));
+            }
+        }
+
         @Override
         public void onChainInfoChanged(long height, byte[] previousBlockHash,
                 byte[] currentBlockHash, BigInteger totalDiff, long medianFee) {
@@ -0,0 +1,112 @@
+package io.taucoin.core;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access to blocks parsed from their disk encoding, as FileBlockStore
+ * caches them: the header alone, one transaction in the middle, and every
+ * transaction with the values the import pipeline prepares.
+ *
+ * 'cachedBlock' keeps CACHED_TRANSACTIONS transactions worth of parsed
+ * blocks and reports the heap each one retains, encoding included, once
+ * its header was read ('headerBytes') and once every transaction was
+ * decoded ('decodedBytes'). Its time is meaningless.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockAccessBenchmark {
+
+    private static final int CACHED_TRANSACTIONS = 20000;
+
+    @Param({"50", "500"})
+    int transactions;
+
+    byte[] block;
+
+    @Setup
+    public void setup() {
+        block = Fixtures.chain(1, transactions, 1).get(0).getEncoded();
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        // Set by each call, an iteration reports the last one.
+        public long headerBytes;
+        public long decodedBytes;
+    }
+
+    @Benchmark
+    public void header(Blackhole bh) {
+        Block b = new Block(block);
+        bh.consume(b.getNumber());
+        bh.consume(b.getTimestamp());
+        bh.consume(b.getPreviousHeaderHash());
+    }
+
+    @Benchmark
+    public void oneTransaction(Blackhole bh) {
+        Transaction tx = new Block(block).getTransactionsList().get(transactions / 2);
+        bh.consume(tx.getHash());
+    }
+
+    @Benchmark
+    public void allTransactions(Blackhole bh) {
+        for (Transaction tx : new Block(block).getTransactionsList()) {
+            bh.consume(tx.getHash());
+            bh.consume(tx.getSender());
+        }
+    }
+
+    @Benchmark
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public Block[] cachedBlock(Footprint footprint) {
+        Block[] cached = new Block[CACHED_TRANSACTIONS / transactions];
+
+        long before = usedHeap();
+        for (int i = 0; i < cached.length; i++) {
+            cached[i] = new Block(block.clone());
+            cached[i].getNumber();
+        }
+        footprint.headerBytes = (usedHeap() - before) / cached.length;
+
+        for (Block b : cached) {
+            for (Transaction tx : b.getTransactionsList()) {
+                tx.getHash();
+                tx.getSender();
+            }
+        }
+        footprint.decodedBytes = (usedHeap() - before) / cached.length;
+        return cached;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
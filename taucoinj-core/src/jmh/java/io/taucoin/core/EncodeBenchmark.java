@@ -0,0 +1,104 @@
+package io.taucoin.core;
+
+import io.taucoin.crypto.ECKey.ECDSASignature;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodings of freshly built transactions and blocks, nothing memoized
+ * from a previous call.
+ *
+ * 'transaction' builds a signed transaction from its fields, as the wallet
+ * does, and takes its hash, signature and wire encodings. 'block' decodes
+ * 'transactions' transactions from their encoding with the sender, as
+ * synced ones arrive, builds a block of them and takes its network, disk
+ * and cache encodings. 'blockBuild' only decodes and builds, the share of
+ * 'block' that isn't encoding. Run with '-prof gc' for the allocations.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodeBenchmark {
+
+    @Param({"50", "500"})
+    int transactions;
+
+    Transaction template;
+    byte[][] cacheEncodings;
+    Block header;
+
+    @Setup
+    public void setup() {
+        List<Transaction> txs = Fixtures.transactions(Fixtures.keys(16), transactions, 1);
+        template = txs.get(0);
+        cacheEncodings = new byte[transactions][];
+        for (int i = 0; i < transactions; i++) {
+            cacheEncodings[i] = txs.get(i).getEncodedForCache();
+        }
+        header = Fixtures.block(1, new byte[20], Fixtures.key(0), new ArrayList<Transaction>());
+    }
+
+    @Benchmark
+    public void transaction(Blackhole bh) {
+        ECDSASignature signature = template.getSignature();
+        Transaction tx = new Transaction(template.getVersion(), template.getOption(),
+                template.getTime(), template.getReceiveAddress(), template.getAmount(),
+                template.getFee(), template.getExpireTime(), signature.r.toByteArray(),
+                signature.s.toByteArray(), signature.v);
+        bh.consume(tx.getEncodedHash());
+        bh.consume(tx.getEncodeForSig());
+        bh.consume(tx.getEncoded());
+    }
+
+    @Benchmark
+    public void block(Blackhole bh) {
+        Block block = buildBlock();
+        bh.consume(block.getEncodedMsg());
+        bh.consume(block.getEncoded());
+        bh.consume(block.getEncodedCacheData());
+    }
+
+    @Benchmark
+    public Block blockBuild() {
+        return buildBlock();
+    }
+
+    private Block buildBlock() {
+        List<Transaction> txs = new ArrayList<>(transactions);
+        for (byte[] encoded : cacheEncodings) {
+            txs.add(new Transaction(encoded));
+        }
+
+        ECDSASignature signature = header.getblockSignature();
+        Block block = new Block(header.getVersion(), header.getTimestamp(),
+                header.getPreviousHeaderHash(), signature.v, signature.r.toByteArray(),
+                signature.s.toByteArray(), header.getOption(), txs);
+        block.setNumber(header.getNumber());
+        block.setBaseTarget(header.getBaseTarget());
+        block.setGenerationSignature(header.getGenerationSignature());
+        block.setCumulativeDifficulty(header.getCumulativeDifficulty());
+        block.setCumulativeFee(header.getCumulativeFee());
+        return block;
+    }
+}
@@ -0,0 +1,118 @@
+package io.taucoin.core;
+
+import io.taucoin.datasource.HashMapDB;
+import io.taucoin.db.IndexedBlockStore;
+import io.taucoin.util.ByteUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransactionExpiryIndex sweeps with 'pooled' entries indexed: 'sweep'
+ * connects BLOCKS blocks one after the other, each one expiring EXPIRING
+ * entries which are added back as new ones arriving. The other entries
+ * expire after the sweep, so each block has the same work whatever the
+ * pool size. Scored per sweep, long enough for the compiler and the
+ * collector not to count.
+ *
+ * The index only reads the number and the timestamp of the blocks, they
+ * are neither signed nor stored, and its ring holds every block the sweep reads.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ExpiryBenchmark {
+
+    private static final int BLOCKS = 32768;
+    private static final int EXPIRING = 20;
+    private static final int EXPIRE_TIME = 32;
+    // Beyond the last block of the sweep.
+    private static final int LONG_EXPIRE_TIME = 43200;
+    // As the memory pool sizes it.
+    private static final int RING_SIZE = 288;
+
+    private static final int FIRST = EXPIRE_TIME + 2;
+
+    @Param({"2000", "20000", "200000"})
+    int pooled;
+
+    Block[] chain;
+    IndexedBlockStore blockStore;
+    MemoryPoolEntry[] entries;
+    TransactionExpiryIndex index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        chain = new Block[FIRST + BLOCKS];
+        for (int n = 1; n < chain.length; n++) {
+            chain[n] = new Block((byte) 1, ByteUtil.longToBytes(1538352000L + n * 300),
+                    new byte[20], (byte) 1, new ArrayList<Transaction>());
+            chain[n].setNumber(n);
+        }
+        blockStore = new IndexedBlockStore();
+        blockStore.init(new HashMap<Long, List<IndexedBlockStore.BlockInfo>>(),
+                new HashMapDB(), null, null);
+
+        // The index reads the expiry of the transaction and the build time of the entry only.
+        Transaction expiring = Fixtures.transaction(Fixtures.key(0), 0, 100, 10, EXPIRE_TIME);
+        Transaction lasting = Fixtures.transaction(Fixtures.key(1), 0, 100, 10, LONG_EXPIRE_TIME);
+        entries = new MemoryPoolEntry[pooled];
+        for (int i = 0; i < pooled; i++) {
+            entries[i] = MemoryPoolEntry.with(i < EXPIRING * EXPIRE_TIME ? expiring : lasting);
+        }
+    }
+
+    // Built after block 1 + i / EXPIRING, the first EXPIRING * EXPIRE_TIME entries
+    // are stale from FIRST on, EXPIRING per block.
+    @Setup(Level.Iteration)
+    public void index() {
+        index = new TransactionExpiryIndex(blockStore, RING_SIZE);
+        for (int n = 1; n < FIRST; n++) {
+            index.connect(chain[n]);
+        }
+        Block best = chain[FIRST - 1];
+        for (int i = 0; i < pooled; i++) {
+            entries[i].buildTime = timestamp(1 + (i / EXPIRING) % EXPIRE_TIME) + 1;
+            index.add(entries[i], best);
+        }
+    }
+
+    private long timestamp(int number) {
+        return ByteUtil.byteArrayToLong(chain[number].getTimestamp());
+    }
+
+    @Benchmark
+    public int sweep() {
+        int stale = 0;
+        for (int number = FIRST; number < chain.length; number++) {
+            Block block = chain[number];
+            for (MemoryPoolEntry entry : index.connect(block)) {
+                entry.buildTime = timestamp(number) + 1;
+                index.add(entry, block);
+                stale++;
+            }
+        }
+        return stale;
+    }
+}
@@ -0,0 +1,88 @@
+package io.taucoin.core;
+
+import io.taucoin.datasource.HashMapDB;
+import io.taucoin.db.IndexedBlockStore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The parent and ancestor reads of the proof of transaction check of a
+ * block: its parent, then the required base target from three ancestors.
+ *
+ * 'blockStore' loads them as full blocks from an IndexedBlockStore, as
+ * tryToConnect did before ConsensusHeaderCache, 'headerCache' reads them
+ * from a ConsensusHeaderCache holding the chain. Blocks are encoded in
+ * memory, so no disk read is counted.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeaderChainBenchmark {
+
+    private static final int LENGTH = 64;
+
+    @Param({"0", "50"})
+    int transactions;
+
+    IndexedBlockStore blockStore;
+    ConsensusHeaderCache headers;
+    Block[] chain;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        blockStore = new IndexedBlockStore();
+        blockStore.init(new HashMap<Long, List<IndexedBlockStore.BlockInfo>>(),
+                new HashMapDB(), null, null);
+        headers = new ConsensusHeaderCache(blockStore);
+
+        List<Block> blocks = Fixtures.chain(LENGTH, transactions, 1);
+        for (Block block : blocks) {
+            blockStore.saveBlock(block, block.getCumulativeDifficulty(), true);
+            headers.put(block);
+        }
+        chain = blocks.toArray(new Block[LENGTH]);
+    }
+
+    // The blocks with three ancestors before their parent.
+    private Block nextBlock() {
+        next = next < 4 || next >= LENGTH - 1 ? 4 : next + 1;
+        return chain[next];
+    }
+
+    @Benchmark
+    public BigInteger blockStore() {
+        Block block = nextBlock();
+        Block parent = blockStore.getBlockByHash(block.getPreviousHeaderHash());
+        return ProofOfTransaction.calculateRequiredBaseTarget(parent, blockStore);
+    }
+
+    @Benchmark
+    public BigInteger headerCache() {
+        Block block = nextBlock();
+        ConsensusHeader parent = headers.get(block.getPreviousHeaderHash());
+        return ProofOfTransaction.calculateRequiredBaseTarget(parent, headers);
+    }
+}
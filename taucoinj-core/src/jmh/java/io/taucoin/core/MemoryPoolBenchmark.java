@@ -0,0 +1,125 @@
+package io.taucoin.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MemoryPool operations with 'pooled' transactions of 16 senders pooled:
+ * 'addRemove' adds a transaction and removes it, 'lookup' checks a pooled
+ * hash, 'connectBlock' removes the BLOCK_TRANSACTIONS pooled transactions
+ * of a connected block, then adds them back as new ones arriving.
+ * The 'mixed' group looks up from three threads while a fourth one adds
+ * and removes.
+ *
+ * Creating the entries signs and recovers the sender of every transaction,
+ * which takes a while.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemoryPoolBenchmark {
+
+    private static final int SPARE = 1000;
+    private static final int BLOCK_TRANSACTIONS = 50;
+
+    private static final BigInteger BALANCE = BigInteger.ONE.shiftLeft(128);
+
+    @Param({"2000", "20000"})
+    int pooled;
+
+    MemoryPool pool;
+    MemoryPoolEntry[] entries;
+    MemoryPoolEntry[] spare;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        entries = new MemoryPoolEntry[pooled];
+        spare = new MemoryPoolEntry[SPARE];
+        int i = 0;
+        for (Transaction tx : Fixtures.transactions(Fixtures.keys(16), pooled + SPARE, 1)) {
+            MemoryPoolEntry entry = MemoryPoolEntry.with(tx);
+            if (i < pooled) {
+                entries[i] = entry;
+            } else {
+                spare[i - pooled] = entry;
+            }
+            i++;
+        }
+
+        pool = new MemoryPool();
+        for (MemoryPoolEntry entry : entries) {
+            pool.add(entry, BALANCE);
+        }
+    }
+
+    @Benchmark
+    public MemoryPoolEntry addRemove() {
+        MemoryPoolEntry entry = spare[ThreadLocalRandom.current().nextInt(SPARE)];
+        pool.add(entry, BALANCE);
+        return pool.remove(entry.hash.getData());
+    }
+
+    @Benchmark
+    public boolean lookup() {
+        return pool.contains(entries[ThreadLocalRandom.current().nextInt(pooled)].hash.getData());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int connectBlock() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<MemoryPoolEntry> block = new ArrayList<>(BLOCK_TRANSACTIONS);
+        List<Transaction> txs = new ArrayList<>(BLOCK_TRANSACTIONS);
+        while (block.size() < BLOCK_TRANSACTIONS) {
+            MemoryPoolEntry entry = entries[random.nextInt(pooled)];
+            if (!block.contains(entry)) {
+                block.add(entry);
+                txs.add(entry.tx);
+            }
+        }
+
+        int removed = pool.removeAll(txs);
+        for (MemoryPoolEntry entry : block) {
+            pool.add(entry, BALANCE);
+        }
+        return removed;
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public boolean mixedLookup() {
+        return lookup();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public MemoryPoolEntry mixedAddRemove() {
+        return addRemove();
+    }
+}
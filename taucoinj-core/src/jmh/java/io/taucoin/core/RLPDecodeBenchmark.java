@@ -0,0 +1,129 @@
+package io.taucoin.core;
+
+import io.taucoin.util.RLP;
+import io.taucoin.util.RLPElement;
+import io.taucoin.util.RLPList;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of blocks, transactions and account states from their disk
+ * encodings, each field read once.
+ *
+ * The '*Tree' benchmarks decode the same encodings the way they were
+ * before RLPReader, through the RLPList tree of RLP.decode2, for
+ * comparison. Run with '-prof gc' for the allocation rates.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RLPDecodeBenchmark {
+
+    @Param({"50", "500"})
+    int transactions;
+
+    byte[] block;
+    byte[] transaction;
+    byte[] accountState;
+
+    @Setup
+    public void setup() {
+        block = Fixtures.chain(1, transactions, 1).get(0).getEncoded();
+        transaction = new Block(block).getTransactionsList().get(0).getEncodedComposite();
+        accountState = Fixtures.accountState(20, new Random(1)).getEncoded();
+    }
+
+    @Benchmark
+    public void decodeBlock(Blackhole bh) {
+        Block b = new Block(block);
+        bh.consume(b.getNumber());
+        bh.consume(b.getPreviousHeaderHash());
+        for (Transaction tx : b.getTransactionsList()) {
+            readTransaction(tx, bh);
+        }
+    }
+
+    @Benchmark
+    public void decodeBlockTree(Blackhole bh) {
+        RLPList b = (RLPList) RLP.decode2(block).get(0);
+        for (int i = 0; i < 11; i++) {
+            bh.consume(b.get(i).getRLPData());
+        }
+        bh.consume(RLP.decode2(b.get(2).getRLPData()));
+        for (RLPElement tx : (RLPList) b.get(11)) {
+            readTransactionTree(tx.getRLPData(), bh);
+        }
+    }
+
+    @Benchmark
+    public void decodeTransaction(Blackhole bh) {
+        readTransaction(new Transaction(transaction, true), bh);
+    }
+
+    @Benchmark
+    public void decodeTransactionTree(Blackhole bh) {
+        readTransactionTree(transaction, bh);
+    }
+
+    @Benchmark
+    public void decodeAccountState(Blackhole bh) {
+        AccountState state = new AccountState(accountState);
+        bh.consume(state.getBalance());
+        bh.consume(state.getforgePower());
+        bh.consume(state.getAssociatedAddress());
+    }
+
+    @Benchmark
+    public void decodeAccountStateTree(Blackhole bh) {
+        RLPList items = (RLPList) RLP.decode2(accountState).get(0);
+        for (int i = 0; i < items.size(); i++) {
+            RLPElement item = items.get(i);
+            if (i == 3) {
+                for (RLPElement address : (RLPList) item) {
+                    bh.consume(address.getRLPData());
+                }
+            } else if (i > 4) {
+                RLPList info = (RLPList) RLP.decode2(item.getRLPData()).get(0);
+                bh.consume(info.get(0).getRLPData());
+                bh.consume(info.get(1).getRLPData());
+            } else {
+                bh.consume(item.getRLPData());
+            }
+        }
+    }
+
+    private static void readTransaction(Transaction tx, Blackhole bh) {
+        bh.consume(tx.getTime());
+        bh.consume(tx.getReceiveAddress());
+        bh.consume(tx.getAmount());
+        bh.consume(tx.getFee());
+        bh.consume(tx.getSignature());
+    }
+
+    private static void readTransactionTree(byte[] encoded, Blackhole bh) {
+        RLPList tx = (RLPList) RLP.decode2(encoded).get(0);
+        for (int i = 0; i < tx.size(); i++) {
+            bh.consume(tx.get(i).getRLPData());
+        }
+    }
+}
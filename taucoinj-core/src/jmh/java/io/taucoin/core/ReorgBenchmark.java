@@ -0,0 +1,118 @@
+package io.taucoin.core;
+
+import io.taucoin.crypto.ECKey;
+import io.taucoin.datasource.HashMapDB;
+import io.taucoin.db.ByteArrayWrapper;
+import io.taucoin.db.IndexedBlockStore;
+import io.taucoin.db.StateUndoStore;
+import io.taucoin.db.StripedRepositoryImpl;
+import io.taucoin.listener.TaucoinListenerAdapter;
+import io.taucoin.sync2.ChainInfoManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The state rewind of a re-branch 'depth' blocks deep, each block holding
+ * 'transactions' transactions: BlockchainImpl.disconnectBlock for the
+ * undone blocks, newest first, into one track as tryConnectAndFork does.
+ *
+ * 'journal' rewinds the blocks from the StateUndoStore recorded when they
+ * were added, 'backward' executes their transactions backwards, as
+ * re-branches did before the journal. The track is rolled back after each
+ * rewind, so the chain stays the same.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReorgBenchmark {
+
+    private static final int LENGTH = 64;
+
+    @Param({"journal", "backward"})
+    String rewind;
+
+    @Param({"1", "8", "64"})
+    int depth;
+
+    @Param({"50"})
+    int transactions;
+
+    StripedRepositoryImpl repository;
+    BlockchainImpl blockchain;
+    List<Block> chain;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        repository = new StripedRepositoryImpl(new HashMapDB(), 64, 0);
+        IndexedBlockStore blockStore = new IndexedBlockStore();
+        blockStore.init(new HashMap<Long, List<IndexedBlockStore.BlockInfo>>(),
+                new HashMapDB(), null, null);
+        StateUndoStore undoStore = new StateUndoStore(new HashMapDB());
+
+        // The fixture senders and forgers, funded.
+        Map<ByteArrayWrapper, AccountState> accounts = new HashMap<>();
+        for (ECKey key : Fixtures.keys(16)) {
+            accounts.put(new ByteArrayWrapper(key.getAddress()), new AccountState(
+                    BigInteger.valueOf(1000), BigInteger.TEN.pow(15)));
+        }
+        repository.updateBatch(accounts);
+        repository.flush(0);
+
+        BlockchainImpl recorder = new BlockchainImpl(blockStore, repository, null,
+                new TaucoinListenerAdapter(), new ChainInfoManager(), null, null, null,
+                undoStore);
+        recorder.setBestBlock(Fixtures.block(0, new byte[20], Fixtures.key(0),
+                new ArrayList<Transaction>()));
+        chain = Fixtures.chain(LENGTH, transactions, 1);
+        for (Block block : chain) {
+            if (!recorder.addBlock(block)) {
+                throw new IllegalStateException("Block " + block.getNumber() + " not added");
+            }
+        }
+
+        blockchain = "journal".equals(rewind) ? recorder : new BlockchainImpl(blockStore,
+                repository, null, new TaucoinListenerAdapter(), new ChainInfoManager(),
+                null, null, null, null);
+        blockchain.setBestBlock(chain.get(LENGTH - 1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        repository.close();
+    }
+
+    @Benchmark
+    public Repository rebranch() {
+        Repository track = repository.startTracking();
+        for (int i = LENGTH - 1; i >= LENGTH - depth; i--) {
+            blockchain.disconnectBlock(chain.get(i), track);
+        }
+        track.rollback();
+        return track;
+    }
+}
@@ -0,0 +1,101 @@
+package io.taucoin.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sender recovery of a batch of wire transactions, as
+ * PendingStateImpl.addWireTransactions gets them: 'serial' recovers each
+ * sender on first use, 'batch' through TransactionSenderRecoverer first.
+ * Both decode the transactions from their encodings, so that no sender
+ * is cached.
+ *
+ * The batch recovers on one thread less than the processors, see
+ * TransactionSenderRecoverer.THREADS, 'batchN' runs it in a JVM seeing N
+ * processors. The scaling only shows on a host with at least N cores.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SenderRecoveryBenchmark {
+
+    @Param({"50", "500"})
+    int transactions;
+
+    List<byte[]> encodings;
+
+    @Setup
+    public void setup() {
+        encodings = new ArrayList<>(transactions);
+        for (Transaction tx : Fixtures.transactions(Fixtures.keys(16), transactions, 1)) {
+            encodings.add(tx.getEncoded());
+        }
+    }
+
+    @Benchmark
+    public void serial(Blackhole bh) {
+        for (Transaction tx : decode()) {
+            bh.consume(tx.getSender());
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-XX:ActiveProcessorCount=1")
+    public void batch1(Blackhole bh) {
+        batch(bh);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-XX:ActiveProcessorCount=2")
+    public void batch2(Blackhole bh) {
+        batch(bh);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-XX:ActiveProcessorCount=4")
+    public void batch4(Blackhole bh) {
+        batch(bh);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-XX:ActiveProcessorCount=8")
+    public void batch8(Blackhole bh) {
+        batch(bh);
+    }
+
+    private void batch(Blackhole bh) {
+        List<Transaction> txs = decode();
+        TransactionSenderRecoverer.recoverSenders(txs);
+        for (Transaction tx : txs) {
+            bh.consume(tx.getSender());
+        }
+    }
+
+    private List<Transaction> decode() {
+        List<Transaction> txs = new ArrayList<>(encodings.size());
+        for (byte[] encoded : encodings) {
+            txs.add(new Transaction(encoded));
+        }
+        return txs;
+    }
+}
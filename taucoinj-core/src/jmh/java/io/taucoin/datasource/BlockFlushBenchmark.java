@@ -0,0 +1,98 @@
+package io.taucoin.datasource;
+
+import io.taucoin.util.FileUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static io.taucoin.config.SystemProperties.CONFIG;
+
+/**
+ * Blocks of account states written to LevelDB, one operation per block.
+ *
+ * 'direct' writes each block as its own batch, as the repository flushes
+ * it, 'directGc' then calls System.gc() as the blockchain did after each
+ * block. A twentieth of the rows are deletes.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockFlushBenchmark {
+
+    private static final String DIR = "benchmark-db";
+
+    private static final int ACCOUNTS = 100000;
+
+    @Param({"direct", "directGc"})
+    String mode;
+
+    @Param({"100"})
+    int states;
+
+    LevelDbDataSource source;
+    byte[][] keys;
+    Random random;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        FileUtil.recursiveDelete(DIR);
+        CONFIG.setDataBaseDir(DIR);
+        source = new LevelDbDataSource("state");
+        source.init();
+
+        random = new Random(1);
+        keys = new byte[ACCOUNTS][];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            keys[i] = new byte[20];
+            random.nextBytes(keys[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        source.close();
+        FileUtil.recursiveDelete(DIR);
+    }
+
+    @Benchmark
+    public void block() {
+        Map<byte[], byte[]> rows = new HashMap<>(states * 2);
+        for (int i = 0; i < states; i++) {
+            byte[] key = keys[random.nextInt(ACCOUNTS)];
+            if (random.nextInt(20) == 0) {
+                rows.put(key, null);
+            } else {
+                byte[] value = new byte[120 + random.nextInt(80)];
+                random.nextBytes(value);
+                rows.put(key, value);
+            }
+        }
+
+        source.updateBatch(rows);
+        if ("directGc".equals(mode)) {
+            System.gc();
+        }
+    }
+}
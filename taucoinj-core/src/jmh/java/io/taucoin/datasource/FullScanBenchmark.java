@@ -0,0 +1,112 @@
+package io.taucoin.datasource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static io.taucoin.config.SystemProperties.CONFIG;
+
+/**
+ * A full scan of every key and value of a LevelDB data source of 'rows'
+ * account sized rows, in a heap of 64 MB.
+ *
+ * 'cursor' walks the entries with a KeyValueCursor, 'keys' gets the key
+ * set from keys(), then each value, as tooling did before cursors. The
+ * key set of a few million rows doesn't fit the heap, run with
+ * '-jvmArgsAppend -Xmx1g' to time it.
+ *
+ * The database is written once and kept in DIR, as writing it takes
+ * minutes, delete the directory to write it again.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx64m")
+public class FullScanBenchmark {
+
+    private static final String DIR = "benchmark-scan";
+
+    private static final int BATCH = 10000;
+
+    @Param({"cursor", "keys"})
+    String scan;
+
+    @Param({"4000000"})
+    int rows;
+
+    LevelDbDataSource source;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        CONFIG.setDataBaseDir(DIR);
+        source = new LevelDbDataSource("state");
+        source.init();
+
+        // Written rows count, as the last key the first time.
+        byte[] countKey = new byte[] {(byte) 0xff};
+        byte[] written = source.get(countKey);
+        int start = written == null ? 0 : Integer.parseInt(new String(written));
+
+        Random random = new Random(start);
+        Map<byte[], byte[]> batch = new HashMap<>(BATCH * 2);
+        for (int i = start; i < rows; i++) {
+            byte[] key = new byte[20];
+            random.nextBytes(key);
+            key[0] &= 0x7f;
+            byte[] value = new byte[120 + random.nextInt(80)];
+            random.nextBytes(value);
+            batch.put(key, value);
+
+            if (batch.size() == BATCH || i == rows - 1) {
+                batch.put(countKey, Integer.toString(i + 1).getBytes());
+                source.updateBatch(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        source.close();
+    }
+
+    @Benchmark
+    public long fullScan() {
+        long bytes = 0;
+        if ("cursor".equals(scan)) {
+            KeyValueCursor cursor = source.cursor(KeyRange.all());
+            try {
+                while (cursor.next()) {
+                    bytes += cursor.getKey().length + cursor.getValue().length;
+                }
+            } finally {
+                cursor.close();
+            }
+        } else {
+            for (byte[] key : source.keys()) {
+                bytes += key.length + source.get(key).length;
+            }
+        }
+        return bytes;
+    }
+}
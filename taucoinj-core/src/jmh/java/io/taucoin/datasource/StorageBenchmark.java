@@ -0,0 +1,109 @@
+package io.taucoin.datasource;
+
+import io.taucoin.util.FileUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static io.taucoin.config.SystemProperties.CONFIG;
+
+/**
+ * LevelDB against RocksDB, both as configured for the node: importing
+ * blocks of account states, one batch of 'batch' rows per operation, and
+ * random point reads of 'rows' stored account states.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageBenchmark {
+
+    private static final String DIR = "benchmark-db";
+
+    @State(Scope.Benchmark)
+    public static class Store {
+
+        @Param({"leveldb", "rocksdb"})
+        String store;
+
+        @Param({"300000"})
+        int rows;
+
+        @Param({"100"})
+        int batch;
+
+        KeyValueDataSource source;
+        byte[][] keys;
+        Random random = new Random(1);
+
+        @Setup(Level.Trial)
+        public void setup() {
+            FileUtil.recursiveDelete(DIR);
+            CONFIG.setDataBaseDir(DIR);
+            source = "rocksdb".equals(store) ? new RocksDbDataSource("state")
+                    : new LevelDbDataSource("state");
+            source.init();
+
+            keys = new byte[rows][];
+            Map<byte[], byte[]> pending = new HashMap<>();
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = new byte[20];
+                random.nextBytes(keys[i]);
+                pending.put(keys[i], value(random));
+                if (pending.size() == 1000) {
+                    source.updateBatch(pending);
+                    pending.clear();
+                }
+            }
+            source.updateBatch(pending);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            source.close();
+            FileUtil.recursiveDelete(DIR);
+        }
+    }
+
+    @Benchmark
+    public void importBatch(Store s) {
+        Map<byte[], byte[]> rows = new HashMap<>(s.batch * 2);
+        for (int i = 0; i < s.batch; i++) {
+            byte[] key = new byte[20];
+            s.random.nextBytes(key);
+            rows.put(key, value(s.random));
+        }
+        s.source.updateBatch(rows);
+    }
+
+    @Benchmark
+    public byte[] randomRead(Store s) {
+        return s.source.get(s.keys[s.random.nextInt(s.keys.length)]);
+    }
+
+    private static byte[] value(Random random) {
+        byte[] value = new byte[120 + random.nextInt(80)];
+        random.nextBytes(value);
+        return value;
+    }
+}
@@ -0,0 +1,138 @@
+package io.taucoin.db;
+
+import io.taucoin.util.FileUtil;
+
+import org.mapdb.DB;
+import org.mapdb.DBMaker;
+import org.mapdb.DataIO;
+import org.mapdb.Serializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static io.taucoin.db.IndexedBlockStore.BLOCK_INFO_SERIALIZER;
+
+/**
+ * Block index lookups, IndexedBlockStore.getBlockInfoForLevel without the
+ * cache, from a MapDB file index of 'levels' levels written in the 'legacy'
+ * java serialized layout or the 'compact' one. A twentieth of the levels
+ * have a second, side chain, block. Run with '-prof gc' for the allocation
+ * rates.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockIndexBenchmark {
+
+    private static final String DIR = "benchmark-db";
+
+    // The layout before the compact one: the java serialized list, length first.
+    private static final Serializer<List<IndexedBlockStore.BlockInfo>> LEGACY_SERIALIZER =
+            new Serializer<List<IndexedBlockStore.BlockInfo>>() {
+
+        @Override
+        public void serialize(DataOutput out, List<IndexedBlockStore.BlockInfo> value)
+                throws IOException {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            ObjectOutputStream oos = new ObjectOutputStream(bos);
+            oos.writeObject(value);
+
+            byte[] data = bos.toByteArray();
+            DataIO.packInt(out, data.length);
+            out.write(data);
+        }
+
+        @Override
+        public List<IndexedBlockStore.BlockInfo> deserialize(DataInput in, int available)
+                throws IOException {
+            return BLOCK_INFO_SERIALIZER.deserialize(in, available);
+        }
+    };
+
+    @Param({"legacy", "compact"})
+    String layout;
+
+    @Param({"100000"})
+    int levels;
+
+    DB indexDB;
+    Map<Long, List<IndexedBlockStore.BlockInfo>> index;
+    Random random = new Random(1);
+
+    @Setup(Level.Trial)
+    public void setup() {
+        FileUtil.recursiveDelete(DIR);
+        File file = new File(DIR, "index");
+        file.getParentFile().mkdirs();
+
+        indexDB = DBMaker.fileDB(file).make();
+        index = indexDB.hashMapCreate("index")
+                .keySerializer(Serializer.LONG)
+                .valueSerializer("legacy".equals(layout) ? LEGACY_SERIALIZER : BLOCK_INFO_SERIALIZER)
+                .counterEnable()
+                .makeOrGet();
+
+        BigInteger difficulty = BigInteger.ZERO;
+        for (long number = 0; number < levels; number++) {
+            difficulty = difficulty.add(BigInteger.valueOf(1000000 + random.nextInt(1000000)));
+            List<IndexedBlockStore.BlockInfo> infos = new ArrayList<>(2);
+            infos.add(blockInfo(difficulty, true));
+            if (random.nextInt(20) == 0) {
+                infos.add(blockInfo(difficulty, false));
+            }
+            index.put(number, infos);
+        }
+        indexDB.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        indexDB.close();
+        FileUtil.recursiveDelete(DIR);
+    }
+
+    @Benchmark
+    public List<IndexedBlockStore.BlockInfo> lookup() {
+        return index.get((long) random.nextInt(levels));
+    }
+
+    private IndexedBlockStore.BlockInfo blockInfo(BigInteger difficulty, boolean mainChain) {
+        byte[] hash = new byte[32];
+        random.nextBytes(hash);
+
+        IndexedBlockStore.BlockInfo info = new IndexedBlockStore.BlockInfo();
+        info.setHash(hash);
+        info.setCummDifficulty(difficulty);
+        info.setMainChain(mainChain);
+        return info;
+    }
+}
@@ -0,0 +1,179 @@
+package io.taucoin.db;
+
+import io.taucoin.core.AccountState;
+import io.taucoin.core.Fixtures;
+import io.taucoin.datasource.LevelDbDataSource;
+import io.taucoin.facade.Repository;
+import io.taucoin.util.FileUtil;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static io.taucoin.config.SystemProperties.CONFIG;
+
+/**
+ * Account state reads, as rpc queries and pending state validation make
+ * them, while a writer thread applies blocks of 'states' account states
+ * through updateBatch and flush(number), flushing to disk every
+ * FLUSH_BLOCKS blocks.
+ *
+ * 'synchronized' is RepositoryImpl, 'striped' StripedRepositoryImpl with
+ * the default lock stripes. 'readN' reads from N threads, the scaling
+ * only shows on a host with at least N + 1 cores, one for the writer. The
+ * 'blocks' counter is the number of blocks applied during an iteration,
+ * readers that starve the writer read faster.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryReadBenchmark {
+
+    private static final String DIR = "benchmark-db";
+
+    private static final int ACCOUNTS = 100000;
+    private static final int FLUSH_BLOCKS = 100;
+
+    @Param({"synchronized", "striped"})
+    String repository;
+
+    @Param({"0", "8388608"})
+    long cacheSize;
+
+    @Param({"100"})
+    int states;
+
+    Repository repo;
+    byte[][] addresses;
+    Thread writer;
+    volatile boolean stopped;
+    volatile long applied;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        FileUtil.recursiveDelete(DIR);
+        CONFIG.setDataBaseDir(DIR);
+        LevelDbDataSource source = new LevelDbDataSource();
+        repo = "striped".equals(repository)
+                ? new StripedRepositoryImpl(source, 64, cacheSize)
+                : new RepositoryImpl(source, cacheSize);
+
+        Random random = new Random(1);
+        addresses = new byte[ACCOUNTS][];
+        Map<ByteArrayWrapper, AccountState> batch = new HashMap<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            addresses[i] = new byte[20];
+            random.nextBytes(addresses[i]);
+            batch.put(new ByteArrayWrapper(addresses[i]), Fixtures.accountState(5, random));
+        }
+        repo.updateBatch(batch);
+        repo.flush(0);
+        repo.flush();
+
+        stopped = false;
+        writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                applyBlocks();
+            }
+        }, "block-writer");
+        writer.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        stopped = true;
+        writer.join();
+        repo.close();
+        FileUtil.recursiveDelete(DIR);
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Writes {
+        // Only counted by the first reader, the counters of all readers are summed.
+        public long blocks;
+        long start;
+        boolean counting;
+
+        @Setup(Level.Iteration)
+        public void setup(RepositoryReadBenchmark benchmark, ThreadParams threads) {
+            blocks = 0;
+            start = benchmark.applied;
+            counting = threads.getThreadIndex() == 0;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public AccountState read1(Writes writes) {
+        return read(writes);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public AccountState read2(Writes writes) {
+        return read(writes);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public AccountState read4(Writes writes) {
+        return read(writes);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public AccountState read8(Writes writes) {
+        return read(writes);
+    }
+
+    private AccountState read(Writes writes) {
+        if (writes.counting) {
+            writes.blocks = applied - writes.start;
+        }
+        return repo.getAccountState(addresses[ThreadLocalRandom.current().nextInt(ACCOUNTS)]);
+    }
+
+    private void applyBlocks() {
+        Random random = new Random(2);
+        Map<ByteArrayWrapper, AccountState> stateCache = new HashMap<>(states * 2);
+        for (long number = 1; !stopped; number++) {
+            for (int i = 0; i < states; i++) {
+                stateCache.put(new ByteArrayWrapper(addresses[random.nextInt(ACCOUNTS)]),
+                        Fixtures.accountState(5, random));
+            }
+            repo.updateBatch(stateCache);
+            repo.flush(number);
+            if (number % FLUSH_BLOCKS == 0) {
+                repo.flush();
+            }
+            applied = number;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.taucoin.db.file;
+
+import io.taucoin.core.Block;
+import io.taucoin.core.BlockWrapper;
+import io.taucoin.core.Fixtures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static io.taucoin.config.SystemProperties.CONFIG;
+
+/**
+ * Random FileBlockStore.get reads, as peers syncing historical blocks make
+ * them, over a store of 'megabytes' MB of blocks of TRANSACTIONS
+ * transactions, spread over many block files. Run with '-t n' for n reader
+ * threads.
+ *
+ * The store is written into a temporary directory, deleted after the trial.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileBlockStoreReadBenchmark {
+
+    private static final int TRANSACTIONS = 20;
+    private static final int DISTINCT_BLOCKS = 16;
+
+    @Param({"512"})
+    int megabytes;
+
+    String databaseDir;
+    File dir;
+    FileBlockStore store;
+    long maxNumber;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        databaseDir = CONFIG.databaseDir();
+        dir = Files.createTempDirectory("block-store-benchmark").toFile();
+        CONFIG.setDataBaseDir(dir.getAbsolutePath());
+        store = new FileBlockStore();
+
+        // The store doesn't look into blocks, the same ones are written over and over.
+        List<Block> chain = Fixtures.chain(DISTINCT_BLOCKS, TRANSACTIONS, 1);
+        BlockWrapper[] blocks = new BlockWrapper[DISTINCT_BLOCKS];
+        for (int i = 0; i < DISTINCT_BLOCKS; i++) {
+            blocks[i] = new BlockWrapper(chain.get(i), new byte[64]);
+        }
+        long count = (long) megabytes * 1024 * 1024 / blocks[0].getBytes().length;
+
+        for (long number = 1; number <= count; number++) {
+            store.put(number, blocks[(int) (number % DISTINCT_BLOCKS)]);
+        }
+        maxNumber = store.getMaxBlockNumber();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        store.close();
+        CONFIG.setDataBaseDir(databaseDir);
+        delete(dir);
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    @Benchmark
+    public BlockWrapper get() {
+        return store.get(1 + ThreadLocalRandom.current().nextLong(maxNumber));
+    }
+}
@@ -0,0 +1,90 @@
+package io.taucoin.forge;
+
+import io.taucoin.core.AccountState;
+import io.taucoin.core.Block;
+import io.taucoin.core.Fixtures;
+import io.taucoin.crypto.HashUtil;
+import io.taucoin.datasource.HashMapDB;
+import io.taucoin.db.ByteArrayWrapper;
+import io.taucoin.db.StripedRepositoryImpl;
+import io.taucoin.util.ByteUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The evaluation BlockForger makes of every forger key on each best
+ * block: forging power lookup, generation signature, hit and time
+ * interval, for 'keys' keys with forging power in an in memory
+ * repository with the default account state cache.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ForgerKeysBenchmark {
+
+    @Param({"1000", "5000"})
+    int keys;
+
+    List<ForgerKey> forgerKeys;
+    StripedRepositoryImpl repository;
+    Block[] bestBlocks;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(1);
+        forgerKeys = new ArrayList<>(keys);
+        Map<ByteArrayWrapper, AccountState> states = new HashMap<>();
+        for (int i = 0; i < keys; i++) {
+            ForgerKey key = ForgerKey.fromPrivateKey(HashUtil.sha3(ByteUtil.intToBytes(i)));
+            forgerKeys.add(key);
+            states.put(new ByteArrayWrapper(key.getCoinbase()), new AccountState(
+                    BigInteger.valueOf(1 + random.nextInt(1000)), BigInteger.valueOf(1000000)));
+        }
+
+        repository = new StripedRepositoryImpl(new HashMapDB(), 64, 8388608);
+        repository.updateBatch(states);
+        repository.flush(0);
+
+        List<Block> chain = Fixtures.chain(16, 0, 1);
+        bestBlocks = chain.toArray(new Block[chain.size()]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        repository.close();
+    }
+
+    @Benchmark
+    public BlockForger.ForgingSlot earliestSlot() {
+        Block bestBlock = bestBlocks[next++ & (bestBlocks.length - 1)];
+        return BlockForger.getEarliestSlot(forgerKeys, repository, bestBlock,
+                bestBlock.getBaseTarget());
+    }
+}
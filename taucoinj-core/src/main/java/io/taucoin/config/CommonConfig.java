@@ -4,9 +4,11 @@ import io.taucoin.core.Repository;
 import io.taucoin.core.Transaction;
 import io.taucoin.datasource.KeyValueDataSource;
 import io.taucoin.datasource.LevelDbDataSource;
+import io.taucoin.datasource.RocksDbDataSource;
 import io.taucoin.datasource.mapdb.MapDBFactory;
 import io.taucoin.datasource.redis.RedisConnection;
 import io.taucoin.db.RepositoryImpl;
+import io.taucoin.db.StripedRepositoryImpl;
 import io.taucoin.sync.*;
 import io.taucoin.validator.*;
 import org.hibernate.SessionFactory;
@@ -42,7 +44,12 @@ public class CommonConfig {
 
     @Bean
     Repository repository() {
-        return new RepositoryImpl(keyValueDataSource());
+        int stripes = config.databaseStateLockStripes();
+        long cacheSize = config.databaseStateCacheSize();
+        if (stripes > 0) {
+            return new StripedRepositoryImpl(keyValueDataSource(), stripes, cacheSize);
+        }
+        return new RepositoryImpl(keyValueDataSource(), cacheSize);
     }
 
     @Bean
@@ -55,6 +62,8 @@ public class CommonConfig {
                 return redisConnection.createDataSource("");
             } else if ("mapdb".equals(dataSource)) {
                 return mapDBFactory.createDataSource();
+            } else if ("rocksdb".equals(dataSource)) {
+                return new RocksDbDataSource();
             }
 
             dataSource = "leveldb";
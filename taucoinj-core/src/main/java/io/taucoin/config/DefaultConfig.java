@@ -3,6 +3,7 @@ package io.taucoin.config;
 import io.taucoin.datasource.HashMapDB;
 import io.taucoin.datasource.KeyValueDataSource;
 import io.taucoin.datasource.LevelDbDataSource;
+import io.taucoin.datasource.RocksDbDataSource;
 import io.taucoin.db.BlockStore;
 import io.taucoin.db.IndexedBlockStore;
 import org.mapdb.DB;
@@ -65,7 +66,8 @@ public class DefaultConfig {
                 .counterEnable()
                 .makeOrGet();
 
-        KeyValueDataSource blocksDB = new LevelDbDataSource("blocks");
+        KeyValueDataSource blocksDB = "rocksdb".equals(config.getKeyValueDataSource())
+                ? new RocksDbDataSource("blocks") : new LevelDbDataSource("blocks");
         blocksDB.init();
 
 
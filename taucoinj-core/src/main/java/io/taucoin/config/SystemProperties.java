@@ -386,6 +386,21 @@ public class SystemProperties {
         return config.getString("dump.style");
     }
 
+    @ValidateMe
+    public int databaseStateLockStripes() {
+        return config.getInt("database.state.lockStripes");
+    }
+
+    @ValidateMe
+    public long databaseStateCacheSize() {
+        return config.getLong("database.state.cacheSize");
+    }
+
+    @ValidateMe
+    public String databaseStatesTagsDir() {
+        return config.getString("database.statesTags");
+    }
+
     @ValidateMe
     public int dumpBlock() {
         return config.getInt("dump.block");
@@ -616,6 +631,16 @@ public class SystemProperties {
         return config.getString("keyvalue.datasource");
     }
 
+    @ValidateMe
+    public long rocksDbBlockCacheSize() {
+        return config.getLong("rocksdb.block.cache.size");
+    }
+
+    @ValidateMe
+    public int rocksDbBloomBits() {
+        return config.getInt("rocksdb.bloom.bits");
+    }
+
     @ValidateMe
     public boolean isRedisEnabled() {
         return config.getBoolean("redis.enabled");
@@ -699,6 +724,11 @@ public class SystemProperties {
         return config.getInt("forge.forgedAmount");
     }
 
+    @ValidateMe
+    public List<String> getForgerPrikeys() {
+        return config.getStringList("forge.prikeys");
+    }
+
     public void importForgerPrikey(byte[] prikey) {
         synchronized(forgerKeyLock) {
             if (prikey == null) {
@@ -783,6 +813,26 @@ public class SystemProperties {
         return config.getInt("http.client.channel.read.timeout");
     }
 
+    @ValidateMe
+    public long memPoolMaxBytes() {
+        return config.getLong("mempool.maxsize") * 1024 * 1024;
+    }
+
+    @ValidateMe
+    public long memPoolMinFeeIncrement() {
+        return config.getLong("mempool.minfee.increment");
+    }
+
+    @ValidateMe
+    public long memPoolMinFeeHalfLife() {
+        return config.getLong("mempool.minfee.halflife") * 1000;
+    }
+
+    @ValidateMe
+    public boolean httpRlpEnabled() {
+        return config.getBoolean("http.client.rlp");
+    }
+
     @ValidateMe
     public long pullChainInfoPeriod() {
         return config.getInt("sync2.chaininfo.pull.period") * 1000;
@@ -814,6 +864,26 @@ public class SystemProperties {
         return (int)config.getInt("filestore.indexstore.file.maxamount");
     }
 
+    @ValidateMe
+    public boolean txIndexEnabled() {
+        return config.getBoolean("txindex.enabled");
+    }
+
+    @ValidateMe
+    public int txIndexRebuildThreads() {
+        return config.getInt("txindex.rebuild.threads");
+    }
+
+    @ValidateMe
+    public boolean txIndexRebuildFull() {
+        return config.getBoolean("txindex.rebuild.full");
+    }
+
+    @ValidateMe
+    public boolean stateUndoEnabled() {
+        return config.getBoolean("stateundo.enabled");
+    }
+
     @ValidateMe
     public int blockStoreCapability() {
         return (int)config.getInt("blockstore.capability");
@@ -834,6 +904,26 @@ public class SystemProperties {
         return config.getInt("sync2.hibernation.duration");
     }
 
+    @ValidateMe
+    public int importPipelineThreads() {
+        return config.getInt("sync2.import.pipeline.threads");
+    }
+
+    @ValidateMe
+    public int importPipelineDepth() {
+        return config.getInt("sync2.import.pipeline.depth");
+    }
+
+    @ValidateMe
+    public boolean metricsEnabled() {
+        return config.getBoolean("metrics.enabled");
+    }
+
+    @ValidateMe
+    public boolean metricsJmxEnabled() {
+        return config.getBoolean("metrics.jmx");
+    }
+
 
     public String dump() {
         return config.root().render(ConfigRenderOptions.defaults().setComments(false));
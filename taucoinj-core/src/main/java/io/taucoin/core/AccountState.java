@@ -3,7 +3,7 @@ package io.taucoin.core;
 import io.taucoin.config.Constants;
 import io.taucoin.util.ByteUtil;
 import io.taucoin.util.RLP;
-import io.taucoin.util.RLPList;
+import io.taucoin.util.RLPReader;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -63,35 +63,30 @@ public class AccountState implements Serializable {
     //used to initial a account from reposity
     public AccountState(byte[] rlpData) {
         this.rlpEncoded = rlpData;
-        RLPList items = (RLPList) RLP.decode2(rlpEncoded).get(0);
-        if(items.size()==0){
-          log.error("create account sate fail{%d}",items.size());
+        RLPReader items = RLPReader.ofList(rlpEncoded);
+        if(!items.hasNext()){
+          log.error("create account sate fail, no items");
           System.exit(-1);
         }
-        //log.info("account state size is {}",items.size());
-        //log.info("forge power in account state is {}",ByteUtil.byteArrayToLong(items.get(0).getRLPData()));
-
-        this.forgePower = items.get(0).getRLPData() == null ? BigInteger.ZERO
-                : new BigInteger(1, items.get(0).getRLPData());
-        this.balance = items.get(1).getRLPData() == null ? BigInteger.ZERO
-                : new BigInteger(1, items.get(1).getRLPData());
-        this.witnessAddress = items.get(2).getRLPData();
-
-        RLPList associateList = (RLPList) items.get(3);
-        for(int i=0;i < associateList.size();++i) {
-            this.associatedAddress.add(associateList.get(i).getRLPData());
+
+        this.forgePower = items.nextItem().getBigInteger();
+        this.balance = items.nextItem().getBigInteger();
+        this.witnessAddress = items.nextItem().getBytes();
+
+        RLPReader associateList = items.nextItem().list();
+        while (associateList.next()) {
+            this.associatedAddress.add(associateList.getBytes());
         }
 
-        this.stateHeight = items.get(4).getRLPData() == null ? 0
-                : ByteUtil.byteArrayToLong(items.get(4).getRLPData());
+        this.stateHeight = items.nextItem().getLong();
 
-        if(items.size() > 5) {
-            //RLPList trHis = (RLPList) items.get(2);
-            for (int i = 5; i < items.size(); ++i) {
-                byte[] transactionHis = items.get(i).getRLPData();
-                TransactionInfo trinfo = new TransactionInfo(transactionHis);
-                this.tranHistory.put(trinfo.gettrTime(),trinfo.gettrHashcode());
-            }
+        // The transaction history, [hash, time] lists read in place
+        // instead of through TransactionInfo.
+        while (items.next()) {
+            RLPReader transactionHis = items.list();
+            byte[] trHash = transactionHis.nextItem().getBytes();
+            long trTime = transactionHis.nextItem().getLong();
+            this.tranHistory.put(trTime, trHash == null ? ByteUtil.longToBytes(0) : trHash);
         }
     }
 
@@ -254,9 +249,10 @@ public class AccountState implements Serializable {
         accountState.addToBalance(this.getBalance());
         accountState.setforgePower(this.getforgePower());
         accountState.setWitnessAddress(this.getWitnessAddress());
-        accountState.setAssociatedAddress(this.getAssociatedAddress());
+        // Copy the collections, cached states are cloned for every reader.
+        accountState.setAssociatedAddress(new ArrayList<>(this.getAssociatedAddress()));
         accountState.setStateHeight(this.getStateHeight());
-        accountState.setTranHistory(this.getTranHistory());
+        accountState.setTranHistory(new TreeMap<>(this.getTranHistory()));
         accountState.setDirty(false);
 
         return accountState;
@@ -15,7 +15,6 @@ import java.math.BigInteger;
 import java.security.SignatureException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * The block in taucoin is the collection of relevant pieces of information
@@ -40,8 +39,9 @@ public class Block {
     private byte[] previousHeaderHash;
     private byte[] blockhash = null;
 
-    /* Transactions */
-    private List<Transaction> transactionsList = new CopyOnWriteArrayList<>();
+    /* Transactions, located and checked in the block encoding when it is
+     * parsed, each one decoded the first time it is got */
+    private List<Transaction> transactionsList;
 
     /*this is left for future use 8 bits*/
     private byte option;
@@ -68,7 +68,9 @@ public class Block {
     }
 
     public Block(byte[] rawData) {
-        logger.debug("new from [" + Hex.toHexString(rawData) + "]");
+        if (logger.isDebugEnabled()) {
+            logger.debug("new from [" + Hex.toHexString(rawData) + "]");
+        }
         this.rlpEncoded = rawData;
         this.rlpEncodedMsg = null;
         this.rlpRaw = null;
@@ -76,7 +78,9 @@ public class Block {
     }
 
     public Block(byte[] rawData, boolean isMsg) {
-        logger.debug("new from net [" + Hex.toHexString(rawData) + "]");
+        if (logger.isDebugEnabled()) {
+            logger.debug("new from net [" + Hex.toHexString(rawData) + "]");
+        }
         if (isMsg) {
             this.rlpEncoded = null;
             this.rlpEncodedMsg = rawData;
@@ -97,10 +101,7 @@ public class Block {
         this.previousHeaderHash = previousHeaderHash;
         this.option = option;
 
-        this.transactionsList = transactionsList;
-        if (this.transactionsList == null) {
-            this.transactionsList = new CopyOnWriteArrayList<>();
-        }
+        this.transactionsList = TransactionList.of(transactionsList);
 
         this.parsed = true;
     }
@@ -114,80 +115,51 @@ public class Block {
         this.blockSignature = ECDSASignature.fromComponents(r,s,v);
 
         this.option = option;
-        this.transactionsList = transactionsList;
-        if (this.transactionsList == null) {
-            this.transactionsList = new CopyOnWriteArrayList<>();
-        }
+        this.transactionsList = TransactionList.of(transactionsList);
 
         this.parsed = true;
     }
 
 
+    // Decodes the header items, the transactions are only located and
+    // checked, see TransactionList.
     private void parseRLP() {
 
-        if (!isMsg) {
-            RLPList params = RLP.decode2(rlpEncoded);
-            RLPList block = (RLPList) params.get(0);
-
-            // Parse block
-            this.version = block.get(0).getRLPData() == null ? (byte) 0 : block.get(0).getRLPData()[0];
-            this.timeStamp = block.get(1).getRLPData();
-            RLPList signature = (RLPList) RLP.decode2(block.get(2).getRLPData()).get(0);
-            // Parse blockSignature
-            byte[] r = signature.get(0).getRLPData();
-            byte[] s = signature.get(1).getRLPData();
-            byte v = signature.get(2).getRLPData()[0];
-            this.blockSignature = ECDSASignature.fromComponents(r, s,v);
-
-            this.previousHeaderHash = block.get(3).getRLPData();
-            byte[] nrBytes = block.get(4).getRLPData();
-            this.number = nrBytes == null ? 0 : (new BigInteger(1, nrBytes)).longValue();
-
-            byte[] btBytes = block.get(5).getRLPData();
-            this.baseTarget = new BigInteger(1, btBytes);
+        RLPReader block = RLPReader.ofList(isMsg ? rlpEncodedMsg : rlpEncoded);
 
-            this.generationSignature = block.get(6).getRLPData();
+        // Parse block
+        this.version = block.nextItem().getByte();
+        this.timeStamp = block.nextItem().getBytes();
 
-            byte[] cyBytes = block.get(7).getRLPData();
-            this.cumulativeDifficulty = cyBytes == null ? BigInteger.ZERO
-                    : new BigInteger(1, cyBytes);
+        // Parse blockSignature
+        RLPReader signature = block.nextItem().list();
+        byte[] r = signature.nextItem().getBytes();
+        byte[] s = signature.nextItem().getBytes();
+        byte v = signature.nextItem().getByte();
+        this.blockSignature = ECDSASignature.fromComponents(r, s,v);
 
-            byte[] culFee  = block.get(8).getRLPData();
-            this.cumulativeFee = culFee == null ? BigInteger.ZERO
-                    : new BigInteger(1,culFee);
+        this.previousHeaderHash = block.nextItem().getBytes();
 
-            this.forgerPubkey = block.get(9).getRLPData();
+        if (!isMsg) {
+            this.number = block.nextItem().getLong();
+            this.baseTarget = block.nextItem().getBigInteger();
+            this.generationSignature = block.nextItem().getBytes();
+            this.cumulativeDifficulty = block.nextItem().getBigInteger();
+            this.cumulativeFee = block.nextItem().getBigInteger();
+            this.forgerPubkey = block.nextItem().getBytes();
+        }
 
-            // Parse option
-            this.option = block.get(10).getRLPData() == null ? (byte) 0 : block.get(10).getRLPData()[0];
+        // Parse option
+        this.option = block.nextItem().getByte();
 
-            if(block.size() > 11) {
-                // Parse Transactions
-                RLPList txTransactions = (RLPList) block.get(11);
-                this.parseTxs(txTransactions, true);
+        if (block.next()) {
+            if (!block.isList()) {
+                throw new RuntimeException("RLP list of transactions expected");
             }
+            this.transactionsList = TransactionList.decode(block.getData(),
+                    block.getOffset(), block.getLength(), !isMsg);
         } else {
-            RLPList params = RLP.decode2(rlpEncodedMsg);
-            RLPList block = (RLPList) params.get(0);
-            // Parse block
-            this.version = block.get(0).getRLPData() == null ? (byte) 0 : block.get(0).getRLPData()[0];
-            this.timeStamp = block.get(1).getRLPData();
-            RLPList signature = (RLPList) RLP.decode2(block.get(2).getRLPData()).get(0);
-
-            // Parse blockSignature
-            byte[] r = signature.get(0).getRLPData();
-            byte[] s = signature.get(1).getRLPData();
-            byte v = signature.get(2).getRLPData()[0];
-            this.blockSignature = ECDSASignature.fromComponents(r, s,v);
-
-            this.previousHeaderHash = block.get(3).getRLPData();
-            // Parse option
-            this.option = block.get(4).getRLPData() == null ? (byte) 0 : block.get(4).getRLPData()[0];
-            // Parse Transactions
-            if(block.size() > 5){
-                RLPList txTransactions = (RLPList) block.get(5);
-                this.parseTxs(txTransactions, false);
-            }
+            this.transactionsList = TransactionList.EMPTY;
         }
 
         this.parsed = true;
@@ -241,7 +213,7 @@ public class Block {
     public boolean extractForgerPublicKey() {
         ECKey key;
         try{
-            key = ECKey.signatureToKey(this.getRawHash(), blockSignature.toBase64());
+            key = ECKey.signatureToKey(this.getRawHash(), blockSignature);
             if(key != null){
                 forgerPubkey = key.getCompressedPubKey();
             } else {
@@ -329,11 +301,25 @@ public class Block {
         this.cumulativeFee = cumulativeFee;
     }
 
+    /**
+     * Returns the immutable list of the transactions of this block. For a
+     * block parsed from its encoding each transaction is decoded the first
+     * time it is got.
+     */
     public List<Transaction> getTransactionsList() {
         if (!parsed) parseRLP();
         return transactionsList;
     }
 
+    /**
+     * Returns the transaction with the given index in this block, or null.
+     * Only this transaction is decoded, the other ones are just skipped over.
+     */
+    public Transaction getTransaction(int index) {
+        List<Transaction> txs = getTransactionsList();
+        return index >= 0 && index < txs.size() ? txs.get(index) : null;
+    }
+
 
     private StringBuffer toStringBuff = new StringBuffer();
     // [parent_hash, uncles_hash, coinbase, state_root, tx_trie_root,
@@ -379,14 +365,6 @@ public class Block {
         return toStringBuff.toString();
     }
 
-    private void parseTxs(RLPList txTransactions, boolean isComposite) {
-
-        for (int i = 0; i < txTransactions.size(); i++) {
-            RLPElement transactionRaw = txTransactions.get(i);
-            this.transactionsList.add(new Transaction(transactionRaw.getRLPData(), isComposite));
-        }
-    }
-
     /**
      * check if param block is son of this block
      *
@@ -419,36 +397,39 @@ public class Block {
         return option;
     }
 
-    private byte[] getFullTransactionsEncoded() {
+    private byte[][] getFullTransactionsEncoded() {
 
+        List<Transaction> transactionsList = getTransactionsList();
         byte[][] transactionsEncoded = new byte[transactionsList.size()][];
         int i = 0;
         for (Transaction tx : transactionsList) {
             transactionsEncoded[i] = tx.getEncodedComposite();
             ++i;
         }
-        return RLP.encodeList(transactionsEncoded);
+        return transactionsEncoded;
     }
 
-    private byte[] getTransactionsEncoded() {
+    private byte[][] getTransactionsEncoded() {
 
+        List<Transaction> transactionsList = getTransactionsList();
         byte[][] transactionsEncoded = new byte[transactionsList.size()][];
         int i = 0;
         for (Transaction tx : transactionsList) {
             transactionsEncoded[i] = tx.getEncoded();
             ++i;
         }
-        return RLP.encodeList(transactionsEncoded);
+        return transactionsEncoded;
     }
 
-    private byte[] getTransactionEncodedForCache() {
+    private byte[][] getTransactionEncodedForCache() {
+        List<Transaction> transactionsList = getTransactionsList();
         byte[][] transactionsEncoded = new byte[transactionsList.size()][];
         int i = 0;
         for (Transaction tx : transactionsList) {
             transactionsEncoded[i] = tx.getEncodedForCache();
             ++i;
         }
-        return RLP.encodeList(transactionsEncoded);
+        return transactionsEncoded;
     }
 
     //encode key items of block to get hash finger print
@@ -473,9 +454,7 @@ public class Block {
             block.add(1,timestamp);
             block.add(2,signature);
             block.add(3,previousHeaderHash);
-            byte[][] elements = block.toArray(new byte[block.size()][]);
-
-            this.rlpEncoded = RLP.encodeList(elements);
+            this.rlpEncoded = encodeBlock(block, getFullTransactionsEncoded());
         }
         return rlpEncoded;
     }
@@ -493,9 +472,7 @@ public class Block {
             block.add(1,timestamp);
             block.add(2,signature);
             block.add(3,previousHeaderHash);
-            byte[][] elements = block.toArray(new byte[block.size()][]);
-
-            this.rlpEncodedMsg = RLP.encodeList(elements);
+            this.rlpEncodedMsg = encodeBlock(block, getTransactionsEncoded());
         }
         return rlpEncodedMsg;
     }
@@ -514,9 +491,7 @@ public class Block {
             block.add(1,timestamp);
             block.add(2,signature);
             block.add(3,previousHeaderHash);
-            byte[][] elements = block.toArray(new byte[block.size()][]);
-
-            this.rlpEncodedCache = RLP.encodeList(elements);
+            this.rlpEncodedCache = encodeBlock(block, getTransactionEncodedForCache());
         }
         return rlpEncodedCache;
     }
@@ -532,51 +507,157 @@ public class Block {
             block.add(0, version);
             block.add(1,timestamp);
             block.add(2,previousHeaderHash);
-            byte[][] elements = block.toArray(new byte[block.size()][]);
-
-            this.rlpRaw = RLP.encodeList(elements);
+            this.rlpRaw = encodeBlock(block, getTransactionEncodeForBlockSig());
         }
         return rlpRaw;
     }
 
 
     public byte[] getEncodedBody() {
-        List<byte[]> body = getBodyElements();
-        byte[][] elements = body.toArray(new byte[body.size()][]);
+        if (!parsed) {
+            byte[] body = getEncodedBodyUnparsed();
+            if (body != null) {
+                return body;
+            }
+        }
+
+        return encodeBlock(getBodyElements(), getTransactionsEncoded());
+    }
+
+    // Builds the body of a block which hasn't been parsed straight from its
+    // encoding, so that serving stored blocks to peers doesn't decode them:
+    // the option and transactions items are copied as they are, stored
+    // transactions just lose the items which are only kept on disk.
+    // Returns null if the encoding isn't laid out as expected.
+    private byte[] getEncodedBodyUnparsed() {
+        byte[] rlp = isMsg ? rlpEncodedMsg : rlpEncoded;
+        if (rlp == null) {
+            return null;
+        }
+
+        // Option is the 11th item of the block on disk and the 5th on net.
+        int pos = RLP.getFirstListElement(rlp, 0);
+        for (int i = 0; i < (isMsg ? 4 : 10) && pos >= 0; i++) {
+            pos = RLP.getNextElementIndex(rlp, pos);
+        }
+        if (pos < 0 || pos >= rlp.length) {
+            return null;
+        }
+
+        int txsPos = RLP.getNextElementIndex(rlp, pos);
+        if (txsPos < 0) {
+            return null;
+        }
+        byte[] option = copyOfRange(rlp, pos, txsPos);
+
+        byte[] transactions;
+        if (txsPos >= rlp.length) {
+            transactions = RLP.encodeList();
+        } else if (isMsg) {
+            transactions = copyOfRange(rlp, txsPos, RLP.getNextElementIndex(rlp, txsPos));
+        } else {
+            int txsEnd = RLP.getNextElementIndex(rlp, txsPos);
+            List<byte[]> txs = new ArrayList<>();
+            int txPos = RLP.getFirstListElement(rlp, txsPos);
+            while (txPos >= 0 && txPos < txsEnd) {
+                byte[] tx = getTransactionEncodedFromComposite(rlp, txPos);
+                if (tx == null) {
+                    return null;
+                }
+                txs.add(tx);
+                txPos = RLP.getNextElementIndex(rlp, txPos);
+            }
+            transactions = RLP.encodeList(txs.toArray(new byte[txs.size()][]));
+        }
+
+        return RLP.encodeList(option, transactions);
+    }
+
+    // The net encoding of the composite transaction at 'pos', see
+    // Transaction#getEncoded() and Transaction#getEncodedComposite():
+    // items [0, 7) and [11, 14) of the composite one.
+    private static byte[] getTransactionEncodedFromComposite(byte[] rlp, int pos) {
+        int end = RLP.getNextElementIndex(rlp, pos);
+        int[] items = new int[15];
+        int count = 0;
+        int item = RLP.getFirstListElement(rlp, pos);
+        while (item >= 0 && item < end && count < 14) {
+            items[count++] = item;
+            item = RLP.getNextElementIndex(rlp, item);
+        }
+        if (count < 14 || item < 0) {
+            return null;
+        }
+        items[14] = item;
+
+        byte[][] elements = new byte[10][];
+        for (int i = 0; i < 7; i++) {
+            elements[i] = copyOfRange(rlp, items[i], items[i + 1]);
+        }
+        for (int i = 11; i < 14; i++) {
+            elements[i - 4] = copyOfRange(rlp, items[i], items[i + 1]);
+        }
         return RLP.encodeList(elements);
     }
 
+    // Encodes the items 'block' followed by the list of the transaction
+    // encodings 'transactions' in one pass, without encoding that list apart.
+    private static byte[] encodeBlock(List<byte[]> block, byte[][] transactions) {
+        int transactionsSize = 0;
+        for (byte[] tx : transactions) {
+            transactionsSize += tx.length;
+        }
+        int size = RLPWriter.listSize(transactionsSize);
+        for (byte[] item : block) {
+            size += item.length;
+        }
+
+        RLPWriter writer = new RLPWriter(RLPWriter.listSize(size));
+        writer.writeListHeader(size);
+        for (byte[] item : block) {
+            writer.writeEncoded(item);
+        }
+        writer.writeListHeader(transactionsSize);
+        for (byte[] tx : transactions) {
+            writer.writeEncoded(tx);
+        }
+        return writer.toByteArray();
+    }
+
+    private static byte[] copyOfRange(byte[] bytes, int from, int to) {
+        byte[] copy = new byte[to - from];
+        System.arraycopy(bytes, from, copy, 0, copy.length);
+        return copy;
+    }
+
     private List<byte[]> getBodyElementsWithoutBlockSignature() {
         if (!parsed) parseRLP();
 
         byte[] option = RLP.encodeByte(this.option);
-        byte[] transactions = getTransactionEncodeForBlockSig();
 
         List<byte[]> body = new ArrayList<>();
         body.add(option);
-        body.add(transactions);
 
         return body;
     }
 
-    private byte[] getTransactionEncodeForBlockSig() {
+    private byte[][] getTransactionEncodeForBlockSig() {
+        List<Transaction> transactionsList = getTransactionsList();
         byte[][] transactionsEncoded = new byte[transactionsList.size()][];
         int i = 0;
         for (Transaction tx : transactionsList) {
             transactionsEncoded[i] = tx.getEncodeForSig();
             ++i;
         }
-        return RLP.encodeList(transactionsEncoded);
+        return transactionsEncoded;
     }
     private List<byte[]> getBodyElements() {
         if (!parsed) parseRLP();
 
         byte[] option = getOptionEncoded();
-        byte[] transactions = getTransactionsEncoded();
 
         List<byte[]> body = new ArrayList<>();
         body.add(option);
-        body.add(transactions);
 
         return body;
     }
@@ -585,11 +666,9 @@ public class Block {
         if (!parsed) parseRLP();
 
         byte[] option = getOptionEncoded();
-        byte[] transactions = getTransactionEncodedForCache();
 
         List<byte[]> body = new ArrayList<>();
         body.add(option);
-        body.add(transactions);
 
         return body;
     }
@@ -606,7 +685,6 @@ public class Block {
         byte[] cumulativeFee = RLP.encodeBigInteger(this.cumulativeFee == null ? BigInteger.ZERO: this.cumulativeFee);
         byte[] forgerpubkey = RLP.encodeElement(this.forgerPubkey);
         byte[] option = getOptionEncoded();
-        byte[] transactions = getFullTransactionsEncoded();
 
         List<byte[]> body = new ArrayList<>();
         body.add(number);
@@ -616,7 +694,6 @@ public class Block {
         body.add(cumulativeFee);
         body.add(forgerpubkey);
         body.add(option);
-        body.add(transactions);
 
         return body;
     }
@@ -673,19 +750,15 @@ public class Block {
                 //block.header = header;
                 block.setIsMsg(true);
                 block.parsed = true;
-                RLPList items = (RLPList) RLP.decode2(body).get(0);
-                RLPList signature = (RLPList) items.get(0);
-                byte[] r = signature.get(0).getRLPData();
-                byte[] s = signature.get(1).getRLPData();
+                RLPReader items = RLPReader.ofList(body);
+                RLPReader signature = items.nextItem().list();
+                byte[] r = signature.nextItem().getBytes();
+                byte[] s = signature.nextItem().getBytes();
                 block.blockSignature = ECDSASignature.fromComponents(r, s);
-                block.option = items.get(1).getRLPData()[0];
-                RLPList transactions = (RLPList) items.get(2);
-                //RLPList transactions = (RLPList) items.get(0);
-                if (transactions.size() == 0){
-
-                } else{
-                   block.parseTxs(transactions, false);
-                }
+                block.option = items.nextItem().getByte();
+                items.nextItem().list();
+                block.transactionsList = TransactionList.decode(body, items.getOffset(),
+                        items.getLength(), false);
                //delete txState may be stupid....
                //we avoid trie,because we think block header doesn't have large capacity
                 return block;
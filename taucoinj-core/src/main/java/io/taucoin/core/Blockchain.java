@@ -62,6 +62,12 @@ public interface Blockchain {
      */
     Object getLockObject();
 
+    /**
+     * Get the consensus headers of the stored blocks
+     * @return
+     */
+    ConsensusHeaderCache getConsensusHeaderCache();
+
     /**
      * Check database sanity.
      * Return false if there is nothing to do;
@@ -6,9 +6,16 @@ import io.taucoin.core.transaction.TransactionOptions;
 import io.taucoin.core.transaction.TransactionVersion;
 import io.taucoin.datasource.DBCorruptionException;
 import io.taucoin.db.BlockStore;
+import io.taucoin.db.ByteArrayWrapper;
+import io.taucoin.db.RepositoryTrack;
+import io.taucoin.db.StateUndoStore;
+import io.taucoin.db.TransactionIndexStore;
 import io.taucoin.db.file.FileBlockStore;
 import io.taucoin.debug.RefWatcher;
 import io.taucoin.listener.TaucoinListener;
+import io.taucoin.metrics.Counter;
+import io.taucoin.metrics.Histogram;
+import io.taucoin.metrics.Metrics;
 import io.taucoin.sync2.ChainInfoManager;
 import io.taucoin.util.AdvancedDeviceUtils;
 import io.taucoin.util.ByteUtil;
@@ -68,6 +75,13 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
 
     private static final Logger logger = LoggerFactory.getLogger("blockchain");
 
+    private static final Histogram validateTime = Metrics.histogram("blockchain.validate.us");
+    private static final Histogram wrapTime = Metrics.histogram("blockchain.wrap.us");
+    private static final Histogram applyTime = Metrics.histogram("blockchain.apply.us");
+    private static final Histogram commitTime = Metrics.histogram("blockchain.commit.us");
+    private static final Histogram flushTime = Metrics.histogram("blockchain.flush.us");
+    private static final Counter rebranches = Metrics.counter("blockchain.rebranches");
+
 
     private Repository repository;
     private Repository track;
@@ -90,6 +104,16 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
 
     private StakeHolderIdentityUpdate stakeHolderIdentityUpdate;
 
+    // Null if the transaction index is disabled.
+    private TransactionIndexStore txIndex;
+
+    // Null if the state undo journal is disabled, re-branches then execute
+    // the undone blocks backwards.
+    private StateUndoStore undoStore;
+
+    // Parent and ancestor fields read by the proof of transaction checks.
+    private ConsensusHeaderCache consensusHeaders;
+
     SystemProperties config = SystemProperties.CONFIG;
 
     private Object lock = new Object();
@@ -112,6 +136,23 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
             PendingState pendingState, TaucoinListener listener,
             ChainInfoManager chainInfoManager, FileBlockStore fileBlockStore,
             RefWatcher refWatcher) {
+        this(blockStore, repository, pendingState, listener, chainInfoManager,
+                fileBlockStore, refWatcher, null);
+    }
+
+    public BlockchainImpl(BlockStore blockStore, Repository repository,
+            PendingState pendingState, TaucoinListener listener,
+            ChainInfoManager chainInfoManager, FileBlockStore fileBlockStore,
+            RefWatcher refWatcher, TransactionIndexStore txIndex) {
+        this(blockStore, repository, pendingState, listener, chainInfoManager,
+                fileBlockStore, refWatcher, txIndex, null);
+    }
+
+    public BlockchainImpl(BlockStore blockStore, Repository repository,
+            PendingState pendingState, TaucoinListener listener,
+            ChainInfoManager chainInfoManager, FileBlockStore fileBlockStore,
+            RefWatcher refWatcher, TransactionIndexStore txIndex,
+            StateUndoStore undoStore) {
         this.blockStore = blockStore;
         this.repository = repository;
         this.pendingState = pendingState;
@@ -121,6 +162,9 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
         this.refWatcher = refWatcher;
         this.executor = new TransactionExecutor(this, listener);
         this.stakeHolderIdentityUpdate = new StakeHolderIdentityUpdate();
+        this.txIndex = txIndex;
+        this.undoStore = undoStore;
+        this.consensusHeaders = new ConsensusHeaderCache(blockStore);
     }
 
     @Override
@@ -145,7 +189,64 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
 
     @Override
     public Transaction getTransactionByHash(byte[] hash) {
-        throw new UnsupportedOperationException("TODO: will be implemented soon "); // FIXME: go and fix me
+        if (txIndex == null) {
+            throw new UnsupportedOperationException("Transaction index is disabled");
+        }
+
+        TransactionIndexStore.Location location = txIndex.get(hash);
+        if (location == null) {
+            return null;
+        }
+
+        Block block = getChainBlock(location.getBlockNumber());
+        if (block == null) {
+            return null;
+        }
+
+        // Only the indexed transaction is decoded.
+        Transaction tx = block.getTransaction(location.getIndex());
+        if (tx == null || !Arrays.equals(tx.getHash(), hash)) {
+            logger.warn("Stale tx index entry {} at {}/{}", Hex.toHexString(hash),
+                    location.getBlockNumber(), location.getIndex());
+            return null;
+        }
+
+        return tx;
+    }
+
+    /**
+     * Indexes the main chain blocks the transaction index has missed,
+     * all stored blocks if 'full'. Runs on the caller thread.
+     */
+    public void rebuildTransactionIndex(boolean full) {
+        if (txIndex == null) {
+            return;
+        }
+
+        if (full) {
+            txIndex.reset();
+        }
+
+        // Blocks neither store keeps any more are skipped.
+        txIndex.rebuild(new TransactionIndexStore.BlockSource() {
+            @Override
+            public Block getChainBlock(long number) {
+                return BlockchainImpl.this.getChainBlock(number);
+            }
+        }, txIndex.getIndexedNumber() + 1, getBestBlock().getNumber(),
+                config.txIndexRebuildThreads());
+    }
+
+    // Returns the main chain block from the block store, or from the file
+    // block store for the blocks the block store doesn't keep any more.
+    private Block getChainBlock(long number) {
+        Block block = blockStore.getChainBlockByNumber(number);
+        if (block != null || number < fileBlockStore.getStartNumber()) {
+            return block;
+        }
+
+        BlockWrapper wrapper = fileBlockStore.get(number);
+        return wrapper == null ? null : wrapper.getBlock();
     }
 
     @Override
@@ -158,6 +259,11 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
         return lock;
     }
 
+    @Override
+    public ConsensusHeaderCache getConsensusHeaderCache() {
+        return consensusHeaders;
+    }
+
     @Override
     public synchronized List<byte[]> getListOfHashesStartFrom(byte[] hash, int qty) {
         return blockStore.getListHashesEndWith(hash, qty);
@@ -196,6 +302,13 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
         return blockStore;
     }
 
+    /**
+     * Returns the state undo journal, or null if it's disabled.
+     */
+    public StateUndoStore getStateUndoStore() {
+        return undoStore;
+    }
+
     public synchronized ImportResult tryConnectAndFork(final Block block) {
         if (isMoreThan(block.getCumulativeDifficulty(), this.totalDifficulty)) {
             //cumulative difficulty is more than current chain
@@ -218,38 +331,12 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
             track = repository.startTracking();
 
             for (Block undoBlock : undoBlocks) {
-                Repository cacheTrack = track.startTracking();
-                logger.info("Try to disconnect block, block number: {}, hash: {}",
-                        undoBlock.getNumber(), Hex.toHexString(undoBlock.getHash()));
-                logger.debug("before roll back.....");
-                cacheTrack.showRepositoryChange();
-                //roll back
-                List<Transaction> txs = undoBlock.getTransactionsList();
-                int size = txs.size();
-                for (int i = size - 1; i >= 0; i--) {
-                    StakeHolderIdentityUpdate stakeHolderIdentityUpdate =
-                            new StakeHolderIdentityUpdate(txs.get(i), cacheTrack, undoBlock.getForgerAddress(), undoBlock.getNumber() - 1);
-                    stakeHolderIdentityUpdate.rollbackStakeHolderIdentity();
-                }
-
-                for (int i = size - 1; i >= 0; i--) {
-                    //roll back
-                    TransactionExecutor executor = new TransactionExecutor(txs.get(i), cacheTrack, this, listener);
-                    executor.setCoinbase(undoBlock.getForgerAddress());
-                    executor.undoTransaction();
-                }
-                logger.debug("after roll back.....");
-                cacheTrack.showRepositoryChange();
-                cacheTrack.commit();
-
-                if(Hex.toHexString(undoBlock.getForgerAddress()).equals("847ca210e2b61e9722d1584fcc0daea4c3639b09")){
-                    logger.warn("after undo special address forge power {} balance {}",
-                            track.getforgePower(undoBlock.getForgerAddress()),track.getBalance(undoBlock.getForgerAddress()));
-                }
+                disconnectBlock(undoBlock, track);
             }
 
             boolean isValid = true;
             Repository cacheTrack;
+            List<Map<ByteArrayWrapper, AccountState>> newPreImages = new ArrayList<>();
             int size = newBlocks.size();
             for (int i = size - 1; i >= 0; i--) {
                 cacheTrack = track.startTracking();
@@ -258,7 +345,10 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
                 logger.info("Try to connect block, block number: {}, hash: {}",
                         newBlock.getNumber(), Hex.toHexString(newBlock.getHash()));
 
-                if (!isValidBlock(newBlock, track)) {
+                long validateStart = validateTime.start();
+                boolean validBlock = isValidBlock(newBlock, track);
+                validateTime.stop(validateStart);
+                if (!validBlock) {
                     isValid = false;
                     logger.info("Connect block fail! Cannot verify block, block number: {}, hash: {}",
                             newBlock.getNumber(), Hex.toHexString(newBlock.getHash()));
@@ -274,17 +364,33 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
                     break;
                 }
 
+                if (undoStore != null) {
+                    newPreImages.add(capturePreImages(cacheTrack, track));
+                }
                 cacheTrack.commit();
             }
 
             if (isValid) {
                 logger.info("Beginning to re-branch.");
+                rebranches.inc();
                 track.commit();
 
                 blockStore.saveBlock(block, totalDifficulty, true);
                 setBestBlock(block);
 
                 blockStore.reBranchBlocks(undoBlocks, newBlocks);
+                if (txIndex != null) {
+                    txIndex.reBranch(undoBlocks, newBlocks);
+                }
+                if (undoStore != null) {
+                    for (Block undoBlock : undoBlocks) {
+                        undoStore.delete(undoBlock.getNumber());
+                    }
+                    for (int i = 0; i < newPreImages.size(); i++) {
+                        undoStore.put(newBlocks.get(size - 1 - i), newPreImages.get(i),
+                                config.getMutableRange() + 1);
+                    }
+                }
 
                 //broadcast disconnected blocks
                 for(Block undoBlock : undoBlocks) {
@@ -298,8 +404,7 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
 
                 //if (needFlush(block)) {
                     repository.flush(block.getNumber());
-                    blockStore.flush();
-                    System.gc();
+                    flushBlocks();
                 //}
 
                 return IMPORTED_BEST;
@@ -312,7 +417,10 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
         } else {
             //cumulative difficulty is less than current
             //just verify block simply
-            if (!verifyBlockSimply(block)) {
+            long validateStart = validateTime.start();
+            boolean validBlock = verifyBlockSimply(block);
+            validateTime.stop(validateStart);
+            if (!validBlock) {
                 return INVALID_BLOCK;
             }
 
@@ -326,7 +434,7 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
 
     public synchronized ImportResult tryToConnect(final Block block) {
 
-        Block preBlock = blockStore.getBlockByHash(block.getPreviousHeaderHash());
+        ConsensusHeader preBlock = consensusHeaders.get(block.getPreviousHeaderHash());
         if (preBlock == null) {
             logger.error("Cannot find parent block! Block hash [{}], previous block hash [{}], raw byte array {} {}.",
                     Hex.toHexString(block.getHash()), Hex.toHexString(block.getPreviousHeaderHash()),
@@ -338,10 +446,11 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
         if (block.isMsg()) {
             block.setNumber(preBlock.getNumber() + 1);
 
-            BigInteger baseTarget = ProofOfTransaction.calculateRequiredBaseTarget(preBlock, blockStore);
+            BigInteger baseTarget = ProofOfTransaction.calculateRequiredBaseTarget(preBlock, consensusHeaders);
             block.setBaseTarget(baseTarget);
 
-            if (!block.extractForgerPublicKey()) {
+            // The forger public key may have been recovered by the import pipeline already.
+            if (block.getForgerPublicKey() == null) {
                 logger.error("Extract forger public key fail!!!");
                 return INVALID_BLOCK;
             }
@@ -379,12 +488,16 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
             return EXIST;
         }
 
+        // Recover all senders at once instead of one by one in the connecting loops.
+        TransactionSenderRecoverer.recoverSenders(block);
+
         // The simple case got the block
         // to connect to the main chain
         if (bestBlock.isParentOf(block)) {
             //recordBlock(block);
 
             if (addBlock(block)) {
+                consensusHeaders.put(block);
                 listener.onBlockConnected(block);
                 //notify
                 synchronized (lock) {
@@ -410,6 +523,9 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
             if (blockStore.isBlockExist(block.getPreviousHeaderHash())) {
                 //recordBlock(block);
                 ImportResult result = tryConnectAndFork(block);
+                if (result == IMPORTED_BEST || result == IMPORTED_NOT_BEST) {
+                    consensusHeaders.put(block);
+                }
 
                 if (result == IMPORTED_BEST) {
                     //notify
@@ -501,6 +617,10 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
             return false;
         }
 
+        long commitStart = commitTime.start();
+        Map<ByteArrayWrapper, AccountState> preImages =
+                undoStore == null ? null : capturePreImages(track, repository);
+
 //        try {
             track.commit();
 //        }catch (RuntimeException e) {
@@ -516,11 +636,14 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
 //        }
 
         storeBlock(block);
+        if (preImages != null) {
+            undoStore.put(block, preImages, config.getMutableRange() + 1);
+        }
 
         //if (needFlush(block)) {
             repository.flush(block.getNumber());
-            blockStore.flush();
-            System.gc();
+            commitTime.stop(commitStart);
+            flushBlocks();
         //}
 
         listener.onBlock(block);
@@ -529,6 +652,14 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
         return true;
     }
 
+    // Writes the blocks after the states of every block, without the
+    // System.gc() which used to follow.
+    private void flushBlocks() {
+        long start = flushTime.start();
+        blockStore.flush();
+        flushTime.stop(start);
+    }
+
     private boolean needFlush(Block block) {
         if (config.cacheFlushMemory() > 0) {
             return needFlushByMemory(config.cacheFlushMemory());
@@ -693,13 +824,13 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
         logger.debug("Address: {}, forge power: {}", Hex.toHexString(address), forgingPower);
 
         long blockTime = ByteUtil.byteArrayToLong(block.getTimestamp());
-        Block preBlock = blockStore.getBlockByHash(block.getPreviousHeaderHash());
+        ConsensusHeader preBlock = consensusHeaders.get(block.getPreviousHeaderHash());
         if (preBlock == null) {
             logger.error("Previous block is null with hash {}!",
                     Hex.toHexString(block.getPreviousHeaderHash()));
             return false;
         }
-        long preBlockTime = ByteUtil.byteArrayToLong(preBlock.getTimestamp());
+        long preBlockTime = preBlock.getTimestamp();
 
         BigInteger targetValue = ProofOfTransaction.
                 calculateMinerTargetValue(block.getBaseTarget(), forgingPower, blockTime - preBlockTime);
@@ -837,6 +968,7 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
             }
         }
         long totalTime = System.nanoTime() - saveTime;
+        wrapTime.update(totalTime / 1000);
         logger.debug("wrap block: num: [{}] hash: [{}], executed after: [{}]nano", block.getNumber(), block.getShortHash(), totalTime);
     }
 
@@ -926,6 +1058,7 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
         cacheTrack = null;
 
         long totalTime = System.nanoTime() - saveTime;
+        applyTime.update(totalTime / 1000);
         logger.debug("apply block: num: [{}] hash: [{}], executed after: [{}]nano", block.getNumber(), block.getShortHash(), totalTime);
 
         return true;
@@ -942,6 +1075,10 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
         logger.debug("Block saved: number: {}, hash: {}, TD: {}",
                 block.getNumber(), block.getShortHash(), totalDifficulty);
 
+        if (txIndex != null && !fork) {
+            txIndex.addBlock(block);
+        }
+
         setBestBlock(block);
 
         if (logger.isDebugEnabled())
@@ -984,6 +1121,87 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
     public void close() {
         blockStore.flush();
         blockStore.close();
+        if (txIndex != null) {
+            txIndex.close();
+        }
+        if (undoStore != null) {
+            undoStore.close();
+        }
+    }
+
+    // Rolls the state changes of 'undoBlock' back into 'track', from its undo
+    // journal if there is one, else by executing its transactions backwards.
+    void disconnectBlock(Block undoBlock, Repository track) {
+        Repository cacheTrack = track.startTracking();
+        logger.info("Try to disconnect block, block number: {}, hash: {}",
+                undoBlock.getNumber(), Hex.toHexString(undoBlock.getHash()));
+
+        Map<ByteArrayWrapper, AccountState> preImages =
+                undoStore == null ? null : undoStore.get(undoBlock);
+        if (preImages != null) {
+            rewindBlock(undoBlock, preImages, cacheTrack);
+            cacheTrack.commit();
+            return;
+        }
+
+        logger.debug("before roll back.....");
+        cacheTrack.showRepositoryChange();
+        //roll back
+        List<Transaction> txs = undoBlock.getTransactionsList();
+        int size = txs.size();
+        for (int i = size - 1; i >= 0; i--) {
+            StakeHolderIdentityUpdate stakeHolderIdentityUpdate =
+                    new StakeHolderIdentityUpdate(txs.get(i), cacheTrack, undoBlock.getForgerAddress(), undoBlock.getNumber() - 1);
+            stakeHolderIdentityUpdate.rollbackStakeHolderIdentity();
+        }
+
+        for (int i = size - 1; i >= 0; i--) {
+            //roll back
+            TransactionExecutor executor = new TransactionExecutor(txs.get(i), cacheTrack, this, listener);
+            executor.setCoinbase(undoBlock.getForgerAddress());
+            executor.undoTransaction();
+        }
+        logger.debug("after roll back.....");
+        cacheTrack.showRepositoryChange();
+        cacheTrack.commit();
+
+        if(Hex.toHexString(undoBlock.getForgerAddress()).equals("847ca210e2b61e9722d1584fcc0daea4c3639b09")){
+            logger.warn("after undo special address forge power {} balance {}",
+                    track.getforgePower(undoBlock.getForgerAddress()),track.getBalance(undoBlock.getForgerAddress()));
+        }
+    }
+
+    // Returns the states, read from 'parent', the accounts changed in 'blockTrack'
+    // had before, null for an account that didn't exist.
+    private Map<ByteArrayWrapper, AccountState> capturePreImages(Repository blockTrack,
+            Repository parent) {
+        Map<ByteArrayWrapper, AccountState> preImages = new HashMap<>();
+        for (ByteArrayWrapper address : ((RepositoryTrack) blockTrack).getFullAddressSet()) {
+            byte[] addr = address.getData();
+            AccountState pre = parent.isExist(addr) ? parent.getAccountState(addr) : null;
+            AccountState post = blockTrack.getAccountState(addr);
+            if (pre != null && Arrays.equals(pre.getEncoded(), post.getEncoded())) {
+                // Only read by the block.
+                continue;
+            }
+            preImages.put(address, pre == null ? null : pre.clone());
+        }
+        return preImages;
+    }
+
+    // Puts back the states the accounts changed by 'block' had before it.
+    // Like the backward execution, an account the block created is left empty
+    // instead of deleted, a deleted state would stick if the new branch uses it.
+    private void rewindBlock(Block block, Map<ByteArrayWrapper, AccountState> preImages,
+            Repository cacheTrack) {
+        Map<ByteArrayWrapper, AccountState> states = new HashMap<>(preImages.size() * 2);
+        for (Map.Entry<ByteArrayWrapper, AccountState> entry : preImages.entrySet()) {
+            AccountState state = entry.getValue();
+            states.put(entry.getKey(), state == null ? new AccountState() : state);
+        }
+        cacheTrack.updateBatch(states);
+        logger.info("Rewound block {} from its undo journal, {} accounts",
+                block.getNumber(), states.size());
     }
 
     @Override
@@ -1100,8 +1318,10 @@ public class BlockchainImpl implements io.taucoin.facade.Blockchain {
         return block.getHash();
     }
 
+    // Not synchronized: the block store is safe for concurrent reads and
+    // serving peers mustn't wait for block import.
     @Override
-    public synchronized List<byte[]> getListOfBodiesByHashes(List<byte[]> hashes) {
+    public List<byte[]> getListOfBodiesByHashes(List<byte[]> hashes) {
         List<byte[]> bodies = new ArrayList<>(hashes.size());
 
         for (byte[] hash : hashes) {
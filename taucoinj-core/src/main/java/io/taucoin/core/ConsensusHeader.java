@@ -0,0 +1,76 @@
+package io.taucoin.core;
+
+import io.taucoin.util.ByteUtil;
+
+import java.math.BigInteger;
+
+/**
+ * The fields of a stored block the proof of transaction calculations
+ * read, kept apart from its transactions.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class ConsensusHeader {
+
+    private final byte[] hash;
+    private final byte[] parentHash;
+    private final long number;
+    private final long timestamp;
+    private final BigInteger baseTarget;
+    private final byte[] generationSignature;
+    private final BigInteger cumulativeDifficulty;
+    private final BigInteger cumulativeFee;
+
+    public ConsensusHeader(byte[] hash, byte[] parentHash, long number, long timestamp,
+            BigInteger baseTarget, byte[] generationSignature,
+            BigInteger cumulativeDifficulty, BigInteger cumulativeFee) {
+        this.hash = hash;
+        this.parentHash = parentHash;
+        this.number = number;
+        this.timestamp = timestamp;
+        this.baseTarget = baseTarget;
+        this.generationSignature = generationSignature;
+        this.cumulativeDifficulty = cumulativeDifficulty;
+        this.cumulativeFee = cumulativeFee;
+    }
+
+    public static ConsensusHeader of(Block block) {
+        return new ConsensusHeader(block.getHash(), block.getPreviousHeaderHash(),
+                block.getNumber(), ByteUtil.byteArrayToLong(block.getTimestamp()),
+                block.getBaseTarget(), block.getGenerationSignature(),
+                block.getCumulativeDifficulty(), block.getCumulativeFee());
+    }
+
+    public byte[] getHash() {
+        return hash;
+    }
+
+    public byte[] getParentHash() {
+        return parentHash;
+    }
+
+    public long getNumber() {
+        return number;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public BigInteger getBaseTarget() {
+        return baseTarget;
+    }
+
+    public byte[] getGenerationSignature() {
+        return generationSignature;
+    }
+
+    public BigInteger getCumulativeDifficulty() {
+        return cumulativeDifficulty;
+    }
+
+    public BigInteger getCumulativeFee() {
+        return cumulativeFee;
+    }
+}
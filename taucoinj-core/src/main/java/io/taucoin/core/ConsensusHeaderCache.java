@@ -0,0 +1,116 @@
+package io.taucoin.core;
+
+import io.taucoin.db.BlockStore;
+import io.taucoin.db.ByteArrayWrapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Least recently used {@link ConsensusHeader}s by block hash, loaded
+ * from the block store on a miss.
+ *
+ * Headers are keyed by hash and never change, so a re-branch doesn't
+ * invalidate any of them: the headers of both branches stay right.
+ * Connected blocks are put by the blockchain, so the parent and the few
+ * ancestors read for the next block are usually there.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class ConsensusHeaderCache {
+
+    private static final Logger logger = LoggerFactory.getLogger("blockchain");
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final BlockStore blockStore;
+
+    private final Map<ByteArrayWrapper, ConsensusHeader> headers;
+
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+
+    public ConsensusHeaderCache(BlockStore blockStore) {
+        this(blockStore, DEFAULT_CAPACITY);
+    }
+
+    public ConsensusHeaderCache(BlockStore blockStore, final int capacity) {
+        this.blockStore = blockStore;
+        this.headers = new LinkedHashMap<ByteArrayWrapper, ConsensusHeader>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteArrayWrapper, ConsensusHeader> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the header of the stored block with the given hash, or null.
+     */
+    public ConsensusHeader get(byte[] hash) {
+        ByteArrayWrapper key = new ByteArrayWrapper(hash);
+        synchronized (headers) {
+            ConsensusHeader header = headers.get(key);
+            if (header != null) {
+                hits.incrementAndGet();
+                return header;
+            }
+        }
+
+        misses.incrementAndGet();
+        Block block = blockStore.getBlockByHash(hash);
+        if (block == null) {
+            return null;
+        }
+
+        ConsensusHeader header = ConsensusHeader.of(block);
+        synchronized (headers) {
+            headers.put(key, header);
+        }
+        return header;
+    }
+
+    /**
+     * Returns the header of the parent of 'header', or null.
+     */
+    public ConsensusHeader getParent(ConsensusHeader header) {
+        return get(header.getParentHash());
+    }
+
+    /**
+     * Caches the header of a block just stored.
+     */
+    public ConsensusHeader put(Block block) {
+        ConsensusHeader header = ConsensusHeader.of(block);
+        synchronized (headers) {
+            headers.put(new ByteArrayWrapper(header.getHash()), header);
+        }
+        return header;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        synchronized (headers) {
+            return headers.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (headers) {
+            headers.clear();
+        }
+        logger.debug("Consensus header cache cleared");
+    }
+}
@@ -0,0 +1,380 @@
+package io.taucoin.core;
+
+import io.taucoin.db.ByteArrayWrapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.taucoin.util.BIUtil.isCovers;
+
+/**
+ * Wire transactions waiting to be forged, indexed by hash, by sender
+ * and in {@link MemoryPoolPolicy} order.
+ *
+ * Adding or removing a transaction takes O(log n) comparisons and is
+ * serialized on the pool. Its time still grows with the pool past a few
+ * thousand entries, as the indexes no longer fit in the CPU caches.
+ * Lookups by hash, size and the ordered transactions are read without lock
+ * from the concurrent indexes, they may miss changes made meanwhile.
+ *
+ * Per sender the pool keeps what its pooled transactions spend and their
+ * times, a transaction is only admitted if the sender balance covers all
+ * of them and no other pooled one of the sender has the same time.
+ *
+ * The pool is bounded by 'maxBytes' of entry sizes. When it is full a
+ * transaction is only admitted if evicting entries ranking below it in
+ * {@link MemoryPoolPolicy} order makes room. Every eviction raises the
+ * minimum admission fee above the evicted fee, the minimum then decays
+ * with 'minFeeHalfLife' so that it follows the fee pressure.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class MemoryPool {
+
+    private static final Logger logger = LoggerFactory.getLogger("state");
+
+    public enum Admission {
+        ADDED,
+        KNOWN,
+        DUPLICATE_TIME,
+        NO_BALANCE,
+        LOW_FEE,
+        POOL_FULL
+    }
+
+    private final MemoryPoolPolicy policy = new MemoryPoolPolicy();
+
+    private final long maxBytes;
+    private final long minFeeIncrement;
+    private final long minFeeHalfLife;
+
+    // Guarded by this. The minimum fee is decayed in place on every read,
+    // a double so that frequent reads don't truncate it away.
+    private long bytes = 0;
+    private double minFee = 0;
+    private long minFeeTime = 0;
+
+    private final AtomicLong evictions = new AtomicLong(0);
+    private final AtomicLong rejections = new AtomicLong(0);
+
+    // Bumped on every change of the pooled transactions.
+    private final AtomicLong version = new AtomicLong(0);
+
+    private final ConcurrentHashMap<ByteArrayWrapper, MemoryPoolEntry> byHash =
+            new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListSet<MemoryPoolEntry> byPolicy =
+            new ConcurrentSkipListSet<>(policy);
+
+    // Guarded by this.
+    private final Map<ByteArrayWrapper, SenderEntries> bySender = new HashMap<>();
+
+    private volatile RemovalListener removalListener;
+
+    /**
+     * Told of every entry leaving the pool, removed or evicted,
+     * while the pool is locked.
+     */
+    public interface RemovalListener {
+        void onRemoved(MemoryPoolEntry entry);
+    }
+
+    public MemoryPool() {
+        this(Long.MAX_VALUE, 0, 1);
+    }
+
+    public MemoryPool(long maxBytes, long minFeeIncrement, long minFeeHalfLife) {
+        this.maxBytes = maxBytes;
+        this.minFeeIncrement = minFeeIncrement;
+        this.minFeeHalfLife = Math.max(1, minFeeHalfLife);
+    }
+
+    public void setRemovalListener(RemovalListener removalListener) {
+        this.removalListener = removalListener;
+    }
+
+    public boolean contains(byte[] hash) {
+        return byHash.containsKey(new ByteArrayWrapper(hash));
+    }
+
+    public MemoryPoolEntry get(byte[] hash) {
+        return byHash.get(new ByteArrayWrapper(hash));
+    }
+
+    public int size() {
+        return byHash.size();
+    }
+
+    /**
+     * Returns a number changed by every add or remove, so that
+     * a reader can tell whether the pool changed since it last looked.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Returns the pooled transactions in {@link MemoryPoolPolicy} order.
+     */
+    public List<Transaction> getTransactions() {
+        return getTransactions(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the first 'max' pooled transactions in {@link MemoryPoolPolicy} order.
+     */
+    public List<Transaction> getTransactions(int max) {
+        List<Transaction> list = new ArrayList<>(Math.min(max, byHash.size()));
+        for (MemoryPoolEntry entry : byPolicy) {
+            if (list.size() >= max) {
+                break;
+            }
+            list.add(entry.tx);
+        }
+        return list;
+    }
+
+    /**
+     * Returns a snapshot of the pooled entries in {@link MemoryPoolPolicy} order.
+     */
+    public List<MemoryPoolEntry> getEntries() {
+        return new ArrayList<>(byPolicy);
+    }
+
+    /**
+     * Checks whether the transaction would be admitted, without adding it.
+     * 'senderBalance' is the balance of the transaction sender.
+     */
+    public synchronized Admission check(MemoryPoolEntry entry, BigInteger senderBalance) {
+        if (byHash.containsKey(entry.hash)) {
+            return Admission.KNOWN;
+        }
+        if (entry.fee < getMinFee()) {
+            return Admission.LOW_FEE;
+        }
+        if (bytes + entry.size > maxBytes && entriesToEvict(entry) == null) {
+            return Admission.POOL_FULL;
+        }
+
+        SenderEntries sender = bySender.get(entry.sender);
+        if (sender == null) {
+            return isCovers(senderBalance, entry.cost) ? Admission.ADDED : Admission.NO_BALANCE;
+        }
+        if (sender.times.contains(entry.buildTime)) {
+            return Admission.DUPLICATE_TIME;
+        }
+        if (!isCovers(senderBalance, sender.expend.add(entry.cost))) {
+            return Admission.NO_BALANCE;
+        }
+        return Admission.ADDED;
+    }
+
+    /**
+     * Adds the transaction if {@link #check} admits it. Only the fee and
+     * pool full refusals of add count as rejections, not the ones of
+     * checks made before.
+     */
+    public synchronized Admission add(MemoryPoolEntry entry, BigInteger senderBalance) {
+        Admission admission = check(entry, senderBalance);
+        if (admission == Admission.LOW_FEE || admission == Admission.POOL_FULL) {
+            rejections.incrementAndGet();
+        }
+        if (admission != Admission.ADDED) {
+            return admission;
+        }
+
+        if (bytes + entry.size > maxBytes) {
+            for (MemoryPoolEntry evicted : entriesToEvict(entry)) {
+                evict(evicted);
+            }
+        }
+
+        SenderEntries sender = bySender.get(entry.sender);
+        if (sender == null) {
+            sender = new SenderEntries();
+            bySender.put(entry.sender, sender);
+        }
+        sender.expend = sender.expend.add(entry.cost);
+        sender.times.add(entry.buildTime);
+
+        byHash.put(entry.hash, entry);
+        byPolicy.add(entry);
+        bytes += entry.size;
+        version.incrementAndGet();
+        return Admission.ADDED;
+    }
+
+    /**
+     * Removes the transaction with the given hash, returns its entry or null.
+     */
+    public synchronized MemoryPoolEntry remove(byte[] hash) {
+        MemoryPoolEntry entry = byHash.remove(new ByteArrayWrapper(hash));
+        if (entry == null) {
+            return null;
+        }
+
+        byPolicy.remove(entry);
+        bytes -= entry.size;
+        version.incrementAndGet();
+
+        SenderEntries sender = bySender.get(entry.sender);
+        if (sender != null) {
+            sender.expend = sender.expend.subtract(entry.cost);
+            sender.times.remove(entry.buildTime);
+            if (sender.times.isEmpty()) {
+                bySender.remove(entry.sender);
+            }
+        }
+
+        RemovalListener listener = removalListener;
+        if (listener != null) {
+            listener.onRemoved(entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Removes the given transactions, typically the ones of a connected block.
+     * Returns how many of them were pooled.
+     */
+    public synchronized int removeAll(List<Transaction> txs) {
+        int removed = 0;
+        for (Transaction tx : txs) {
+            if (remove(tx.getHash()) != null) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Returns what the pooled transactions of the sender spend.
+     */
+    public synchronized BigInteger getExpend(byte[] sender) {
+        SenderEntries entries = bySender.get(new ByteArrayWrapper(sender));
+        return entries == null ? BigInteger.ZERO : entries.expend;
+    }
+
+    public synchronized int getSenders() {
+        return bySender.size();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getRejections() {
+        return rejections.get();
+    }
+
+    /**
+     * Returns the fee a transaction must pay at least to be admitted.
+     */
+    public synchronized long getMinFee() {
+        if (minFee == 0) {
+            return 0;
+        }
+
+        long now = System.currentTimeMillis();
+        long halfLife = minFeeHalfLife;
+        if (bytes < maxBytes / 4) {
+            halfLife /= 4;
+        } else if (bytes < maxBytes / 2) {
+            halfLife /= 2;
+        }
+
+        long elapsed = now - minFeeTime;
+        if (elapsed > 0) {
+            minFee *= Math.pow(0.5, (double) elapsed / Math.max(1, halfLife));
+            minFeeTime = now;
+            if (minFee < Math.max(1, minFeeIncrement / 2.0)) {
+                minFee = 0;
+            }
+        }
+        return (long) minFee;
+    }
+
+    public synchronized void clear() {
+        RemovalListener listener = removalListener;
+        if (listener != null) {
+            for (MemoryPoolEntry entry : byHash.values()) {
+                listener.onRemoved(entry);
+            }
+        }
+        byHash.clear();
+        byPolicy.clear();
+        bySender.clear();
+        bytes = 0;
+        minFee = 0;
+        version.incrementAndGet();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "MemoryPool{size=" + size() + ", bytes=" + bytes + "/" + maxBytes
+                + ", senders=" + bySender.size() + ", minFee=" + getMinFee()
+                + ", evictions=" + getEvictions() + ", rejections=" + getRejections() + "}";
+    }
+
+    // Returns the lowest ranking entries to evict to make room for 'entry',
+    // or null if evicting the entries ranking below it isn't enough.
+    private List<MemoryPoolEntry> entriesToEvict(MemoryPoolEntry entry) {
+        List<MemoryPoolEntry> evicted = new ArrayList<>();
+        long freed = 0;
+        Iterator<MemoryPoolEntry> it = byPolicy.descendingIterator();
+        while (bytes - freed + entry.size > maxBytes) {
+            if (!it.hasNext()) {
+                return null;
+            }
+            MemoryPoolEntry lowest = it.next();
+            if (policy.compare(lowest, entry) < 0) {
+                return null;
+            }
+            evicted.add(lowest);
+            freed += lowest.size;
+        }
+        return evicted;
+    }
+
+    private void evict(MemoryPoolEntry entry) {
+        remove(entry.hash.getData());
+        evictions.incrementAndGet();
+
+        minFee = Math.max(getMinFee(), entry.fee + minFeeIncrement);
+        minFeeTime = System.currentTimeMillis();
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Evict tx {} fee {}, min fee {}",
+                    entry.hash, entry.fee, (long) minFee);
+        }
+    }
+
+    private static class SenderEntries {
+
+        BigInteger expend = BigInteger.ZERO;
+
+        // Build times of the pooled transactions of this sender.
+        final Set<Long> times = new HashSet<>();
+    }
+}
@@ -1,8 +1,11 @@
 package io.taucoin.core;
 
+import io.taucoin.db.ByteArrayWrapper;
 import io.taucoin.util.ByteUtil;
 import org.slf4j.*;
 
+import java.math.BigInteger;
+
 /**
  * Transaction wrapper in tx memory pool entry.
  */
@@ -10,14 +13,33 @@ public class MemoryPoolEntry {
 
     private static final Logger log = LoggerFactory.getLogger(MemoryPoolEntry.class);
 
+    // Entry, index nodes and keys.
+    private static final int ENTRY_OVERHEAD = 256;
+
     public Transaction tx;
     public long buildTime;
     public long fee;
 
+    // Keys of the memory pool indexes, computed once.
+    public final ByteArrayWrapper hash;
+    public final ByteArrayWrapper sender;
+    public final BigInteger cost;
+
+    // Rough memory used by the entry: the encoded transaction and the decoded one.
+    public final int size;
+
+    // Where TransactionExpiryIndex keeps the entry, guarded by the index.
+    long expiryKey;
+    boolean expiryWaiting;
+
     public MemoryPoolEntry(Transaction tx) {
         this.tx = tx;
         this.buildTime = ByteUtil.byteArrayToLong(tx.getTime());
         this.fee = ByteUtil.byteArrayToLong(tx.getFee());
+        this.hash = new ByteArrayWrapper(tx.getHash());
+        this.sender = new ByteArrayWrapper(tx.getSender());
+        this.cost = tx.getTotoalCost();
+        this.size = tx.getEncoded().length * 2 + ENTRY_OVERHEAD;
     }
 
     public static MemoryPoolEntry with(Transaction tx) {
@@ -27,7 +49,7 @@ public class MemoryPoolEntry {
     
     @Override
     public int hashCode(){
-        return this.tx.hashCode();
+        return this.hash.hashCode();
     }
 
     @Override
@@ -35,8 +57,7 @@ public class MemoryPoolEntry {
         if (entry == null) return false;
         if (entry instanceof MemoryPoolEntry) {
             MemoryPoolEntry tempEntry = (MemoryPoolEntry)entry;
-            if (this.hashCode() == tempEntry.hashCode())
-                return true;
+            return this.hash.equals(tempEntry.hash);
         }
         return false;
     }
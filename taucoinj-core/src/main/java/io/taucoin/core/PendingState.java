@@ -38,6 +38,11 @@ public interface PendingState extends io.taucoin.facade.PendingState{
 
     void setBlockchain(Blockchain blockchain);
 
+    /**
+     * Returns the pool of wire transactions.
+     */
+    MemoryPool getMemoryPool();
+
     /**
      * Fires inner logic related to main sync done event
      */
@@ -5,6 +5,8 @@ import io.taucoin.db.BlockStore;
 import io.taucoin.listener.CompositeTaucoinListener;
 import io.taucoin.listener.TaucoinListener;
 import io.taucoin.listener.TaucoinListenerAdapter;
+import io.taucoin.metrics.Gauge;
+import io.taucoin.metrics.Metrics;
 import io.taucoin.util.ByteUtil;
 import io.taucoin.db.ByteArrayWrapper;
 
@@ -18,8 +20,7 @@ import javax.annotation.Resource;
 import javax.inject.Singleton;
 import javax.inject.Inject;
 
-import org.apache.commons.collections4.map.LRUMap;
-
+import static io.taucoin.config.SystemProperties.CONFIG;
 import static io.taucoin.util.BIUtil.*;
 
 
@@ -41,12 +42,15 @@ public class PendingStateImpl implements PendingState {
     private static final int MaxExpireTime = 144;
     private static final int MAXTNO= 50;
     private boolean isSyncdone = false;
-    @Resource
-    private final PriorityQueue<MemoryPoolEntry> wireTransactions = new PriorityQueue<MemoryPoolEntry>(1,new MemoryPoolPolicy());
 
-    private final Map<String, BigInteger> expendList = new LRUMap<String, BigInteger>(50000);
+    // Indexed by hash and sender, it also keeps what each sender's
+    // pooled transactions spend and their times. Bounded in memory,
+    // low fee transactions are evicted when it is full.
+    private final MemoryPool wireTransactions = new MemoryPool(CONFIG.memPoolMaxBytes(),
+            CONFIG.memPoolMinFeeIncrement(), CONFIG.memPoolMinFeeHalfLife());
 
-    private final Map<String, HashSet<Long>> particleTx = new HashMap<>(50);
+    // Pooled entries by the height at which they become stale.
+    private TransactionExpiryIndex expiryIndex;
 
     private Repository pendingState;
 
@@ -68,6 +72,47 @@ public class PendingStateImpl implements PendingState {
         ((CompositeTaucoinListener)this.listener).addListener(ProcessBlockListener);
         this.repository = repository;
         this.blockStore = blockStore;
+        this.expiryIndex = new TransactionExpiryIndex(blockStore, MaxExpireTime * 2);
+        wireTransactions.setRemovalListener(new MemoryPool.RemovalListener() {
+            @Override
+            public void onRemoved(MemoryPoolEntry entry) {
+                expiryIndex.remove(entry);
+            }
+        });
+        registerGauges();
+    }
+
+    private void registerGauges() {
+        Metrics.gauge("pool.transactions", new Gauge() {
+            @Override
+            public long getValue() {
+                return wireTransactions.size();
+            }
+        });
+        Metrics.gauge("pool.senders", new Gauge() {
+            @Override
+            public long getValue() {
+                return wireTransactions.getSenders();
+            }
+        });
+        Metrics.gauge("pool.bytes", new Gauge() {
+            @Override
+            public long getValue() {
+                return wireTransactions.getBytes();
+            }
+        });
+        Metrics.gauge("pool.evictions", new Gauge() {
+            @Override
+            public long getValue() {
+                return wireTransactions.getEvictions();
+            }
+        });
+        Metrics.gauge("pool.rejections", new Gauge() {
+            @Override
+            public long getValue() {
+                return wireTransactions.getRejections();
+            }
+        });
     }
 
     @Override
@@ -88,16 +133,12 @@ public class PendingStateImpl implements PendingState {
      * @return
      */
     public List<Transaction> getWireTransactions() {
+        return wireTransactions.getTransactions();
+    }
 
-        List<Transaction> list = new ArrayList<Transaction>();
-
-        synchronized (wireTransactions) {
-            for(MemoryPoolEntry entry : wireTransactions){
-                list.add(entry.tx);
-            }
-        }
-
-        return list;
+    @Override
+    public MemoryPool getMemoryPool() {
+        return wireTransactions;
     }
 
     public Block getBestBlock() {
@@ -117,24 +158,29 @@ public class PendingStateImpl implements PendingState {
 
         logger.info("From network coming TXs: {} " + transactions.size());
 
+        TransactionSenderRecoverer.recoverSenders(transactions);
+
         for (Transaction tx : transactions) {
-            if (addNewTxIfNotExist(tx)) {
-                if (isValid(tx)) {
-                    newTxs.add(tx);
-                    unknownTx++;
-                }
-                if(unknownTx >= MAXTNO){
-                    break;
-                }
+            if (tx.getSender() == null) {
+                tx.TRANSACTION_STATUS = "Invalid transaction in structure";
+                continue;
             }
-        }
 
-        // tight synchronization here since a lot of duplicate transactions can arrive from many peers
-        // and isValid(tx) call is very expensive
-        synchronized (wireTransactions) {
-            for(Transaction tx : newTxs) {
-                MemoryPoolEntry entry = MemoryPoolEntry.with(tx);
-                wireTransactions.offer(entry);
+            MemoryPoolEntry entry = MemoryPoolEntry.with(tx);
+            // Cheap pool checks first since a lot of duplicate transactions can arrive
+            // from many peers and isValid(tx) call is very expensive, then add checks
+            // again as another thread may have added a transaction meanwhile.
+            if (admit(entry, false) && isValid(tx) && admit(entry, true)) {
+                expiryIndex.add(entry, blockchain.getBestBlock());
+                // Evicted before it was indexed, the listener missed it.
+                if (wireTransactions.get(entry.hash.getData()) != entry) {
+                    expiryIndex.remove(entry);
+                }
+                newTxs.add(tx);
+                unknownTx++;
+            }
+            if(unknownTx >= MAXTNO){
+                break;
             }
         }
 
@@ -175,9 +221,9 @@ public class PendingStateImpl implements PendingState {
         }
 
         long unlockTime = blockchain.getBestBlock().getNumber() - expireTime;
-        Block benchBlock = null;
+        long benchTime = Long.MIN_VALUE;
         if(unlockTime >= 0) {
-            benchBlock = blockStore.getChainBlockByNumber(unlockTime);
+            benchTime = expiryIndex.timestampAt(unlockTime);
         }else{
             /**
              * this behavior is dangerous , whether node should prevent this into wire transaction pool.
@@ -188,7 +234,8 @@ public class PendingStateImpl implements PendingState {
                     ByteUtil.byteArrayToLong(tx.getExpireTime()));
         }
 
-        if(benchBlock != null && !tx.checkTime(benchBlock)) {
+        // Same rule as Transaction.checkTime, the recent block timestamps are cached.
+        if(unlockTime >= 0 && benchTime != Long.MAX_VALUE && benchTime > txTime) {
             if (logger.isWarnEnabled())
                 logger.warn("Invalid transaction in time");
             tx.TRANSACTION_STATUS = "Invalid transaction in time";
@@ -200,53 +247,34 @@ public class PendingStateImpl implements PendingState {
         return executor.init();
     }
 
-    private boolean addNewTxIfNotExist(Transaction tx) {
-        ByteArrayWrapper hash = new ByteArrayWrapper(tx.getHash());
-
-        //update transaction balance list
-        synchronized (expendList) {
-            String senderTmp= ByteUtil.toHexString(tx.getSender());
-            if (!expendList.containsKey(senderTmp)) {
-                expendList.put(senderTmp, tx.getTotoalCost());
-            } else {
-                expendList.put(senderTmp, expendList.get(senderTmp).add(tx.getTotoalCost()));
-            }
+    private boolean admit(MemoryPoolEntry entry, boolean add) {
+        BigInteger senderBalance = getRepository().getBalance(entry.tx.getSender());
+        MemoryPool.Admission admission = add ? wireTransactions.add(entry, senderBalance)
+                : wireTransactions.check(entry, senderBalance);
 
-            BigInteger senderBalance = getRepository().getBalance(tx.getSender());
-            if (!isCovers(senderBalance, expendList.get(senderTmp))) {
+        switch (admission) {
+            case KNOWN:
+                logger.info("Transaction into pool, already have txHash");
+                return false;
+            case DUPLICATE_TIME:
+                logger.info("Transaction into pool, already have txTime");
+                return false;
+            case NO_BALANCE:
                 logger.info("Transaction into pool, no enough balance");
-                tx.TRANSACTION_STATUS = "sorry,No enough balance";
+                entry.tx.TRANSACTION_STATUS = "sorry,No enough balance";
                 return false;
-            }
-        }
-
-        synchronized (particleTx) {
-            String senderTmp = ByteUtil.toHexString(tx.getSender());
-            long txTime = ByteUtil.byteArrayToLong(tx.getTime());
-            if (!particleTx.containsKey(senderTmp)) {
-                HashSet<Long> hashSet = new HashSet<>();
-                particleTx.put(senderTmp,hashSet);
-            } else {
-                HashSet<Long> hashSet = particleTx.get(senderTmp);
-                if (hashSet.contains(txTime)) {
-                    logger.info("Transaction into pool, already have txTime");
-                    return false;
-                } else {
-                    hashSet.add(txTime);
-                }
-            }
-        }
-
-        // wire transactionś job 
-        synchronized (wireTransactions) {
-            MemoryPoolEntry entry = new MemoryPoolEntry(tx);
-            if (wireTransactions.contains(entry)){
-                logger.info("Transaction into pool, already have txHash");
+            case LOW_FEE:
+                logger.info("Transaction into pool, fee {} below pool min fee {}",
+                        entry.fee, wireTransactions.getMinFee());
+                entry.tx.TRANSACTION_STATUS = "sorry,fee is too low, pool is full";
                 return false;
-            }
+            case POOL_FULL:
+                logger.info("Transaction into pool, pool is full");
+                entry.tx.TRANSACTION_STATUS = "sorry,fee is too low, pool is full";
+                return false;
+            default:
+                return true;
         }
-
-		return true;
     }
 
     @Override
@@ -254,82 +282,23 @@ public class PendingStateImpl implements PendingState {
 
         clearWireTransactions(block.getTransactionsList());
 
-        clearOutdatedTransactions();
+        clearOutdatedTransactions(block);
 
-        clearParticleTx(block.getTransactionsList());
+        logger.info("Wire transactions pool {}", wireTransactions);
     }
 
-    // Remove wire transactions in block
+    // Remove wire transactions in block, their senders' spending and times go with them.
     private void clearWireTransactions(List<Transaction> txs) {
-        synchronized (wireTransactions) {
-            for (Transaction tx : txs) {
-                MemoryPoolEntry entry = new MemoryPoolEntry(tx);
-                if (wireTransactions.contains(entry)){
-                    wireTransactions.remove(entry);
-                }
-                removeExpendList(tx);
-            }
-        }
+        wireTransactions.removeAll(txs);
     }
 
-    //Block Number -> Time
-    private void clearOutdatedTransactions() {
-
-        //clear wired transactions
-        synchronized (wireTransactions) {
-            Iterator<MemoryPoolEntry> iterator = wireTransactions.iterator();
-            while(iterator.hasNext()){
-                MemoryPoolEntry entry = iterator.next();
-                long expireTime = ByteUtil.byteArrayToLong(entry.tx.getExpireTime());
-                long unlockTime = blockchain.getBestBlock().getNumber() - expireTime;
-                Block benchBlock = null;
-                if(unlockTime >= 0) {
-                    benchBlock = blockStore.getChainBlockByNumber(unlockTime);
-                }else{
-                    /**
-                     * if user set a large expire time , this behavior may be harmful to net
-                     * in the future, more actions will be get to protect net from hack.
-                     */
-                    logger.warn("dangerous behavior expire " +
-                            "time too long tx:{} expire time:{}",
-                            ByteUtil.toHexString(entry.tx.getHash()),
-                            ByteUtil.byteArrayToLong(entry.tx.getExpireTime()));
-                }
-                if (benchBlock != null && !entry.tx.checkTime(benchBlock) ) {
-                    removeExpendList(entry.tx);
-                    iterator.remove();
-                }
-            }
-
-        }
-    }
-
-    private void clearParticleTx(List<Transaction> txs) {
-        synchronized (particleTx) {
-            for (Transaction tx : txs) {
-                String senderTmp = ByteUtil.toHexString(tx.getSender());
-                long txTime = ByteUtil.byteArrayToLong(tx.getTime());
-                if (particleTx.containsKey(senderTmp)) {
-                    HashSet<Long> hashSet = particleTx.get(senderTmp);
-                    if (hashSet.contains(txTime)) {
-                        hashSet.remove(txTime);
-                    }
-                }
-            }
-        }
-    }
-
-    /*
-     * Transaction execution, which can be seen in transactionExecutor.java
-     * 1. validation of sender's balance, subtract
-    */
-    private void removeExpendList(Transaction tx) {
-        
-        //update transaction balance list
-        synchronized (expendList) {
-            String senderTmp= ByteUtil.toHexString(tx.getSender());
-            if(expendList.containsKey(senderTmp)) {
-                expendList.put(senderTmp, expendList.get(senderTmp).add(tx.getTotoalCost().negate()));
+    // Remove the wire transactions stale at this block, only their expiry bucket is read.
+    private void clearOutdatedTransactions(Block block) {
+        for (MemoryPoolEntry entry : expiryIndex.connect(block)) {
+            // The entry may have been removed, or re-added, since it was indexed.
+            if (wireTransactions.get(entry.hash.getData()) == entry) {
+                wireTransactions.remove(entry.hash.getData());
+                logger.debug("Remove outdated tx {}", entry.hash);
             }
         }
     }
@@ -345,10 +314,6 @@ public class PendingStateImpl implements PendingState {
 
     @Override
     public int size() {
-
-        synchronized (wireTransactions) {
-            return wireTransactions.size();
-        }
-
+        return wireTransactions.size();
     }
 }
@@ -40,9 +40,39 @@ public class ProofOfTransaction {
             logger.error("Can not find ancestor block, block number:" + (blockNumber - 3));
         }
 
-        BigInteger previousBlockBaseTarget = previousBlock.getBaseTarget();
-        long pastTimeFromLatestBlock = new BigInteger(previousBlock.getTimestamp()).longValue() -
-                new BigInteger(ancestor3.getTimestamp()).longValue();
+        return calculateRequiredBaseTarget(previousBlock.getBaseTarget(),
+                new BigInteger(previousBlock.getTimestamp()).longValue(),
+                new BigInteger(ancestor3.getTimestamp()).longValue());
+    }
+
+    /**
+     * get required base target from the cached consensus headers
+     * @param previousHeader
+     * @param headers
+     * @return
+     */
+    public static BigInteger calculateRequiredBaseTarget(ConsensusHeader previousHeader,
+            ConsensusHeaderCache headers) {
+        long blockNumber = previousHeader.getNumber();
+        if(blockNumber <= 3) {
+            return (new BigInteger("369D0369D036978",16));
+        }
+
+        ConsensusHeader ancestor3 = previousHeader;
+        for (int i = 0; i < 3 && ancestor3 != null; i++) {
+            ancestor3 = headers.getParent(ancestor3);
+        }
+        if (ancestor3 == null) {
+            logger.error("Can not find ancestor block, block number:" + (blockNumber - 3));
+        }
+
+        return calculateRequiredBaseTarget(previousHeader.getBaseTarget(),
+                previousHeader.getTimestamp(), ancestor3.getTimestamp());
+    }
+
+    private static BigInteger calculateRequiredBaseTarget(BigInteger previousBlockBaseTarget,
+            long previousTime, long ancestor3Time) {
+        long pastTimeFromLatestBlock = previousTime - ancestor3Time;
 
         if (pastTimeFromLatestBlock < 0)
             pastTimeFromLatestBlock = 0;
@@ -5,9 +5,8 @@ import io.taucoin.crypto.ECKey.ECDSASignature;
 import io.taucoin.crypto.ECKey.MissingPrivateKeyException;
 import io.taucoin.crypto.HashUtil;
 import io.taucoin.util.ByteUtil;
-import io.taucoin.util.RLP;
-import io.taucoin.util.RLPElement;
-import io.taucoin.util.RLPList;
+import io.taucoin.util.RLPReader;
+import io.taucoin.util.RLPWriter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,6 +17,7 @@ import org.spongycastle.util.encoders.Hex;
 import java.math.BigInteger;
 import java.security.SignatureException;
 import java.util.ArrayList;
+import java.util.List;
 
 import static io.taucoin.util.ByteUtil.*;
 import static org.apache.commons.lang3.ArrayUtils.isEmpty;
@@ -90,11 +90,14 @@ public class Transaction {
 
     /* Tx in encoded form */
     protected byte[] rlpEncoded;
-    private byte[] rlpEncodedSig = null;
     private byte[] rlpEncodedHash = null;
     private byte[] rlpEncodedCache = null;
     private byte[] rlpRaw;
     private byte[] rlpEncodedComposite;
+    // Memoized parts of the encodings above, see getFieldsEncoded()
+    // and getSignatureEncoded().
+    private byte[] rlpFields = null;
+    private byte[] rlpSignature = null;
     private boolean isCompositeTx = false;
 
     /* Indicates if this transaction has been parsed
@@ -257,92 +260,57 @@ public class Transaction {
     }  
 
     public void rlpParse() {
-        if (!isCompositeTx) {
-            RLPList decodedTxList = RLP.decode2(rlpEncoded);
-            RLPList transaction = (RLPList) decodedTxList.get(0);
-//            logger.info("pure transaction item size is {}", transaction.size());
-            this.version = transaction.get(0).getRLPData() == null ? (byte) 0 : transaction.get(0).getRLPData()[0];
-            //logger.info("item version is {}",(int)this.version);
-            //logger.info("item option size is {}",transaction.get(1) == null ? 0 : transaction.get(1).getRLPData().length);
-            this.option = transaction.get(1).getRLPData() == null ? (byte) 0 : transaction.get(1).getRLPData()[0];
-            this.timeStamp = transaction.get(2).getRLPData();
-            //logger.info("item timestamp is {}",ByteUtil.byteArrayToLong(this.timeStamp));
-            this.toAddress = transaction.get(3).getRLPData();
-            this.amount = transaction.get(4).getRLPData();
-            this.fee = transaction.get(5).getRLPData();
-            this.expireTime = transaction.get(6).getRLPData();
-
-            // only parse signature in case tx is signed
-            if (transaction.get(7).getRLPData() != null) {
-                byte v = transaction.get(7).getRLPData()[0];
-                byte[] r = transaction.get(8).getRLPData();
-                byte[] s = transaction.get(9).getRLPData();
-                this.signature = ECDSASignature.fromComponents(r, s, v);
-            } else {
-                logger.debug("RLP encoded tx is not signed!");
+        RLPReader transaction = RLPReader.ofList(isCompositeTx ? rlpEncodedComposite : rlpEncoded);
+
+        this.version = transaction.nextItem().getByte();
+        this.option = transaction.nextItem().getByte();
+        this.timeStamp = transaction.nextItem().getBytes();
+        this.toAddress = transaction.nextItem().getBytes();
+        this.amount = transaction.nextItem().getBytes();
+        this.fee = transaction.nextItem().getBytes();
+        this.expireTime = transaction.nextItem().getBytes();
+
+        if (isCompositeTx) {
+            this.senderWitnessAddress = transaction.nextItem().getBytes();
+            this.receiverWitnessAddress = transaction.nextItem().getBytes();
+
+            RLPReader senderList = transaction.nextItem().list();
+            while (senderList.next()) {
+                this.senderAssociatedAddress.add(senderList.getBytes());
             }
 
-            /**
-             * a<item></>
-             * transaction from memory pool hasn't contained sendAddress
-             * transaction from block synced has contained sendAddress.
-             * e<item></>
-             * transaction from block mined by self hasn't contained senderAddress
-             */
-            if (transaction.size() > 10) {
-                this.sendAddress = transaction.get(10).getRLPData();
+            RLPReader receiverList = transaction.nextItem().list();
+            while (receiverList.next()) {
+                this.receiverAssociatedAddress.add(receiverList.getBytes());
             }
+        }
 
+        // only parse signature in case tx is signed
+        if (!transaction.nextItem().isEmpty()) {
+            byte v = transaction.getByte();
+            byte[] r = transaction.nextItem().getBytes();
+            byte[] s = transaction.nextItem().getBytes();
+            this.signature = ECDSASignature.fromComponents(r, s, v);
         } else {
-            RLPList decodedTxList = RLP.decode2(rlpEncodedComposite);
-            RLPList transaction = (RLPList) decodedTxList.get(0);
-//            logger.info("composite transaction item size is {}", transaction.size());
-            this.version = transaction.get(0).getRLPData() == null ? (byte) 0 : transaction.get(0).getRLPData()[0];
-            //logger.info("item version is {}",(int)this.version);
-            //logger.info("item option size is {}",transaction.get(1) == null ? 0 : transaction.get(1).getRLPData().length);
-            this.option = transaction.get(1).getRLPData() == null ? (byte) 0 : transaction.get(1).getRLPData()[0];
-            this.timeStamp = transaction.get(2).getRLPData();
-            //logger.info("item timestamp is {}",ByteUtil.byteArrayToLong(this.timeStamp));
-            this.toAddress = transaction.get(3).getRLPData();
-            this.amount = transaction.get(4).getRLPData();
-            this.fee = transaction.get(5).getRLPData();
-            this.expireTime = transaction.get(6).getRLPData();
-            this.senderWitnessAddress = transaction.get(7).getRLPData();
-            this.receiverWitnessAddress = transaction.get(8).getRLPData();
-
-            RLPList senderList = (RLPList) transaction.get(9);
-            if (senderList != null) {
-                for (RLPElement senderAssociate : senderList) {
-                    this.senderAssociatedAddress.add(senderAssociate.getRLPData());
-                }
-            }
-
-            RLPList receiverList = (RLPList) transaction.get(10);
-            if (receiverList != null) {
-                for (RLPElement receiverAssociate : receiverList) {
-                    this.receiverAssociatedAddress.add(receiverAssociate.getRLPData());
-                }
-            }
-
-            // only parse signature in case tx is signed
-            if (transaction.get(11).getRLPData() != null) {
-                byte v = transaction.get(11).getRLPData()[0];
-                byte[] r = transaction.get(12).getRLPData();
-                byte[] s = transaction.get(13).getRLPData();
-                this.signature = ECDSASignature.fromComponents(r, s, v);
-            } else {
-                logger.debug("RLP encoded tx is not signed!");
-            }
+            logger.debug("RLP encoded tx is not signed!");
+            // skip the empty r and s
+            transaction.next();
+            transaction.next();
+        }
 
-            /**
-             * b<item></>
-             * transaction from block stored local disk
-             *   1,up to now this hasn't contained senderAddress.
-             *   2,current this has contained senderAddress.
-             */
-            if (transaction.size() > 14) {
-                this.sendAddress = transaction.get(14).getRLPData();
-            }
+        /**
+         * a<item></>
+         * transaction from memory pool hasn't contained sendAddress
+         * transaction from block synced has contained sendAddress.
+         * e<item></>
+         * transaction from block mined by self hasn't contained senderAddress
+         * b<item></>
+         * transaction from block stored local disk
+         *   1,up to now this hasn't contained senderAddress.
+         *   2,current this has contained senderAddress.
+         */
+        if (transaction.next()) {
+            this.sendAddress = transaction.getBytes();
         }
         this.parsed = true;
     }
@@ -451,7 +419,7 @@ public class Transaction {
         if (!parsed) rlpParse();
         try {
             if (sendAddress == null) {
-                ECKey key = ECKey.signatureToKey(getRawHash(), getSignature().toBase64());
+                ECKey key = ECKey.signatureToKey(getRawHash(), getSignature());
                 sendAddress = key.getAddress();
             }
             return sendAddress;
@@ -461,11 +429,26 @@ public class Transaction {
         return null;
     }
 
+    /**
+     * Whether sender address is known without public key recovery.
+     */
+    boolean hasSender() {
+        return sendAddress != null;
+    }
+
     public void sign(byte[] privKeyBytes) throws MissingPrivateKeyException {
         byte[] hash = this.getRawHash();
         ECKey key = ECKey.fromPrivate(privKeyBytes).decompress();
         this.signature = key.sign(hash);
+        // Drop the encodings holding the signature.
         this.rlpEncoded = null;
+        this.rlpEncodedHash = null;
+        this.rlpEncodedCache = null;
+        if (!isCompositeTx) {
+            this.rlpEncodedComposite = null;
+        }
+        this.rlpSignature = null;
+        this.hash = null;
     }
 
     @Override
@@ -493,16 +476,12 @@ public class Transaction {
 
         if (!parsed) rlpParse();
         if (rlpRaw != null) return rlpRaw;
-        byte[] version = RLP.encodeByte(this.version);
-        byte[] option = RLP.encodeByte(this.option);
-        byte[] timeStamp = RLP.encodeElement(this.timeStamp);
-        byte[] toAddress = RLP.encodeElement(this.toAddress);
-        byte[] amount = RLP.encodeElement(this.amount);
-        byte[] fee = RLP.encodeElement(this.fee);
-        byte[] expireTime = RLP.encodeElement(this.expireTime);
-
-        rlpRaw = RLP.encodeList(version, option, timeStamp, toAddress,
-                amount, fee,expireTime);
+
+        byte[] fields = getFieldsEncoded();
+        rlpRaw = new RLPWriter(RLPWriter.listSize(fields.length))
+                .writeListHeader(fields.length)
+                .writeEncoded(fields)
+                .toByteArray();
         return rlpRaw;
     }
 
@@ -516,34 +495,13 @@ public class Transaction {
         if (!parsed) rlpParse();
         if (rlpEncoded != null) return rlpEncoded;
 
-        byte[] version = RLP.encodeByte(this.version);
-        byte[] option = RLP.encodeByte(this.option);
-        byte[] timeStamp = RLP.encodeElement(this.timeStamp);
-        byte[] toAddress = RLP.encodeElement(this.toAddress);
-        byte[] amount = RLP.encodeElement(this.amount);
-        byte[] fee = RLP.encodeElement(this.fee);
-        byte[] expireTime = RLP.encodeElement(this.expireTime);
-
-        byte[] v, r, s;
-
-        if (signature != null) {
-            v = RLP.encodeByte(signature.v);
-            r = RLP.encodeElement(BigIntegers.asUnsignedByteArray(signature.r));
-            s = RLP.encodeElement(BigIntegers.asUnsignedByteArray(signature.s));
-        } else {
-            v = RLP.encodeElement(EMPTY_BYTE_ARRAY);
-            r = RLP.encodeElement(EMPTY_BYTE_ARRAY);
-            s = RLP.encodeElement(EMPTY_BYTE_ARRAY);
-        }
-
         /**
          * c<item></>
          * transaction that is built local node hasn't contained senderAddress
          * transaction that included in block forged by self hasn't contained
          * senderAddress,so nothing to do...
          */
-        this.rlpEncoded = RLP.encodeList(version, option, timeStamp,
-                toAddress, amount, fee, expireTime, v, r, s);
+        this.rlpEncoded = getEncodedHash();
 
         return rlpEncoded;
     }
@@ -552,94 +510,46 @@ public class Transaction {
         if (!parsed) rlpParse();
         if (rlpEncodedCache != null) return rlpEncodedCache;
 
-        byte[] version = RLP.encodeByte(this.version);
-        byte[] option = RLP.encodeByte(this.option);
-        byte[] timeStamp = RLP.encodeElement(this.timeStamp);
-        byte[] toAddress = RLP.encodeElement(this.toAddress);
-        byte[] amount = RLP.encodeElement(this.amount);
-        byte[] fee = RLP.encodeElement(this.fee);
-        byte[] expireTime = RLP.encodeElement(this.expireTime);
-
-        byte[] v, r, s;
-
-        if (signature != null) {
-            v = RLP.encodeByte(signature.v);
-            r = RLP.encodeElement(BigIntegers.asUnsignedByteArray(signature.r));
-            s = RLP.encodeElement(BigIntegers.asUnsignedByteArray(signature.s));
-        } else {
-            v = RLP.encodeElement(EMPTY_BYTE_ARRAY);
-            r = RLP.encodeElement(EMPTY_BYTE_ARRAY);
-            s = RLP.encodeElement(EMPTY_BYTE_ARRAY);
-        }
         /**
          * because this cache is turboing ,it should be saved in block
          */
         if (sendAddress == null) {
             this.sendAddress = getSender();
         }
-        byte[] sendAddress = RLP.encodeElement(this.sendAddress);
-        this.rlpEncodedCache = RLP.encodeList(version, option, timeStamp,
-                toAddress, amount, fee, expireTime, v, r, s,sendAddress);
+
+        byte[] fields = getFieldsEncoded();
+        byte[] signature = getSignatureEncoded();
+        int size = fields.length + signature.length + RLPWriter.elementSize(this.sendAddress);
+        this.rlpEncodedCache = new RLPWriter(RLPWriter.listSize(size))
+                .writeListHeader(size)
+                .writeEncoded(fields)
+                .writeEncoded(signature)
+                .writeElement(this.sendAddress)
+                .toByteArray();
 
         return rlpEncodedCache;
     }
 
+    /**
+     * The encoding signed by the block signature, the same as
+     * {@link #getEncodedHash()}.
+     */
     public byte[] getEncodeForSig() {
-        if (!parsed) rlpParse();
-        if (rlpEncodedSig != null) return rlpEncodedSig;
-
-        byte[] version = RLP.encodeByte(this.version);
-        byte[] option = RLP.encodeByte(this.option);
-        byte[] timeStamp = RLP.encodeElement(this.timeStamp);
-        byte[] toAddress = RLP.encodeElement(this.toAddress);
-        byte[] amount = RLP.encodeElement(this.amount);
-        byte[] fee = RLP.encodeElement(this.fee);
-        byte[] expireTime = RLP.encodeElement(this.expireTime);
-
-        byte[] v, r, s;
-
-        if (signature != null) {
-            v = RLP.encodeByte(signature.v);
-            r = RLP.encodeElement(BigIntegers.asUnsignedByteArray(signature.r));
-            s = RLP.encodeElement(BigIntegers.asUnsignedByteArray(signature.s));
-        } else {
-            v = RLP.encodeElement(EMPTY_BYTE_ARRAY);
-            r = RLP.encodeElement(EMPTY_BYTE_ARRAY);
-            s = RLP.encodeElement(EMPTY_BYTE_ARRAY);
-        }
-
-        this.rlpEncodedSig = RLP.encodeList(version, option, timeStamp,
-                toAddress, amount, fee, expireTime, v, r, s);
-
-        return rlpEncodedSig;
+        return getEncodedHash();
     }
 
     public byte[] getEncodedHash() {
         if (!parsed) rlpParse();
         if (rlpEncodedHash != null) return rlpEncodedHash;
 
-        byte[] version = RLP.encodeByte(this.version);
-        byte[] option = RLP.encodeByte(this.option);
-        byte[] timeStamp = RLP.encodeElement(this.timeStamp);
-        byte[] toAddress = RLP.encodeElement(this.toAddress);
-        byte[] amount = RLP.encodeElement(this.amount);
-        byte[] fee = RLP.encodeElement(this.fee);
-        byte[] expireTime = RLP.encodeElement(this.expireTime);
-
-        byte[] v, r, s;
-
-        if (signature != null) {
-            v = RLP.encodeByte(signature.v);
-            r = RLP.encodeElement(BigIntegers.asUnsignedByteArray(signature.r));
-            s = RLP.encodeElement(BigIntegers.asUnsignedByteArray(signature.s));
-        } else {
-            v = RLP.encodeElement(EMPTY_BYTE_ARRAY);
-            r = RLP.encodeElement(EMPTY_BYTE_ARRAY);
-            s = RLP.encodeElement(EMPTY_BYTE_ARRAY);
-        }
-
-        this.rlpEncodedHash = RLP.encodeList(version, option, timeStamp,
-                toAddress, amount, fee, expireTime, v, r, s);
+        byte[] fields = getFieldsEncoded();
+        byte[] signature = getSignatureEncoded();
+        int size = fields.length + signature.length;
+        this.rlpEncodedHash = new RLPWriter(RLPWriter.listSize(size))
+                .writeListHeader(size)
+                .writeEncoded(fields)
+                .writeEncoded(signature)
+                .toByteArray();
 
         return rlpEncodedHash;
     }
@@ -649,39 +559,6 @@ public class Transaction {
         if (!parsed) rlpParse();
         if (rlpEncodedComposite != null) return rlpEncodedComposite;
 
-        byte[] version = RLP.encodeByte(this.version);
-        byte[] option = RLP.encodeByte(this.option);
-        byte[] timeStamp = RLP.encodeElement(this.timeStamp);
-        byte[] toAddress = RLP.encodeElement(this.toAddress);
-        byte[] amount = RLP.encodeElement(this.amount);
-        byte[] fee = RLP.encodeElement(this.fee);
-        byte[] expireTime = RLP.encodeElement(this.expireTime);
-        byte[] senderWitnessAddress = RLP.encodeElement(this.senderWitnessAddress);
-        byte[] receiverWitnessAddress = RLP.encodeElement(this.receiverWitnessAddress);
-        byte[][] senderAssociate = new byte[this.senderAssociatedAddress.size()][];
-        for (int i=0; i< this.senderAssociatedAddress.size(); ++i) {
-            senderAssociate[i] = RLP.encodeElement(this.senderAssociatedAddress.get(i));
-        }
-        byte[] senderAssociatedAddress = RLP.encodeList(senderAssociate);
-
-        byte[][] receiverAssociate = new byte[this.receiverAssociatedAddress.size()][];
-        for (int i=0; i< this.receiverAssociatedAddress.size(); ++i) {
-            receiverAssociate[i] = RLP.encodeElement(this.receiverAssociatedAddress.get(i));
-        }
-        byte[] receiverAssociatedAddress = RLP.encodeList(receiverAssociate);
-
-        byte[] v, r, s;
-
-        if (signature != null) {
-            v = RLP.encodeByte(signature.v);
-            r = RLP.encodeElement(BigIntegers.asUnsignedByteArray(signature.r));
-            s = RLP.encodeElement(BigIntegers.asUnsignedByteArray(signature.s));
-        } else {
-            v = RLP.encodeElement(EMPTY_BYTE_ARRAY);
-            r = RLP.encodeElement(EMPTY_BYTE_ARRAY);
-            s = RLP.encodeElement(EMPTY_BYTE_ARRAY);
-        }
-
         /**
          * d<item></>
          * transaction included in block forged by self hasn't contained senderAddress.
@@ -692,13 +569,94 @@ public class Transaction {
             this.sendAddress = getSender();
         }
 
-        byte[] sendAddress = RLP.encodeElement(this.sendAddress);
-        this.rlpEncodedComposite = RLP.encodeList(version, option, timeStamp,
-                toAddress, amount, fee,expireTime, senderWitnessAddress, receiverWitnessAddress, senderAssociatedAddress, receiverAssociatedAddress,v, r, s,sendAddress);
+        byte[] fields = getFieldsEncoded();
+        byte[] signature = getSignatureEncoded();
+        int senderAssociateSize = elementsSize(this.senderAssociatedAddress);
+        int receiverAssociateSize = elementsSize(this.receiverAssociatedAddress);
+        int size = fields.length
+                + RLPWriter.elementSize(this.senderWitnessAddress)
+                + RLPWriter.elementSize(this.receiverWitnessAddress)
+                + RLPWriter.listSize(senderAssociateSize)
+                + RLPWriter.listSize(receiverAssociateSize)
+                + signature.length
+                + RLPWriter.elementSize(this.sendAddress);
+
+        RLPWriter writer = new RLPWriter(RLPWriter.listSize(size));
+        writer.writeListHeader(size)
+                .writeEncoded(fields)
+                .writeElement(this.senderWitnessAddress)
+                .writeElement(this.receiverWitnessAddress);
+        writer.writeListHeader(senderAssociateSize);
+        for (byte[] address : this.senderAssociatedAddress) {
+            writer.writeElement(address);
+        }
+        writer.writeListHeader(receiverAssociateSize);
+        for (byte[] address : this.receiverAssociatedAddress) {
+            writer.writeElement(address);
+        }
+        this.rlpEncodedComposite = writer.writeEncoded(signature)
+                .writeElement(this.sendAddress)
+                .toByteArray();
 
         return rlpEncodedComposite;
     }
 
+    // The items of the unsigned transaction, without a list header, which
+    // all the encodings start with.
+    private byte[] getFieldsEncoded() {
+        if (rlpFields != null) return rlpFields;
+
+        int size = RLPWriter.byteSize(this.version)
+                + RLPWriter.byteSize(this.option)
+                + RLPWriter.elementSize(this.timeStamp)
+                + RLPWriter.elementSize(this.toAddress)
+                + RLPWriter.elementSize(this.amount)
+                + RLPWriter.elementSize(this.fee)
+                + RLPWriter.elementSize(this.expireTime);
+        this.rlpFields = new RLPWriter(size)
+                .writeByte(this.version)
+                .writeByte(this.option)
+                .writeElement(this.timeStamp)
+                .writeElement(this.toAddress)
+                .writeElement(this.amount)
+                .writeElement(this.fee)
+                .writeElement(this.expireTime)
+                .toByteArray();
+        return rlpFields;
+    }
+
+    // The v, r, s items, empty ones if the transaction isn't signed.
+    private byte[] getSignatureEncoded() {
+        if (rlpSignature != null) return rlpSignature;
+
+        if (signature != null) {
+            byte[] r = BigIntegers.asUnsignedByteArray(signature.r);
+            byte[] s = BigIntegers.asUnsignedByteArray(signature.s);
+            int size = RLPWriter.byteSize(signature.v) + RLPWriter.elementSize(r)
+                    + RLPWriter.elementSize(s);
+            this.rlpSignature = new RLPWriter(size)
+                    .writeByte(signature.v)
+                    .writeElement(r)
+                    .writeElement(s)
+                    .toByteArray();
+        } else {
+            this.rlpSignature = new RLPWriter(3)
+                    .writeElement(EMPTY_BYTE_ARRAY)
+                    .writeElement(EMPTY_BYTE_ARRAY)
+                    .writeElement(EMPTY_BYTE_ARRAY)
+                    .toByteArray();
+        }
+        return rlpSignature;
+    }
+
+    private static int elementsSize(List<byte[]> elements) {
+        int size = 0;
+        for (byte[] element : elements) {
+            size += RLPWriter.elementSize(element);
+        }
+        return size;
+    }
+
     @Override
     public int hashCode() {
 
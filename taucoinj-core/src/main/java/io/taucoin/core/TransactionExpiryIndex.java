@@ -0,0 +1,217 @@
+package io.taucoin.core;
+
+import io.taucoin.db.BlockStore;
+import io.taucoin.util.ByteUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Expiry index of the memory pool entries, bucketed by the height
+ * of the best block at which each entry becomes stale.
+ *
+ * A transaction is stale once the main chain block 'expireTime' below the
+ * best one has a timestamp after the transaction time. So its stale height
+ * is 'expireTime' above the first block with a later timestamp, the anchor.
+ * Entries newer than the best block have no anchor yet and wait ordered by
+ * time, each connected block anchors the ones older than its timestamp.
+ * On block connect only the waiting entries it anchors and the buckets
+ * at or below its number are touched, whatever the pool size.
+ *
+ * Timestamps of the recent main chain blocks are kept in a ring, the block
+ * store is only read for heights that aren't there. Each entry keeps the
+ * key of its list, so that an entry leaving the pool is removed at once.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class TransactionExpiryIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger("state");
+
+    private final BlockStore blockStore;
+
+    // Block timestamps by number modulo the ring size.
+    private final long[] ringNumbers;
+    private final long[] ringTimestamps;
+
+    // Entries not anchored yet, by transaction time.
+    private final TreeMap<Long, List<MemoryPoolEntry>> waiting = new TreeMap<>();
+
+    // Anchored entries, by stale height.
+    private final TreeMap<Long, List<MemoryPoolEntry>> buckets = new TreeMap<>();
+
+    private long bestNumber = -1;
+
+    public TransactionExpiryIndex(BlockStore blockStore, int ringSize) {
+        this.blockStore = blockStore;
+        this.ringNumbers = new long[ringSize];
+        this.ringTimestamps = new long[ringSize];
+        for (int i = 0; i < ringSize; i++) {
+            ringNumbers[i] = -1;
+        }
+    }
+
+    /**
+     * Indexes an entry just admitted while 'best' is the best block.
+     */
+    public synchronized void add(MemoryPoolEntry entry, Block best) {
+        if (bestNumber < 0) {
+            recordBlock(best);
+        }
+
+        long number = best.getNumber();
+        long expireTime = ByteUtil.byteArrayToLong(entry.tx.getExpireTime());
+        if (timestampAt(number) <= entry.buildTime) {
+            put(waiting, entry.buildTime, entry);
+            return;
+        }
+
+        // The anchor is in (number - expireTime, number], below it the entry is stale already.
+        long low = Math.max(0, number - expireTime);
+        long high = number;
+        while (low < high) {
+            long mid = low + (high - low) / 2;
+            if (timestampAt(mid) > entry.buildTime) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        put(buckets, low + expireTime, entry);
+    }
+
+    /**
+     * Returns the entries stale once 'block' is the best block, and removes them
+     * from the index. The caller checks that they are still pooled.
+     */
+    public synchronized List<MemoryPoolEntry> connect(Block block) {
+        recordBlock(block);
+
+        long number = block.getNumber();
+        long timestamp = ByteUtil.byteArrayToLong(block.getTimestamp());
+
+        Map<Long, List<MemoryPoolEntry>> anchored = waiting.headMap(timestamp);
+        for (List<MemoryPoolEntry> entries : anchored.values()) {
+            for (MemoryPoolEntry entry : entries) {
+                long expireTime = ByteUtil.byteArrayToLong(entry.tx.getExpireTime());
+                put(buckets, number + expireTime, entry);
+            }
+        }
+        anchored.clear();
+
+        List<MemoryPoolEntry> stale = new ArrayList<>();
+        List<MemoryPoolEntry> reanchored = new ArrayList<>();
+        Iterator<List<MemoryPoolEntry>> it = buckets.headMap(number, true).values().iterator();
+        while (it.hasNext()) {
+            for (MemoryPoolEntry entry : it.next()) {
+                // A re-branch may have changed the block at the anchor.
+                long expireTime = ByteUtil.byteArrayToLong(entry.tx.getExpireTime());
+                long bench = number - expireTime;
+                if (bench < 0 || timestampAt(bench) > entry.buildTime) {
+                    stale.add(entry);
+                } else {
+                    reanchored.add(entry);
+                }
+            }
+            it.remove();
+        }
+
+        for (MemoryPoolEntry entry : reanchored) {
+            add(entry, block);
+        }
+
+        if (!stale.isEmpty() || !reanchored.isEmpty()) {
+            logger.debug("Block {}: {} entries stale, {} re-anchored",
+                    number, stale.size(), reanchored.size());
+        }
+        return stale;
+    }
+
+    /**
+     * Removes an entry which left the pool. Entries returned by connect
+     * aren't indexed anymore, removing them does nothing.
+     */
+    public synchronized void remove(MemoryPoolEntry entry) {
+        TreeMap<Long, List<MemoryPoolEntry>> map = entry.expiryWaiting ? waiting : buckets;
+        List<MemoryPoolEntry> entries = map.get(entry.expiryKey);
+        if (entries == null) {
+            return;
+        }
+        // By reference, an entry of the same transaction may have been added since.
+        for (Iterator<MemoryPoolEntry> it = entries.iterator(); it.hasNext(); ) {
+            if (it.next() == entry) {
+                it.remove();
+                break;
+            }
+        }
+        if (entries.isEmpty()) {
+            map.remove(entry.expiryKey);
+        }
+    }
+
+    /**
+     * Returns the timestamp of the main chain block with the given number,
+     * or Long.MAX_VALUE if the block store doesn't have it.
+     */
+    public synchronized long timestampAt(long number) {
+        int slot = (int) (number % ringNumbers.length);
+        if (ringNumbers[slot] == number) {
+            return ringTimestamps[slot];
+        }
+
+        Block block = blockStore.getChainBlockByNumber(number);
+        if (block == null) {
+            return Long.MAX_VALUE;
+        }
+        long timestamp = ByteUtil.byteArrayToLong(block.getTimestamp());
+        // Don't let an old block push out a recent one.
+        if (ringNumbers[slot] < number) {
+            ringNumbers[slot] = number;
+            ringTimestamps[slot] = timestamp;
+        }
+        return timestamp;
+    }
+
+    public synchronized int size() {
+        int size = 0;
+        for (List<MemoryPoolEntry> entries : waiting.values()) {
+            size += entries.size();
+        }
+        for (List<MemoryPoolEntry> entries : buckets.values()) {
+            size += entries.size();
+        }
+        return size;
+    }
+
+    public synchronized void clear() {
+        waiting.clear();
+        buckets.clear();
+    }
+
+    private void recordBlock(Block block) {
+        long number = block.getNumber();
+        int slot = (int) (number % ringNumbers.length);
+        ringNumbers[slot] = number;
+        ringTimestamps[slot] = ByteUtil.byteArrayToLong(block.getTimestamp());
+        bestNumber = number;
+    }
+
+    private void put(TreeMap<Long, List<MemoryPoolEntry>> map, long key,
+            MemoryPoolEntry entry) {
+        entry.expiryKey = key;
+        entry.expiryWaiting = map == waiting;
+        List<MemoryPoolEntry> entries = map.get(key);
+        if (entries == null) {
+            entries = new ArrayList<>(4);
+            map.put(key, entries);
+        }
+        entries.add(entry);
+    }
+}
@@ -1,7 +1,7 @@
 package io.taucoin.core;
 
 import io.taucoin.util.RLP;
-import io.taucoin.util.RLPList;
+import io.taucoin.util.RLPReader;
 import io.taucoin.util.ByteUtil;
 
 import java.io.Serializable;
@@ -50,13 +50,11 @@ public class TransactionInfo implements Serializable {
 
     public void rlpParse() {
         if(rlpEncoded != null) {
-            RLPList decodedTxList = RLP.decode2(rlpEncoded);
-            RLPList transaction = (RLPList) decodedTxList.get(0);
+            RLPReader transaction = RLPReader.ofList(rlpEncoded);
 
-            this.trHash = transaction.get(0).getRLPData();
-            byte[] trTime = transaction.get(1).getRLPData();
+            this.trHash = transaction.nextItem().getBytes();
             //considering concurrency situation ,a list may be need.
-            this.trTime = ByteUtil.byteArrayToLong(trTime);
+            this.trTime = transaction.nextItem().getLong();
             this.parsed = true;
         }
         rlpEncoded = null;
@@ -0,0 +1,131 @@
+package io.taucoin.core;
+
+import io.taucoin.util.RLPReader;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Immutable list of the transactions of a block.
+ *
+ * When read from an encoded block only the bounds of the transaction
+ * encodings are found, in the block bytes which aren't copied. A transaction
+ * is decoded the first time it is got and kept for the next calls, so walking
+ * a block which is only looked at for its header or for a few transactions
+ * doesn't decode the others.
+ *
+ * The fields of every transaction are checked once when the list is read,
+ * without being copied, so a malformed block fails where it is decoded
+ * rather than when one of its transactions is first used.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+final class TransactionList extends AbstractList<Transaction> implements RandomAccess {
+
+    static final TransactionList EMPTY = new TransactionList(new Transaction[0]);
+
+    // Encoding of transaction i is [bounds[i], bounds[i + 1]) of data, both
+    // are null if the transactions were given decoded.
+    private final byte[] data;
+    private final int[] bounds;
+    private final boolean composite;
+    private final AtomicReferenceArray<Transaction> transactions;
+
+    private TransactionList(Transaction[] transactions) {
+        this.data = null;
+        this.bounds = null;
+        this.composite = false;
+        this.transactions = new AtomicReferenceArray<>(transactions);
+    }
+
+    private TransactionList(byte[] data, int[] bounds, int count, boolean composite) {
+        this.data = data;
+        this.bounds = bounds;
+        this.composite = composite;
+        this.transactions = new AtomicReferenceArray<>(count);
+    }
+
+    static TransactionList of(List<Transaction> transactions) {
+        if (transactions == null || transactions.isEmpty()) {
+            return EMPTY;
+        }
+        return new TransactionList(transactions.toArray(new Transaction[transactions.size()]));
+    }
+
+    /**
+     * Returns the list of the transactions encoded in the 'length' bytes of
+     * 'data' from 'offset', the payload of the block transactions list.
+     * 'composite' tells whether they are encoded as stored or as sent.
+     */
+    static TransactionList decode(byte[] data, int offset, int length, boolean composite) {
+        RLPReader items = new RLPReader(data, offset, length);
+        int[] bounds = new int[8];
+        bounds[0] = offset;
+        int count = 0;
+        while (items.next()) {
+            checkFields(items, count, composite);
+            if (++count == bounds.length) {
+                bounds = Arrays.copyOf(bounds, bounds.length * 2);
+            }
+            bounds[count] = items.getOffset() + items.getLength();
+        }
+        return count == 0 ? EMPTY : new TransactionList(data, bounds, count, composite);
+    }
+
+    // Walks the fields of a transaction the way Transaction.rlpParse reads
+    // them: scalars, but for the two associated address lists of a composite
+    // one, then the signature and an optional sender address.
+    private static void checkFields(RLPReader item, int index, boolean composite) {
+        if (!item.isList()) {
+            throw new RuntimeException("Malformed transaction " + index + ": not a list");
+        }
+
+        RLPReader fields = item.list();
+        int count = 0;
+        while (fields.next()) {
+            boolean addresses = composite && (count == 9 || count == 10);
+            if (fields.isList() != addresses) {
+                throw new RuntimeException("Malformed transaction " + index + ": field "
+                        + count + (addresses ? " isn't a list" : " is a list"));
+            }
+            if (addresses) {
+                RLPReader address = fields.list();
+                while (address.next()) {
+                    if (address.isList()) {
+                        throw new RuntimeException("Malformed transaction " + index
+                                + ": associated address is a list");
+                    }
+                }
+            }
+            count++;
+        }
+
+        int expected = composite ? 14 : 10;
+        if (count < expected || count > expected + 1) {
+            throw new RuntimeException("Malformed transaction " + index + ": " + count
+                    + " fields");
+        }
+    }
+
+    @Override
+    public Transaction get(int index) {
+        Transaction tx = transactions.get(index);
+        if (tx == null) {
+            tx = new Transaction(Arrays.copyOfRange(data, bounds[index], bounds[index + 1]),
+                    composite);
+            if (!transactions.compareAndSet(index, null, tx)) {
+                tx = transactions.get(index);
+            }
+        }
+        return tx;
+    }
+
+    @Override
+    public int size() {
+        return transactions.length();
+    }
+}
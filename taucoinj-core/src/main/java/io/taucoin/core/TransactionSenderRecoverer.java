@@ -0,0 +1,124 @@
+package io.taucoin.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recovers the senders of a batch of transactions in parallel.
+ *
+ * {@link Transaction#getSender()} recovers the public key lazily, one transaction
+ * at a time, on whichever thread touches it first. Block import and wire
+ * transactions handling call this before their loops, so that the loops find
+ * every sender cached on the transaction already.
+ *
+ * Public key recovery goes through {@link io.taucoin.crypto.ECKey#recoverFromSignature},
+ * which uses libsecp256k1 when the native library is loaded.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class TransactionSenderRecoverer {
+
+    private static final Logger logger = LoggerFactory.getLogger("state");
+
+    // Batches smaller than this are not worth the thread hand off.
+    private static final int MIN_PARALLEL_BATCH = 8;
+
+    private static final int THREADS = Math.max(1,
+            Runtime.getRuntime().availableProcessors() - 1);
+
+    private static ExecutorService executor = null;
+
+    private TransactionSenderRecoverer() {
+    }
+
+    /**
+     * Recovers the senders of all transactions in the block.
+     */
+    public static void recoverSenders(Block block) {
+        recoverSenders(block.getTransactionsList());
+    }
+
+    /**
+     * Recovers the senders of the given transactions and caches them on
+     * each transaction. Transactions whose sender is already known are skipped.
+     * Returns once every sender has been recovered or has failed.
+     */
+    public static void recoverSenders(Collection<Transaction> transactions) {
+        final List<Transaction> pending = new ArrayList<>(transactions.size());
+        for (Transaction tx : transactions) {
+            if (!tx.hasSender()) {
+                pending.add(tx);
+            }
+        }
+
+        int size = pending.size();
+        if (size < MIN_PARALLEL_BATCH || THREADS == 1) {
+            recoverRange(pending, 0, size);
+            return;
+        }
+
+        // The caller recovers the first slice itself.
+        int slices = Math.min(THREADS + 1, size / (MIN_PARALLEL_BATCH / 2));
+        int sliceSize = (size + slices - 1) / slices;
+        List<Future<?>> futures = new ArrayList<>(slices - 1);
+
+        for (int start = sliceSize; start < size; start += sliceSize) {
+            final int from = start;
+            final int to = Math.min(start + sliceSize, size);
+            futures.add(getExecutor().submit(new Runnable() {
+                @Override
+                public void run() {
+                    recoverRange(pending, from, to);
+                }
+            }));
+        }
+
+        recoverRange(pending, 0, Math.min(sliceSize, size));
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Sender recovery interrupted");
+                return;
+            } catch (ExecutionException e) {
+                // Failed transactions are left without sender and the
+                // serial path handles them as before.
+                logger.error("Sender recovery error {}", e.getCause());
+            }
+        }
+    }
+
+    private static void recoverRange(List<Transaction> txs, int from, int to) {
+        for (int i = from; i < to; i++) {
+            try {
+                txs.get(i).getSender();
+            } catch (RuntimeException e) {
+                logger.warn("Recover sender fail for tx {}", i, e);
+            }
+        }
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(THREADS, new ThreadFactory() {
+                private AtomicInteger cnt = new AtomicInteger(0);
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "SenderRecoverer-" + cnt.getAndIncrement());
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+        }
+        return executor;
+    }
+}
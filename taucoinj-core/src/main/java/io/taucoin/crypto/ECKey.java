@@ -631,6 +631,36 @@ public class ECKey implements Serializable {
         return key;
     }
 
+    /**
+     * Same as {@link #signatureToKey(byte[], String)} but takes the signature directly,
+     * which saves the base64 round trip on the hot transaction and block paths.
+     *
+     * @param messageHash a piece of human readable text that was signed
+     * @param signature The Ethereum-format message signature, it isn't modified
+     *
+     * @return -
+     * @throws SignatureException If the public key could not be recovered or if there was a signature format error.
+     */
+    public static ECKey signatureToKey(byte[] messageHash, ECDSASignature signature) throws SignatureException {
+        int header = signature.v & 0xFF;
+        if (header < 27 || header > 34)
+            throw new SignatureException("Header byte out of range: " + header);
+        BigInteger r = new BigInteger(1, bigIntegerToBytes(signature.r, 32));
+        BigInteger s = new BigInteger(1, bigIntegerToBytes(signature.s, 32));
+        ECDSASignature sig = new ECDSASignature(r, s);
+        boolean compressed = false;
+        if (header >= 31) {
+            compressed = true;
+            header -= 4;
+        }
+
+        int recId = header - 27;
+        ECKey key = ECKey.recoverFromSignature(recId, sig, messageHash, compressed);
+        if (key == null)
+            throw new SignatureException("Could not recover public key from signature");
+        return key;
+    }
+
 
     /**
      * Decrypt cipher by AES in SIC(also know as CTR) mode
@@ -0,0 +1,99 @@
+package io.taucoin.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Cursor which reads ahead its entries 'batchSize' at a time.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public abstract class BatchedCursor implements KeyValueCursor {
+
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private final int batchSize;
+
+    private final List<byte[]> keys;
+    private final List<byte[]> values;
+    private int position = 0;
+    private boolean exhausted = false;
+    private boolean closed = false;
+
+    private byte[] key;
+    private byte[] value;
+
+    protected BatchedCursor(int batchSize) {
+        this.batchSize = batchSize;
+        this.keys = new ArrayList<>(batchSize);
+        this.values = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * Adds up to 'max' next entries, returns false once there are no more.
+     */
+    protected abstract boolean fetch(List<byte[]> keys, List<byte[]> values, int max);
+
+    /**
+     * Releases what the cursor holds in the data source.
+     */
+    protected abstract void release();
+
+    @Override
+    public boolean next() {
+        if (closed) {
+            key = null;
+            value = null;
+            return false;
+        }
+        while (position == keys.size()) {
+            if (exhausted) {
+                key = null;
+                value = null;
+                return false;
+            }
+            keys.clear();
+            values.clear();
+            position = 0;
+            exhausted = !fetch(keys, values, batchSize);
+            if (exhausted) {
+                // Nothing left to read, don't wait for close.
+                release();
+            }
+        }
+        key = keys.get(position);
+        value = values.get(position);
+        position++;
+        return true;
+    }
+
+    @Override
+    public byte[] getKey() {
+        if (key == null) {
+            throw new NoSuchElementException();
+        }
+        return key;
+    }
+
+    @Override
+    public byte[] getValue() {
+        if (key == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            if (!exhausted) {
+                release();
+            }
+            keys.clear();
+            values.clear();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.taucoin.datasource;
+
+/**
+ * Key value data source whose entries can be walked with a cursor,
+ * without materializing its key set like {@link #keys()} does.
+ *
+ * Ordered stores walk the range in unsigned byte order of the keys,
+ * hashed ones in storage order. Entries written while a cursor is open
+ * may or may not be seen by it.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public interface CursorDataSource extends KeyValueDataSource {
+
+    /**
+     * Opens a cursor over the entries in 'range'.
+     */
+    KeyValueCursor cursor(KeyRange range);
+}
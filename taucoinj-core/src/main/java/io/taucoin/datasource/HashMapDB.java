@@ -3,14 +3,18 @@ package io.taucoin.datasource;
 import io.taucoin.db.ByteArrayWrapper;
 import org.iq80.leveldb.DBException;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import static io.taucoin.util.ByteUtil.wrap;
 
-public class HashMapDB implements KeyValueDataSource {
+public class HashMapDB implements CursorDataSource {
 
     Map<ByteArrayWrapper, byte[]> storage = new HashMap<>();
 
@@ -70,10 +74,49 @@ public class HashMapDB implements KeyValueDataSource {
         return keys;
     }
 
+    /**
+     * Walks the keys of the range in order, as they were when it was opened.
+     */
+    @Override
+    public KeyValueCursor cursor(KeyRange range) {
+        List<ByteArrayWrapper> inRange = new ArrayList<>();
+        for (ByteArrayWrapper key : storage.keySet()) {
+            if (range.contains(key.getData())) {
+                inRange.add(key);
+            }
+        }
+        Collections.sort(inRange);
+
+        final Iterator<ByteArrayWrapper> it = inRange.iterator();
+        return new BatchedCursor(BatchedCursor.DEFAULT_BATCH_SIZE) {
+            @Override
+            protected boolean fetch(List<byte[]> keys, List<byte[]> values, int max) {
+                while (keys.size() < max && it.hasNext()) {
+                    ByteArrayWrapper key = it.next();
+                    byte[] value = storage.get(key);
+                    if (value != null) {
+                        keys.add(key.getData());
+                        values.add(value);
+                    }
+                }
+                return it.hasNext();
+            }
+
+            @Override
+            protected void release() {
+            }
+        };
+    }
+
     @Override
     public void updateBatch(Map<byte[], byte[]> rows) {
         for (byte[] key :  rows.keySet()){
-            storage.put(wrap(key), rows.get(key));
+            byte[] value = rows.get(key);
+            if (value == null) {
+                storage.remove(wrap(key));
+            } else {
+                storage.put(wrap(key), value);
+            }
         }
     }
 
@@ -0,0 +1,88 @@
+package io.taucoin.datasource;
+
+import io.taucoin.util.FastByteComparisons;
+
+import java.util.Arrays;
+
+/**
+ * Range of keys from 'from', inclusive, to 'to', exclusive, in unsigned
+ * byte order. A null bound is open.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public final class KeyRange {
+
+    private static final KeyRange ALL = new KeyRange(null, null, null);
+
+    private final byte[] from;
+    private final byte[] to;
+    private final byte[] prefix;
+
+    private KeyRange(byte[] from, byte[] to, byte[] prefix) {
+        this.from = from;
+        this.to = to;
+        this.prefix = prefix;
+    }
+
+    public static KeyRange all() {
+        return ALL;
+    }
+
+    public static KeyRange range(byte[] from, byte[] to) {
+        return new KeyRange(from, to, null);
+    }
+
+    /**
+     * Returns the range of the keys starting with 'prefix'.
+     */
+    public static KeyRange prefix(byte[] prefix) {
+        // The end is the prefix with its last byte below 0xff incremented.
+        int length = prefix.length;
+        while (length > 0 && prefix[length - 1] == (byte) 0xff) {
+            length--;
+        }
+        byte[] to = null;
+        if (length > 0) {
+            to = Arrays.copyOf(prefix, length);
+            to[length - 1]++;
+        }
+        return new KeyRange(prefix, to, prefix);
+    }
+
+    /**
+     * Returns the first key of the range, null if it is open.
+     */
+    public byte[] getFrom() {
+        return from;
+    }
+
+    /**
+     * Returns the key past the range, null if it is open.
+     */
+    public byte[] getTo() {
+        return to;
+    }
+
+    /**
+     * Returns the prefix of a range made by {@link #prefix(byte[])}, null otherwise.
+     */
+    public byte[] getPrefix() {
+        return prefix;
+    }
+
+    public boolean contains(byte[] key) {
+        return (from == null || compare(key, from) >= 0) && !isPast(key);
+    }
+
+    /**
+     * Returns true if 'key' sorts after the range.
+     */
+    public boolean isPast(byte[] key) {
+        return to != null && compare(key, to) >= 0;
+    }
+
+    private static int compare(byte[] a, byte[] b) {
+        return FastByteComparisons.compareTo(a, 0, a.length, b, 0, b.length);
+    }
+}
@@ -0,0 +1,26 @@
+package io.taucoin.datasource;
+
+import java.io.Closeable;
+
+/**
+ * Forward cursor over the entries of a {@link CursorDataSource} in a
+ * {@link KeyRange}. It starts before the first entry, holds resources of
+ * the data source until closed, and is used by one thread at a time.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public interface KeyValueCursor extends Closeable {
+
+    /**
+     * Moves to the next entry, returns false past the last one.
+     */
+    boolean next();
+
+    byte[] getKey();
+
+    byte[] getValue();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,101 @@
+package io.taucoin.datasource;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cursor helpers for data sources which may not be {@link CursorDataSource}s.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class KeyValueCursors {
+
+    private KeyValueCursors() {
+    }
+
+    /**
+     * Opens a cursor over the entries of 'source' in 'range'. A source which
+     * isn't a {@link CursorDataSource} is walked over its {@link KeyValueDataSource#keys()}.
+     */
+    public static KeyValueCursor open(final KeyValueDataSource source, final KeyRange range) {
+        if (source instanceof CursorDataSource) {
+            return ((CursorDataSource) source).cursor(range);
+        }
+
+        Set<byte[]> keys = source.keys();
+        if (keys == null) {
+            throw new UnsupportedOperationException("Data source " + source.getName()
+                    + " can't list its keys");
+        }
+        final Iterator<byte[]> it = keys.iterator();
+        return new BatchedCursor(BatchedCursor.DEFAULT_BATCH_SIZE) {
+            @Override
+            protected boolean fetch(List<byte[]> keys, List<byte[]> values, int max) {
+                while (keys.size() < max && it.hasNext()) {
+                    byte[] key = it.next();
+                    byte[] value = range.contains(key) ? source.get(key) : null;
+                    if (value != null) {
+                        keys.add(key);
+                        values.add(value);
+                    }
+                }
+                return it.hasNext();
+            }
+
+            @Override
+            protected void release() {
+            }
+        };
+    }
+
+    /**
+     * Returns a cursor over the entries of 'cursor' but the one with 'key'.
+     */
+    public static KeyValueCursor excluding(final KeyValueCursor cursor, final byte[] key) {
+        return new KeyValueCursor() {
+            @Override
+            public boolean next() {
+                while (cursor.next()) {
+                    if (!Arrays.equals(cursor.getKey(), key)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public byte[] getKey() {
+                return cursor.getKey();
+            }
+
+            @Override
+            public byte[] getValue() {
+                return cursor.getValue();
+            }
+
+            @Override
+            public void close() {
+                cursor.close();
+            }
+        };
+    }
+
+    /**
+     * Returns the number of entries of 'source' in 'range'.
+     */
+    public static long count(KeyValueDataSource source, KeyRange range) {
+        KeyValueCursor cursor = open(source, range);
+        try {
+            long count = 0;
+            while (cursor.next()) {
+                count++;
+            }
+            return count;
+        } finally {
+            cursor.close();
+        }
+    }
+}
@@ -17,5 +17,8 @@ public interface KeyValueDataSource extends DataSource {
 
     Set<byte[]> keys();
 
+    /**
+     * Writes 'rows' as one batch, a null value deletes its key.
+     */
     void updateBatch(Map<byte[], byte[]> rows);
 }
@@ -10,6 +10,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -21,7 +22,7 @@ import static org.fusesource.leveldbjni.JniDBFactory.factory;
  * @author Roman Mandeleil
  * @since 18.01.2015
  */
-public class LevelDbDataSource implements KeyValueDataSource {
+public class LevelDbDataSource implements CursorDataSource {
 
     private static final Logger logger = LoggerFactory.getLogger("db");
 
@@ -125,10 +126,52 @@ public class LevelDbDataSource implements KeyValueDataSource {
         }
     }
 
+    /**
+     * Walks the range in key order on a LevelDB iterator, which reads a
+     * snapshot of the database and doesn't fill the block cache.
+     */
+    @Override
+    public KeyValueCursor cursor(final KeyRange range) {
+        final DBIterator iterator = db.iterator(new ReadOptions().fillCache(false));
+        if (range.getFrom() != null) {
+            iterator.seek(range.getFrom());
+        } else {
+            iterator.seekToFirst();
+        }
+
+        return new BatchedCursor(BatchedCursor.DEFAULT_BATCH_SIZE) {
+            @Override
+            protected boolean fetch(List<byte[]> keys, List<byte[]> values, int max) {
+                while (keys.size() < max && iterator.hasNext()) {
+                    Map.Entry<byte[], byte[]> entry = iterator.next();
+                    if (range.isPast(entry.getKey())) {
+                        return false;
+                    }
+                    keys.add(entry.getKey());
+                    values.add(entry.getValue());
+                }
+                return iterator.hasNext();
+            }
+
+            @Override
+            protected void release() {
+                try {
+                    iterator.close();
+                } catch (IOException e) {
+                    logger.warn("Failed to close the iterator of {}: {}", name, e.getMessage());
+                }
+            }
+        };
+    }
+
     private void updateBatchInternal(Map<byte[], byte[]> rows) throws IOException {
         try (WriteBatch batch = db.createWriteBatch()) {
             for (Map.Entry<byte[], byte[]> entry : rows.entrySet()) {
-                batch.put(entry.getKey(), entry.getValue());
+                if (entry.getValue() == null) {
+                    batch.delete(entry.getKey());
+                } else {
+                    batch.put(entry.getKey(), entry.getValue());
+                }
             }
             db.write(batch);
         }
@@ -0,0 +1,207 @@
+package io.taucoin.datasource;
+
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Key value data source kept in a column family, named after the data
+ * source, of the RocksDB database in the 'rocksdb' directory of the
+ * database dir, so the data sources share one write ahead log.
+ *
+ * Tables are LZ4 compressed, with bloom filters and a block cache sized
+ * in the 'rocksdb' config.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class RocksDbDataSource implements CursorDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger("db");
+
+    private String name;
+    private RocksDbStore store;
+    private ColumnFamilyHandle family;
+    private boolean alive;
+
+    public RocksDbDataSource() {
+    }
+
+    public RocksDbDataSource(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public void init() {
+        if (isAlive()) return;
+
+        if (name == null) throw new NullPointerException("no name set to the db");
+
+        logger.debug("Initializing new or existing column family: '{}'", name);
+        store = RocksDbStore.acquire();
+        try {
+            family = store.getFamily(name);
+        } catch (RocksDBException e) {
+            RocksDbStore.release(store);
+            logger.error(e.getMessage(), e);
+            throw new DBCorruptionException(e);
+        }
+        alive = true;
+    }
+
+    @Override
+    public boolean isAlive() {
+        return alive;
+    }
+
+    @Override
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public byte[] get(byte[] key) {
+        try {
+            return store.getDb().get(family, key);
+        } catch (RocksDBException e) {
+            throw new DBCorruptionException(e);
+        }
+    }
+
+    @Override
+    public byte[] put(byte[] key, byte[] value) {
+        try {
+            store.getDb().put(family, key, value);
+        } catch (RocksDBException e) {
+            throw new DBCorruptionException(e);
+        }
+        return value;
+    }
+
+    @Override
+    public void delete(byte[] key) {
+        try {
+            store.getDb().delete(family, key);
+        } catch (RocksDBException e) {
+            throw new DBCorruptionException(e);
+        }
+    }
+
+    @Override
+    public Set<byte[]> keys() {
+        Set<byte[]> result = new HashSet<>();
+        RocksIterator iterator = store.getDb().newIterator(family);
+        try {
+            for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+                result.add(iterator.key());
+            }
+        } finally {
+            iterator.close();
+        }
+        return result;
+    }
+
+    /**
+     * Walks the range in key order on a RocksDB iterator, which reads a
+     * snapshot of the column family and doesn't fill the block cache.
+     */
+    @Override
+    public KeyValueCursor cursor(final KeyRange range) {
+        final ReadOptions options = new ReadOptions().setFillCache(false);
+        final RocksIterator iterator = store.getDb().newIterator(family, options);
+        if (range.getFrom() != null) {
+            iterator.seek(range.getFrom());
+        } else {
+            iterator.seekToFirst();
+        }
+
+        return new BatchedCursor(BatchedCursor.DEFAULT_BATCH_SIZE) {
+            @Override
+            protected boolean fetch(List<byte[]> keys, List<byte[]> values, int max) {
+                while (keys.size() < max && iterator.isValid()) {
+                    byte[] key = iterator.key();
+                    if (range.isPast(key)) {
+                        return false;
+                    }
+                    keys.add(key);
+                    values.add(iterator.value());
+                    iterator.next();
+                }
+                return iterator.isValid();
+            }
+
+            @Override
+            protected void release() {
+                iterator.close();
+                options.close();
+            }
+        };
+    }
+
+    /**
+     * Writes the rows in one batch, a null value deletes its key.
+     */
+    @Override
+    public void updateBatch(Map<byte[], byte[]> rows) {
+        WriteBatch batch = new WriteBatch();
+        try {
+            for (Map.Entry<byte[], byte[]> entry : rows.entrySet()) {
+                if (entry.getValue() == null) {
+                    batch.delete(family, entry.getKey());
+                } else {
+                    batch.put(family, entry.getKey(), entry.getValue());
+                }
+            }
+            store.write(batch);
+        } catch (RocksDBException e) {
+            throw new DBCorruptionException(e);
+        } finally {
+            batch.close();
+        }
+    }
+
+    /**
+     * Drops the column family of this data source with all its entries.
+     */
+    public void destroy() {
+        boolean wasAlive = isAlive();
+        init();
+        try {
+            logger.debug("Destroying column family: {}", name);
+            store.dropFamily(name);
+        } catch (RocksDBException e) {
+            logger.error(e.getMessage(), e);
+        } finally {
+            alive = false;
+            RocksDbStore.release(store);
+            if (wasAlive) {
+                init();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!isAlive()) return;
+
+        logger.debug("Close column family: {}", name);
+        alive = false;
+        family = null;
+        RocksDbStore.release(store);
+        store = null;
+    }
+}
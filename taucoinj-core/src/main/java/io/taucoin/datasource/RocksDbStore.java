@@ -0,0 +1,193 @@
+package io.taucoin.datasource;
+
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompressionType;
+import org.rocksdb.DBOptions;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.taucoin.config.SystemProperties.CONFIG;
+
+/**
+ * The RocksDB database the {@link RocksDbDataSource}s keep their entries in,
+ * one column family per data source name.
+ *
+ * It is opened by the first data source initialized and closed with the
+ * last one. Column families missing are created on first use, each with its
+ * own block cache and bloom filters as configured in 'rocksdb'.
+ *
+ * Only java.io.File is used for its directory, java.nio.file isn't there
+ * on the Android versions the app supports.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+class RocksDbStore {
+
+    private static final Logger logger = LoggerFactory.getLogger("db");
+
+    static final String DIRECTORY = "rocksdb";
+
+    private static RocksDbStore instance;
+    private static int users = 0;
+
+    static {
+        RocksDB.loadLibrary();
+    }
+
+    private final RocksDB db;
+    private final DBOptions dbOptions;
+    private final ColumnFamilyOptions familyOptions;
+    private final WriteOptions writeOptions;
+    private final Map<String, ColumnFamilyHandle> families = new HashMap<>();
+
+    private RocksDbStore(File path) throws RocksDBException {
+        this.dbOptions = new DBOptions()
+                .setCreateIfMissing(true)
+                .setCreateMissingColumnFamilies(true)
+                .setParanoidChecks(true)
+                .setMaxOpenFiles(128);
+        this.familyOptions = familyOptions();
+        this.writeOptions = new WriteOptions();
+
+        List<ColumnFamilyDescriptor> descriptors = new ArrayList<>();
+        for (byte[] name : existingFamilies(path)) {
+            descriptors.add(new ColumnFamilyDescriptor(name, familyOptions));
+        }
+        List<ColumnFamilyHandle> handles = new ArrayList<>(descriptors.size());
+        this.db = RocksDB.open(dbOptions, path.getPath(), descriptors, handles);
+
+        for (int i = 0; i < descriptors.size(); i++) {
+            families.put(new String(descriptors.get(i).getName()), handles.get(i));
+        }
+        logger.info("RocksDB opened in {} with column families {}", path, families.keySet());
+    }
+
+    /**
+     * Returns the database, opening it if no data source uses it yet.
+     */
+    static synchronized RocksDbStore acquire() {
+        if (instance == null) {
+            try {
+                File path = new File(CONFIG.databaseDir(), DIRECTORY).getAbsoluteFile();
+                if (!path.isDirectory() && !path.mkdirs()) {
+                    throw new IOException("Can't create " + path);
+                }
+                instance = new RocksDbStore(path);
+            } catch (IOException | RocksDBException e) {
+                logger.error(e.getMessage(), e);
+                throw new DBCorruptionException(e);
+            }
+        }
+        users++;
+        return instance;
+    }
+
+    /**
+     * Closes the database once no data source uses it anymore.
+     */
+    static synchronized void release(RocksDbStore store) {
+        if (store != instance || --users > 0) {
+            return;
+        }
+        instance = null;
+        store.close();
+    }
+
+    RocksDB getDb() {
+        return db;
+    }
+
+    /**
+     * Returns the column family 'name', creating it if it doesn't exist.
+     */
+    synchronized ColumnFamilyHandle getFamily(String name) throws RocksDBException {
+        ColumnFamilyHandle family = families.get(name);
+        if (family == null) {
+            logger.debug("Creating column family: '{}'", name);
+            family = db.createColumnFamily(new ColumnFamilyDescriptor(name.getBytes(),
+                    familyOptions));
+            families.put(name, family);
+        }
+        return family;
+    }
+
+    /**
+     * Drops the column family 'name' with all its entries.
+     */
+    synchronized void dropFamily(String name) throws RocksDBException {
+        ColumnFamilyHandle family = families.remove(name);
+        if (family != null) {
+            logger.debug("Dropping column family: '{}'", name);
+            db.dropColumnFamily(family);
+            family.close();
+        }
+    }
+
+    void write(WriteBatch batch) throws RocksDBException {
+        db.write(writeOptions, batch);
+    }
+
+    private synchronized void close() {
+        logger.debug("Close RocksDB");
+        for (ColumnFamilyHandle family : families.values()) {
+            family.close();
+        }
+        families.clear();
+        db.close();
+        writeOptions.close();
+        familyOptions.close();
+        dbOptions.close();
+    }
+
+    private static ColumnFamilyOptions familyOptions() {
+        BlockBasedTableConfig table = new BlockBasedTableConfig();
+        table.setBlockSize(4 * 1024);
+        long cacheSize = CONFIG.rocksDbBlockCacheSize();
+        if (cacheSize > 0) {
+            table.setBlockCacheSize(cacheSize);
+            table.setCacheIndexAndFilterBlocks(true);
+        } else {
+            table.setNoBlockCache(true);
+        }
+        int bloomBits = CONFIG.rocksDbBloomBits();
+        if (bloomBits > 0) {
+            // Full filters, one per file, for point lookups of hashed keys.
+            table.setFilter(new BloomFilter(bloomBits, false));
+        }
+
+        return new ColumnFamilyOptions()
+                .setTableFormatConfig(table)
+                .setCompressionType(CompressionType.LZ4_COMPRESSION)
+                .setWriteBufferSize(16 * 1024 * 1024);
+    }
+
+    private static List<byte[]> existingFamilies(File path) throws RocksDBException {
+        if (!new File(path, "CURRENT").exists()) {
+            return Arrays.asList(RocksDB.DEFAULT_COLUMN_FAMILY);
+        }
+        Options options = new Options();
+        try {
+            return RocksDB.listColumnFamilies(options, path.getPath());
+        } finally {
+            options.close();
+        }
+    }
+}
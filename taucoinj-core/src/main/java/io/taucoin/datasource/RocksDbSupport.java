@@ -0,0 +1,39 @@
+package io.taucoin.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tells whether {@link RocksDbDataSource} can be used. It refers to no
+ * rocksdb class itself, so it can be asked where rocksdbjni isn't
+ * packaged, as on Android: RocksDbDataSource doesn't even load there.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public final class RocksDbSupport {
+
+    private static final Logger logger = LoggerFactory.getLogger("db");
+
+    private static Boolean available;
+
+    private RocksDbSupport() {
+    }
+
+    /**
+     * Whether the rocksdb classes and native library can be loaded.
+     */
+    public static synchronized boolean isAvailable() {
+        if (available == null) {
+            try {
+                // Loads the native library too.
+                Class.forName(RocksDbStore.class.getName());
+                available = true;
+            } catch (Throwable e) {
+                logger.warn("RocksDB isn't available: {}", e.toString());
+                available = false;
+            }
+        }
+        return available;
+    }
+}
@@ -1,18 +1,23 @@
 package io.taucoin.datasource.mapdb;
 
 import io.taucoin.config.SystemProperties;
-import io.taucoin.datasource.KeyValueDataSource;
+import io.taucoin.datasource.BatchedCursor;
+import io.taucoin.datasource.CursorDataSource;
+import io.taucoin.datasource.KeyRange;
+import io.taucoin.datasource.KeyValueCursor;
 import org.mapdb.DB;
 import org.mapdb.DBMaker;
 import org.mapdb.Serializer;
 
 import java.io.File;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import static java.lang.System.getProperty;
 
-public class MapDBDataSource implements KeyValueDataSource {
+public class MapDBDataSource implements CursorDataSource {
 
     private static final int BATCH_SIZE = 1024 * 1000 * 10;
 
@@ -83,12 +88,41 @@ public class MapDBDataSource implements KeyValueDataSource {
         return map.keySet();
     }
 
+    /**
+     * Walks the hash map in its storage order, skipping the keys out of range.
+     */
+    @Override
+    public KeyValueCursor cursor(final KeyRange range) {
+        final Iterator<Map.Entry<byte[], byte[]>> it = map.entrySet().iterator();
+        return new BatchedCursor(BatchedCursor.DEFAULT_BATCH_SIZE) {
+            @Override
+            protected boolean fetch(List<byte[]> keys, List<byte[]> values, int max) {
+                while (keys.size() < max && it.hasNext()) {
+                    Map.Entry<byte[], byte[]> entry = it.next();
+                    if (range.contains(entry.getKey())) {
+                        keys.add(entry.getKey());
+                        values.add(entry.getValue());
+                    }
+                }
+                return it.hasNext();
+            }
+
+            @Override
+            protected void release() {
+            }
+        };
+    }
+
     @Override
     public void updateBatch(Map<byte[], byte[]> rows) {
         int savedSize = 0;
         try {
             for (byte[] key : rows.keySet()) {
                 byte[] value = rows.get(key);
+                if (value == null) {
+                    map.remove(key);
+                    continue;
+                }
                 savedSize += value.length;
 
                 map.put(key, value);
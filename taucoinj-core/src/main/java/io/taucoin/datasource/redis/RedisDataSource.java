@@ -1,16 +1,28 @@
 package io.taucoin.datasource.redis;
 
-import io.taucoin.datasource.KeyValueDataSource;
+import io.taucoin.datasource.BatchedCursor;
+import io.taucoin.datasource.CursorDataSource;
+import io.taucoin.datasource.KeyRange;
+import io.taucoin.datasource.KeyValueCursor;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
-
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.Transaction;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import static io.taucoin.config.SystemProperties.CONFIG;
 import static io.taucoin.util.Functional.Consumer;
+import static io.taucoin.util.Functional.Function;
 
-public class RedisDataSource extends RedisMap<byte[], byte[]> implements KeyValueDataSource {
+public class RedisDataSource extends RedisMap<byte[], byte[]> implements CursorDataSource {
 
     RedisDataSource(String namespace, JedisPool pool) {
         super(namespace, pool, null, null);
@@ -78,9 +90,94 @@ public class RedisDataSource extends RedisMap<byte[], byte[]> implements KeyValu
         return super.keySet();
     }
 
+    /**
+     * Walks the hash with HSCAN, a batch per call, in the order Redis returns
+     * it. A prefix range is matched by Redis, other ranges are filtered here.
+     * Like HSCAN, an entry may be returned more than once if the hash is
+     * rehashed meanwhile.
+     */
+    @Override
+    public KeyValueCursor cursor(final KeyRange range) {
+        final ScanParams params = new ScanParams().count(BatchedCursor.DEFAULT_BATCH_SIZE);
+        if (range.getPrefix() != null) {
+            params.match(globPrefix(range.getPrefix()));
+        }
+
+        return new BatchedCursor(BatchedCursor.DEFAULT_BATCH_SIZE) {
+            private byte[] scanCursor = ScanParams.SCAN_POINTER_START_BINARY;
+
+            @Override
+            protected boolean fetch(List<byte[]> keys, List<byte[]> values, int max) {
+                ScanResult<Map.Entry<byte[], byte[]>> result = pooledWithResult(
+                        new Function<Jedis, ScanResult<Map.Entry<byte[], byte[]>>>() {
+                            @Override
+                            public ScanResult<Map.Entry<byte[], byte[]>> apply(Jedis jedis) {
+                                return jedis.hscan(getNameBytes(), scanCursor, params);
+                            }
+                        });
+
+                for (Map.Entry<byte[], byte[]> entry : result.getResult()) {
+                    if (range.contains(entry.getKey())) {
+                        keys.add(entry.getKey());
+                        values.add(entry.getValue());
+                    }
+                }
+                scanCursor = result.getCursorAsBytes();
+                return !Arrays.equals(scanCursor, ScanParams.SCAN_POINTER_START_BINARY);
+            }
+
+            @Override
+            protected void release() {
+            }
+        };
+    }
+
+    // Glob pattern of the keys starting with 'prefix'.
+    private static byte[] globPrefix(byte[] prefix) {
+        ByteArrayOutputStream pattern = new ByteArrayOutputStream(prefix.length + 8);
+        for (byte b : prefix) {
+            if (b == '*' || b == '?' || b == '[' || b == ']' || b == '\\') {
+                pattern.write('\\');
+            }
+            pattern.write(b);
+        }
+        pattern.write('*');
+        return pattern.toByteArray();
+    }
+
+    /**
+     * Writes the puts with HMSET and the deletes, the null values, with HDEL
+     * in one MULTI transaction.
+     */
     @Override
     public void updateBatch(final Map<byte[], byte[]> rows) {
-        putAll(rows);
+        final Map<byte[], byte[]> puts = new HashMap<>(rows.size() * 2);
+        final List<byte[]> deletes = new ArrayList<>();
+        for (Map.Entry<byte[], byte[]> entry : rows.entrySet()) {
+            if (entry.getValue() == null) {
+                deletes.add(entry.getKey());
+            } else {
+                puts.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (deletes.isEmpty()) {
+            if (!puts.isEmpty()) {
+                putAll(puts);
+            }
+            return;
+        }
+
+        pooled(new Consumer<Jedis>() {
+            @Override
+            public void accept(Jedis jedis) {
+                Transaction transaction = jedis.multi();
+                if (!puts.isEmpty()) {
+                    transaction.hmset(getNameBytes(), puts);
+                }
+                transaction.hdel(getNameBytes(), deletes.toArray(new byte[deletes.size()][]));
+                transaction.exec();
+            }
+        });
     }
 
     @Override
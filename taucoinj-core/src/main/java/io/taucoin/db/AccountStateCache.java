@@ -0,0 +1,222 @@
+package io.taucoin.db;
+
+import io.taucoin.core.AccountState;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.taucoin.util.ByteUtil.wrap;
+
+/**
+ * Decoded account states in front of the state data source.
+ *
+ * Entries are weighted by their encoded size and the least recently used
+ * ones are evicted once the total weight goes beyond 'maxWeight'.
+ * The cache holds what is stored in the data source, that is the repository
+ * puts an account in it only after the account reached the data source
+ * (flush or direct put) and invalidates it on delete.
+ *
+ * Cached states are never handed out, {@link #get(byte[])} returns a copy,
+ * so that callers may modify it like a freshly decoded one.
+ *
+ * A miss is filled with {@link #fill(byte[], AccountState, int, long)} and the stamp
+ * taken by {@link #stamp(byte[])} before the data source read, the fill is dropped
+ * if the account was written meanwhile. Otherwise a reader racing with
+ * a flush could put back the value the flush just replaced.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class AccountStateCache {
+
+    // Rough per entry memory besides the encoded bytes: key, entry, decoded objects.
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments;
+
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+    private final AtomicLong evictions = new AtomicLong(0);
+
+    public AccountStateCache(long maxWeight) {
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(Math.max(maxWeight / SEGMENTS, 1));
+        }
+    }
+
+    /**
+     * Returns a copy of the cached account state, or null on miss.
+     */
+    public AccountState get(byte[] addr) {
+        Segment segment = segmentFor(addr);
+        AccountState state;
+        synchronized (segment) {
+            Entry entry = segment.map.get(wrap(addr));
+            state = entry == null ? null : entry.state;
+        }
+
+        if (state == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        hits.incrementAndGet();
+        return state.clone();
+    }
+
+    /**
+     * Returns the stamp to pass to {@link #fill} for an account read after this call.
+     */
+    public long stamp(byte[] addr) {
+        Segment segment = segmentFor(addr);
+        synchronized (segment) {
+            return segment.updates;
+        }
+    }
+
+    /**
+     * Caches an account state read from the data source on a miss.
+     * The state must not be modified by the caller afterwards.
+     */
+    public void fill(byte[] addr, AccountState state, int encodedSize, long stamp) {
+        Segment segment = segmentFor(addr);
+        synchronized (segment) {
+            if (segment.updates != stamp) {
+                return;
+            }
+            segment.put(wrap(addr), new Entry(state, encodedSize));
+        }
+    }
+
+    /**
+     * Caches an account state just written to the data source.
+     * The state must not be modified by the caller afterwards.
+     */
+    public void put(byte[] addr, AccountState state, int encodedSize) {
+        Segment segment = segmentFor(addr);
+        synchronized (segment) {
+            segment.updates++;
+            segment.put(wrap(addr), new Entry(state, encodedSize));
+        }
+    }
+
+    public void invalidate(byte[] addr) {
+        Segment segment = segmentFor(addr);
+        synchronized (segment) {
+            segment.updates++;
+            segment.remove(wrap(addr));
+        }
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.updates++;
+                segment.map.clear();
+                segment.weight = 0;
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getWeight() {
+        long weight = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                weight += segment.weight;
+            }
+        }
+        return weight;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.map.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "AccountStateCache{size=" + size() + ", weight=" + getWeight()
+                + ", hits=" + getHits() + ", misses=" + getMisses()
+                + ", evictions=" + getEvictions() + "}";
+    }
+
+    private Segment segmentFor(byte[] addr) {
+        int h = 0;
+        // Account addresses are hashes, their last bytes are as good as any.
+        for (int i = Math.max(0, addr.length - 4); i < addr.length; i++) {
+            h = (h << 8) | (addr[i] & 0xFF);
+        }
+        return segments[(h & 0x7FFFFFFF) % SEGMENTS];
+    }
+
+    private static class Entry {
+
+        final AccountState state;
+        final int weight;
+
+        Entry(AccountState state, int encodedSize) {
+            this.state = state;
+            this.weight = encodedSize + ENTRY_OVERHEAD;
+        }
+    }
+
+    private class Segment {
+
+        final long maxWeight;
+        final LinkedHashMap<ByteArrayWrapper, Entry> map =
+                new LinkedHashMap<>(64, 0.75f, true);
+        long weight = 0;
+
+        // Bumped on every write, see fill.
+        long updates = 0;
+
+        Segment(long maxWeight) {
+            this.maxWeight = maxWeight;
+        }
+
+        void put(ByteArrayWrapper key, Entry entry) {
+            Entry old = map.put(key, entry);
+            if (old != null) {
+                weight -= old.weight;
+            }
+            weight += entry.weight;
+
+            Iterator<Map.Entry<ByteArrayWrapper, Entry>> it = map.entrySet().iterator();
+            while (weight > maxWeight && it.hasNext()) {
+                Map.Entry<ByteArrayWrapper, Entry> eldest = it.next();
+                weight -= eldest.getValue().weight;
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+
+        void remove(ByteArrayWrapper key) {
+            Entry old = map.remove(key);
+            if (old != null) {
+                weight -= old.weight;
+            }
+        }
+    }
+}
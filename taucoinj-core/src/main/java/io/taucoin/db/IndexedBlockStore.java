@@ -5,6 +5,7 @@ import io.taucoin.datasource.KeyValueDataSource;
 import io.taucoin.util.ByteUtil;
 
 import org.hibernate.SessionFactory;
+import org.mapdb.Atomic;
 import org.mapdb.DB;
 import org.mapdb.DataIO;
 import org.mapdb.Serializer;
@@ -726,25 +727,87 @@ public class IndexedBlockStore implements BlockStore {
     }
 
 
+    // Compact records start with a zero length, which a java serialized one never has.
+    private static final int COMPACT_MARKER = 0;
+    private static final byte COMPACT_VERSION = 1;
+
+    // Layout of the index records, kept in the index database. 0, the value of a
+    // missing record, is an index written in the java serialized layout.
+    private static final String INDEX_VERSION_KEY = "indexVersion";
+
+    /**
+     * Writes a level as: marker 0, version, varint count and for each block info:
+     * varint hash length, hash, varint difficulty length, difficulty, main chain flag.
+     * A null hash or difficulty has length 0.
+     *
+     * Reads this layout and the java serialized one of previous versions,
+     * record by record, {@link #load()} rewrites an old index in the compact layout.
+     */
     public static final Serializer<List<BlockInfo>> BLOCK_INFO_SERIALIZER = new Serializer<List<BlockInfo>>(){
 
         @Override
         public void serialize(DataOutput out, List<BlockInfo> value) throws IOException {
-            ByteArrayOutputStream bos = new ByteArrayOutputStream();
-            ObjectOutputStream oos = new ObjectOutputStream(bos);
-            oos.writeObject(value);
-
-            byte[] data = bos.toByteArray();
-            DataIO.packInt(out, data.length);
-            out.write(data);
+            DataIO.packInt(out, COMPACT_MARKER);
+            out.writeByte(COMPACT_VERSION);
+            DataIO.packInt(out, value.size());
+
+            for (BlockInfo blockInfo : value) {
+                writeBytes(out, blockInfo.hash);
+                writeBytes(out, blockInfo.cummDifficulty == null
+                        ? null : blockInfo.cummDifficulty.toByteArray());
+                out.writeBoolean(blockInfo.mainChain);
+            }
         }
 
         @Override
         public List<BlockInfo> deserialize(DataInput in, int available) throws IOException {
 
+            int size = DataIO.unpackInt(in);
+            if (size != COMPACT_MARKER) {
+                return deserializeLegacy(in, size);
+            }
+
+            byte version = in.readByte();
+            if (version != COMPACT_VERSION) {
+                throw new IOException("Unknown block info version " + version);
+            }
+
+            int count = DataIO.unpackInt(in);
+            List<BlockInfo> value = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                BlockInfo blockInfo = new BlockInfo();
+                blockInfo.hash = readBytes(in);
+                byte[] difficulty = readBytes(in);
+                blockInfo.cummDifficulty = difficulty == null ? null : new BigInteger(difficulty);
+                blockInfo.mainChain = in.readBoolean();
+                value.add(blockInfo);
+            }
+
+            return value;
+        }
+
+        private void writeBytes(DataOutput out, byte[] bytes) throws IOException {
+            if (bytes == null) {
+                DataIO.packInt(out, 0);
+                return;
+            }
+            DataIO.packInt(out, bytes.length);
+            out.write(bytes);
+        }
+
+        private byte[] readBytes(DataInput in) throws IOException {
+            int length = DataIO.unpackInt(in);
+            if (length == 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return bytes;
+        }
+
+        private List<BlockInfo> deserializeLegacy(DataInput in, int size) throws IOException {
             List<BlockInfo> value = null;
             try {
-                int size = DataIO.unpackInt(in);
                 byte[] data = new byte[size];
                 in.readFully(data);
 
@@ -855,6 +918,57 @@ public class IndexedBlockStore implements BlockStore {
 
     @Override
     public void load() {
+        migrateIndex();
+    }
+
+    /**
+     * Rewrites the index in the compact block info layout unless the index
+     * version recorded in the index database says it is done. The version is
+     * committed after the last level, so an interrupted migration starts over
+     * on next load, levels rewritten already are read as compact ones.
+     */
+    public void migrateIndex() {
+        w.lock();
+        try {
+            if (indexDB == null) {
+                return;
+            }
+
+            Atomic.Integer version = indexDB.atomicInteger(INDEX_VERSION_KEY);
+            if (version.get() >= COMPACT_VERSION) {
+                return;
+            }
+            // Not isEmpty(), the MapDB index map answers true with a counter enabled.
+            if (index.size() == 0) {
+                version.set(COMPACT_VERSION);
+                indexDB.commit();
+                return;
+            }
+
+            List<Long> numbers = new ArrayList<>(index.keySet());
+            Collections.sort(numbers);
+            logger.info("Migrate block index of {} levels to the compact layout", numbers.size());
+            long startTime = System.nanoTime();
+
+            int migrated = 0;
+            for (Long number : numbers) {
+                List<BlockInfo> infos = index.get(number);
+                if (infos != null) {
+                    index.put(number, infos);
+                }
+
+                if (++migrated % 10000 == 0) {
+                    indexDB.commit();
+                }
+            }
+
+            version.set(COMPACT_VERSION);
+            indexDB.commit();
+
+            logger.info("Block index migrated in {} ms", (System.nanoTime() - startTime) / 1000000);
+        } finally {
+            w.unlock();
+        }
     }
 
     public void setSessionFactory(SessionFactory sessionFactory){
@@ -6,7 +6,12 @@ import io.taucoin.core.AccountState;
 import io.taucoin.core.Block;
 import io.taucoin.core.Repository;
 import io.taucoin.core.Utils;
+import io.taucoin.datasource.KeyRange;
+import io.taucoin.datasource.KeyValueCursor;
+import io.taucoin.datasource.KeyValueCursors;
 import io.taucoin.datasource.KeyValueDataSource;
+import io.taucoin.datasource.RocksDbDataSource;
+import io.taucoin.db.state.StateSnapshotSource;
 import io.taucoin.json.EtherObjectMapper;
 import io.taucoin.json.JSONHelper;
 import io.taucoin.util.Functional;
@@ -43,7 +48,7 @@ import static io.taucoin.config.SystemProperties.CONFIG;
  * @author taucoin core
  * @since 01.07.2019
  */
-public class RepositoryImpl implements io.taucoin.facade.Repository{
+public class RepositoryImpl implements io.taucoin.facade.Repository, StateSnapshotSource {
 
     public final static String STATE_DB = "state";
 
@@ -51,20 +56,33 @@ public class RepositoryImpl implements io.taucoin.facade.Repository{
     private static final Logger gLogger = LoggerFactory.getLogger("general");
 
     Map<byte[], byte[]> writeBatch = new HashMap<>();
+    // Decoded copies of the writeBatch states, cached on flush.
+    Map<ByteArrayWrapper, AccountState> pendingStates = new HashMap<>();
 
     private static final String MAX_NUMBER_KEY_STR = "REPO_LATEST_NUMBER";
     private static final byte[] MAX_NUMBER_KEY = MAX_NUMBER_KEY_STR.getBytes();
 
     private KeyValueDataSource stateDB = null;
 
+    // Null if disabled.
+    private AccountStateCache accountCache = null;
+
     public RepositoryImpl() {
     }
 
     public RepositoryImpl(KeyValueDataSource stateDS) {
+        this(stateDS, 0);
+    }
+
+    public RepositoryImpl(KeyValueDataSource stateDS, long cacheSize) {
 
         stateDS.setName(STATE_DB);
         stateDS.init();
         this.stateDB = stateDS;
+        if (cacheSize > 0) {
+            this.accountCache = new AccountStateCache(cacheSize);
+        }
+        RepositoryMetrics.register(accountCache);
     }
 
     @Override
@@ -73,6 +91,9 @@ public class RepositoryImpl implements io.taucoin.facade.Repository{
 
         // Clear stateDB data.
         clearStateDB();
+        if (accountCache != null) {
+            accountCache.clear();
+        }
         stateDB.init();
     }
 
@@ -89,7 +110,7 @@ public class RepositoryImpl implements io.taucoin.facade.Repository{
     }
 
     @Override
-    public void updateBatch(Map<ByteArrayWrapper, AccountState> stateCache) {
+    public synchronized void updateBatch(Map<ByteArrayWrapper, AccountState> stateCache) {
 
         logger.debug("updatingBatch: stateCache.size: {}", stateCache.size());
         clearAccountStateBatch();
@@ -109,6 +130,9 @@ public class RepositoryImpl implements io.taucoin.facade.Repository{
                 //updateAccountState(hash.getData(), accountState);
                 try {
                     updateAccountStateBatch(hash.getData(), accountState);
+                    if (accountCache != null) {
+                        pendingStates.put(hash, accountState.clone());
+                    }
                 }catch (RuntimeException e) {
                     logger.error("update accountState error {}",e.getMessage());
                     throw new IllegalArgumentException(e.getMessage());
@@ -135,9 +159,21 @@ public class RepositoryImpl implements io.taucoin.facade.Repository{
 
     @Override
     public synchronized void flush(long number) {
+        long start = RepositoryMetrics.flushTime.start();
         packLastestNumber(number);
         stateDB.updateBatch(writeBatch);
+
+        if (accountCache != null) {
+            for (Map.Entry<ByteArrayWrapper, AccountState> entry : pendingStates.entrySet()) {
+                byte[] addr = entry.getKey().getData();
+                accountCache.put(addr, entry.getValue(), writeBatch.get(addr).length);
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("{}", accountCache);
+            }
+        }
         clearAccountStateBatch();
+        RepositoryMetrics.flushTime.stop(start);
         gLogger.debug("flushing to disk with number {}", number);
     }
 
@@ -220,7 +256,11 @@ public class RepositoryImpl implements io.taucoin.facade.Repository{
     }
 
     private synchronized void updateAccountState(final byte[] addr, final AccountState accountState) {
-        stateDB.put(addr, accountState.getEncoded());
+        byte[] encoded = accountState.getEncoded();
+        stateDB.put(addr, encoded);
+        if (accountCache != null) {
+            accountCache.put(addr, accountState.clone(), encoded.length);
+        }
     }
 
     private synchronized void updateAccountStateBatch(final byte[] addr, final AccountState accountState) {
@@ -229,6 +269,7 @@ public class RepositoryImpl implements io.taucoin.facade.Repository{
 
     private synchronized void clearAccountStateBatch() {
         writeBatch.clear();
+        pendingStates.clear();
     }
 
     private synchronized void packLastestNumber(long number) {
@@ -248,7 +289,7 @@ public class RepositoryImpl implements io.taucoin.facade.Repository{
     }
 
     private synchronized void updateGenesisAccountState(final byte[] addr, final AccountState accountState) {
-        stateDB.put(addr, accountState.getEncoded());
+        updateAccountState(addr, accountState);
     }
 
     public synchronized BigInteger setforgePower(final byte[] addr, final BigInteger forgePower) {
@@ -263,16 +304,32 @@ public class RepositoryImpl implements io.taucoin.facade.Repository{
     @Override
     public synchronized void delete(final byte[] addr) {
         stateDB.delete(addr);
+        if (accountCache != null) {
+            accountCache.invalidate(addr);
+        }
     }
 
     @Override
     public synchronized AccountState getAccountState(final byte[] addr) {
         AccountState result = null;
+        if (accountCache != null) {
+            result = accountCache.get(addr);
+            if (result != null) {
+                return result;
+            }
+        }
+
+        long start = RepositoryMetrics.getTime.start();
         byte[] accountData = stateDB.get(addr);
 
         if (accountData != null) {
             result = new AccountState(accountData);
+            if (accountCache != null) {
+                accountCache.fill(addr, result.clone(), accountData.length,
+                        accountCache.stamp(addr));
+            }
         }
+        RepositoryMetrics.getTime.stop(start);
 
         return result;
     }
@@ -304,12 +361,26 @@ public class RepositoryImpl implements io.taucoin.facade.Repository{
                             Map<ByteArrayWrapper, AccountState> cacheAccounts) {
         AccountState account = getAccountState(addr);
 
-        account = (account == null) ? new AccountState() : account.clone();
+        // getAccountState returns a state of our own already.
+        account = (account == null) ? new AccountState() : account;
 
         ByteArrayWrapper wrappedAddress = wrap(addr);
         cacheAccounts.put(wrappedAddress, account);
     }
 
+    /**
+     * Returns the decoded account state cache, null if it is disabled.
+     */
+    public AccountStateCache getAccountStateCache() {
+        return accountCache;
+    }
+
+    @Override
+    public KeyValueCursor getAccountCursor() {
+        return KeyValueCursors.excluding(KeyValueCursors.open(stateDB, KeyRange.all()),
+                MAX_NUMBER_KEY);
+    }
+
     @Override
     public void showRepositoryChange() {
 
@@ -322,6 +393,10 @@ public class RepositoryImpl implements io.taucoin.facade.Repository{
         try {
             writeBatch.clear();
             FileUtils.deleteDirectory(new File(dbDir));
+            if ("rocksdb".equals(CONFIG.getKeyValueDataSource())) {
+                // The states are a column family of the shared database.
+                new RocksDbDataSource(STATE_DB).destroy();
+            }
         } catch (IOException e) {
             logger.error("Clear statedb error:{}", e);
         }
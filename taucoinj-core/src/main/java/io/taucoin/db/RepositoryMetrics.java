@@ -0,0 +1,57 @@
+package io.taucoin.db;
+
+import io.taucoin.metrics.Gauge;
+import io.taucoin.metrics.Histogram;
+import io.taucoin.metrics.Metrics;
+
+/**
+ * Metrics of the account states repository, shared by
+ * {@link RepositoryImpl} and {@link StripedRepositoryImpl}.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+final class RepositoryMetrics {
+
+    // Account state reads the cache missed: data source read and decoding.
+    static final Histogram getTime = Metrics.histogram("repository.get.us");
+    // Writing the states of a block as one batch, flush(number).
+    static final Histogram flushTime = Metrics.histogram("repository.flush.us");
+
+    private RepositoryMetrics() {
+    }
+
+    /**
+     * Registers the gauges of the repository caching states in
+     * 'accountCache', which may be null.
+     */
+    static void register(final AccountStateCache accountCache) {
+        if (!Metrics.isEnabled() || accountCache == null) {
+            return;
+        }
+        Metrics.gauge("repository.cache.hits", new Gauge() {
+            @Override
+            public long getValue() {
+                return accountCache.getHits();
+            }
+        });
+        Metrics.gauge("repository.cache.misses", new Gauge() {
+            @Override
+            public long getValue() {
+                return accountCache.getMisses();
+            }
+        });
+        Metrics.gauge("repository.cache.evictions", new Gauge() {
+            @Override
+            public long getValue() {
+                return accountCache.getEvictions();
+            }
+        });
+        Metrics.gauge("repository.cache.bytes", new Gauge() {
+            @Override
+            public long getValue() {
+                return accountCache.getWeight();
+            }
+        });
+    }
+}
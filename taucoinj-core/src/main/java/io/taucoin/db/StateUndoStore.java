@@ -0,0 +1,114 @@
+package io.taucoin.db;
+
+import io.taucoin.core.AccountState;
+import io.taucoin.core.Block;
+import io.taucoin.datasource.KeyValueDataSource;
+import io.taucoin.util.ByteUtil;
+import io.taucoin.util.RLP;
+import io.taucoin.util.RLPList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Persistent undo journal of the account states, one entry per main chain
+ * block: the states its accounts had before the block was applied.
+ *
+ * Entries are keyed by block number, a main chain height has one block,
+ * and hold the block hash, so an entry left by another branch is a miss.
+ * Only the last 'keepBlocks' entries are kept, the ones a re-branch
+ * within the mutable range may need.
+ *
+ * An entry is the rlp list [block hash, [[address, encoded state], ...]]
+ * where an empty state means the account didn't exist.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class StateUndoStore {
+
+    private static final Logger logger = LoggerFactory.getLogger("blockchain");
+
+    public final static String STATEUNDO_DB = "stateundo";
+
+    private KeyValueDataSource undoDB;
+
+    public StateUndoStore(KeyValueDataSource undoDS) {
+        undoDS.setName(STATEUNDO_DB);
+        undoDS.init();
+        this.undoDB = undoDS;
+    }
+
+    /**
+     * Records the states the accounts changed by 'block' had before it, null
+     * for an account it created, and drops the entry 'keepBlocks' below it.
+     */
+    public synchronized void put(Block block, Map<ByteArrayWrapper, AccountState> preImages,
+            long keepBlocks) {
+        byte[][] accounts = new byte[preImages.size()][];
+        int i = 0;
+        for (Map.Entry<ByteArrayWrapper, AccountState> entry : preImages.entrySet()) {
+            AccountState state = entry.getValue();
+            accounts[i++] = RLP.encodeList(RLP.encodeElement(entry.getKey().getData()),
+                    RLP.encodeElement(state == null ? ByteUtil.EMPTY_BYTE_ARRAY : state.getEncoded()));
+        }
+
+        byte[] encoded = RLP.encodeList(RLP.encodeElement(block.getHash()), RLP.encodeList(accounts));
+        Map<byte[], byte[]> rows = new HashMap<>();
+        rows.put(ByteUtil.longToBytes(block.getNumber()), encoded);
+        undoDB.updateBatch(rows);
+
+        long expired = block.getNumber() - keepBlocks;
+        if (expired >= 0) {
+            undoDB.delete(ByteUtil.longToBytes(expired));
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Undo journal of block {}: {} accounts, {} bytes",
+                    block.getNumber(), preImages.size(), encoded.length);
+        }
+    }
+
+    /**
+     * Returns the states the accounts changed by 'block' had before it,
+     * null for an account it created, or null if there is no entry for it.
+     */
+    public synchronized Map<ByteArrayWrapper, AccountState> get(Block block) {
+        byte[] encoded = undoDB.get(ByteUtil.longToBytes(block.getNumber()));
+        if (encoded == null) {
+            return null;
+        }
+
+        RLPList entry = (RLPList) RLP.decode2(encoded).get(0);
+        if (!Arrays.equals(entry.get(0).getRLPData(), block.getHash())) {
+            return null;
+        }
+
+        RLPList accounts = (RLPList) entry.get(1);
+        Map<ByteArrayWrapper, AccountState> preImages = new HashMap<>(accounts.size() * 2);
+        for (int i = 0; i < accounts.size(); i++) {
+            RLPList account = (RLPList) accounts.get(i);
+            byte[] state = account.get(1).getRLPData();
+            preImages.put(new ByteArrayWrapper(account.get(0).getRLPData()),
+                    state == null ? null : new AccountState(state));
+        }
+        return preImages;
+    }
+
+    /**
+     * Drops the entry of the block with the given number.
+     */
+    public synchronized void delete(long number) {
+        undoDB.delete(ByteUtil.longToBytes(number));
+    }
+
+    public synchronized void close() {
+        if (undoDB != null) {
+            undoDB.close();
+        }
+    }
+}
@@ -0,0 +1,486 @@
+package io.taucoin.db;
+
+import io.taucoin.core.AccountState;
+import io.taucoin.core.Repository;
+import io.taucoin.core.Utils;
+import io.taucoin.datasource.KeyRange;
+import io.taucoin.datasource.KeyValueCursor;
+import io.taucoin.datasource.KeyValueCursors;
+import io.taucoin.datasource.KeyValueDataSource;
+import io.taucoin.datasource.RocksDbDataSource;
+import io.taucoin.db.state.StateSnapshotSource;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.spongycastle.util.encoders.Hex;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static io.taucoin.config.SystemProperties.CONFIG;
+import static io.taucoin.util.ByteUtil.wrap;
+
+/**
+ * Account state repository with the same semantics as {@link RepositoryImpl},
+ * without the single monitor around every call.
+ *
+ * Reads go straight to the state data source and take no per address lock,
+ * so rpc queries and pending state validation don't wait for block application.
+ * The write batch built by {@link #updateBatch(Map)} is only visible
+ * to readers after {@link #flush(long)}, which writes it as one atomic batch,
+ * exactly like {@link RepositoryImpl}.
+ *
+ * Read modify write calls on single accounts (addBalance, increaseforgePower ...)
+ * lock one of 'stripes' locks chosen by the address hash, so that updates
+ * of different accounts run in parallel.
+ *
+ * The lifecycle lock is only taken exclusively by reset and close.
+ *
+ * Decoded account states are kept in an {@link AccountStateCache}, which is
+ * updated when states reach the data source, see {@link #flush(long)}.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class StripedRepositoryImpl implements io.taucoin.facade.Repository, StateSnapshotSource {
+
+    public final static String STATE_DB = RepositoryImpl.STATE_DB;
+
+    private static final Logger logger = LoggerFactory.getLogger("repository");
+    private static final Logger gLogger = LoggerFactory.getLogger("general");
+
+    private static final String MAX_NUMBER_KEY_STR = "REPO_LATEST_NUMBER";
+    private static final byte[] MAX_NUMBER_KEY = MAX_NUMBER_KEY_STR.getBytes();
+
+    private final KeyValueDataSource stateDB;
+
+    private final ReentrantLock[] stripes;
+    private final int stripeMask;
+
+    // Guards writeBatch, held by updateBatch and flush only.
+    private final ReentrantLock batchLock = new ReentrantLock();
+    private final Map<byte[], byte[]> writeBatch = new HashMap<>();
+    // Decoded copies of the writeBatch states, cached on flush.
+    private final Map<ByteArrayWrapper, AccountState> pendingStates = new HashMap<>();
+
+    // Null if disabled.
+    private final AccountStateCache accountCache;
+
+    private final ReentrantReadWriteLock lifecycleLock = new ReentrantReadWriteLock();
+
+    public StripedRepositoryImpl(KeyValueDataSource stateDS, int stripes, long cacheSize) {
+        stateDS.setName(STATE_DB);
+        stateDS.init();
+        this.stateDB = stateDS;
+        this.accountCache = cacheSize > 0 ? new AccountStateCache(cacheSize) : null;
+        RepositoryMetrics.register(accountCache);
+
+        // Round up to a power of two, so that the stripe is a mask of the hash.
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.stripeMask = size - 1;
+
+        logger.info("Striped repository created with {} lock stripes", size);
+    }
+
+    @Override
+    public void reset() {
+        lifecycleLock.writeLock().lock();
+        try {
+            close();
+
+            // Clear stateDB data.
+            clearStateDB();
+            if (accountCache != null) {
+                accountCache.clear();
+            }
+            stateDB.init();
+        } finally {
+            lifecycleLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lifecycleLock.writeLock().lock();
+        try {
+            if (stateDB != null) {
+                stateDB.close();
+            }
+        } finally {
+            lifecycleLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return stateDB.isAlive();
+    }
+
+    @Override
+    public void updateBatch(Map<ByteArrayWrapper, AccountState> stateCache) {
+
+        logger.debug("updatingBatch: stateCache.size: {}", stateCache.size());
+
+        lifecycleLock.readLock().lock();
+        batchLock.lock();
+        try {
+            writeBatch.clear();
+            pendingStates.clear();
+
+            ByteArrayWrapper hash;
+            AccountState accountState;
+
+            for (Map.Entry<ByteArrayWrapper, AccountState> entry : stateCache.entrySet()) {
+                hash = entry.getKey();
+                accountState = entry.getValue();
+
+                if (accountState.isDeleted()) {
+                    stateDB.delete(hash.getData());
+                    if (accountCache != null) {
+                        accountCache.invalidate(hash.getData());
+                    }
+                    logger.debug("delete: [{}]",
+                            Hex.toHexString(hash.getData()));
+                } else {
+                    try {
+                        writeBatch.put(hash.getData(), accountState.getEncoded());
+                        if (accountCache != null) {
+                            pendingStates.put(hash, accountState.clone());
+                        }
+                    } catch (RuntimeException e) {
+                        logger.error("update accountState error {}", e.getMessage());
+                        throw new IllegalArgumentException(e.getMessage());
+                    }
+
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("update: [{}],forgePower: [{}] balance: [{}] \n",
+                                Hex.toHexString(hash.getData()),
+                                accountState.getforgePower(),
+                                accountState.getBalance());
+                    }
+                }
+            }
+        } finally {
+            batchLock.unlock();
+            lifecycleLock.readLock().unlock();
+        }
+
+        logger.debug("updated: stateCache.size: {}", stateCache.size());
+
+        stateCache.clear();
+    }
+
+    @Override
+    public void flush() {
+        gLogger.debug("flushing to disk");
+    }
+
+    @Override
+    public void flush(long number) {
+        long start = RepositoryMetrics.flushTime.start();
+        lifecycleLock.readLock().lock();
+        batchLock.lock();
+        try {
+            byte[] numberBytes = new byte[8];
+            Utils.uint64ToByteArrayLE(number, numberBytes, 0);
+            writeBatch.put(MAX_NUMBER_KEY, numberBytes);
+
+            stateDB.updateBatch(writeBatch);
+
+            if (accountCache != null) {
+                for (Map.Entry<ByteArrayWrapper, AccountState> entry : pendingStates.entrySet()) {
+                    byte[] addr = entry.getKey().getData();
+                    accountCache.put(addr, entry.getValue(), writeBatch.get(addr).length);
+                }
+            }
+            writeBatch.clear();
+            pendingStates.clear();
+        } finally {
+            batchLock.unlock();
+            lifecycleLock.readLock().unlock();
+        }
+        RepositoryMetrics.flushTime.stop(start);
+        gLogger.debug("flushing to disk with number {}", number);
+        if (accountCache != null && logger.isDebugEnabled()) {
+            logger.debug("{}", accountCache);
+        }
+    }
+
+    @Override
+    public long getMaxNumber() {
+        byte[] numberBytes = get(MAX_NUMBER_KEY);
+        if (numberBytes == null) {
+            return -1L;
+        }
+
+        return Utils.readInt64(numberBytes, 0);
+    }
+
+    @Override
+    public void rollback() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void commit() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Repository startTracking() {
+        return new RepositoryTrack(this);
+    }
+
+    @Override
+    public BigInteger addBalance(byte[] addr, BigInteger value) {
+        ReentrantLock lock = lockFor(addr);
+        try {
+            AccountState account = getAccountStateOrCreateNew(addr);
+
+            BigInteger result = account.addToBalance(value);
+            putAccountState(addr, account);
+
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public BigInteger addGenesisBalance(byte[] addr, BigInteger value) {
+        return addBalance(addr, value);
+    }
+
+    @Override
+    public BigInteger getBalance(byte[] addr) {
+        AccountState account = getAccountState(addr);
+        return (account == null) ? BigInteger.ZERO : account.getBalance();
+    }
+
+    @Override
+    public BigInteger getforgePower(byte[] addr) {
+        AccountState account = getAccountState(addr);
+        return (account == null) ? BigInteger.ZERO : account.getforgePower();
+    }
+
+    @Override
+    public BigInteger increaseforgePower(byte[] addr) {
+        ReentrantLock lock = lockFor(addr);
+        try {
+            AccountState account = getAccountStateOrCreateNew(addr);
+
+            account.incrementforgePower();
+            putAccountState(addr, account);
+
+            return account.getforgePower();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public BigInteger reduceForgePower(byte[] addr) {
+        ReentrantLock lock = lockFor(addr);
+        try {
+            AccountState account = getAccountStateOrCreateNew(addr);
+
+            account.reduceForgePower();
+            putAccountState(addr, account);
+
+            return account.getforgePower();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public BigInteger setforgePower(final byte[] addr, final BigInteger forgePower) {
+        ReentrantLock lock = lockFor(addr);
+        try {
+            AccountState account = getAccountStateOrCreateNew(addr);
+
+            account.setforgePower(forgePower);
+            putAccountState(addr, account);
+
+            return account.getforgePower();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(final byte[] addr) {
+        ReentrantLock lock = lockFor(addr);
+        try {
+            lifecycleLock.readLock().lock();
+            try {
+                stateDB.delete(addr);
+                if (accountCache != null) {
+                    accountCache.invalidate(addr);
+                }
+            } finally {
+                lifecycleLock.readLock().unlock();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public AccountState getAccountState(final byte[] addr) {
+        if (accountCache == null) {
+            long start = RepositoryMetrics.getTime.start();
+            byte[] accountData = get(addr);
+            AccountState result = accountData == null ? null : new AccountState(accountData);
+            RepositoryMetrics.getTime.stop(start);
+            return result;
+        }
+
+        AccountState result = accountCache.get(addr);
+        if (result != null) {
+            return result;
+        }
+
+        long start = RepositoryMetrics.getTime.start();
+        long stamp = accountCache.stamp(addr);
+        byte[] accountData = get(addr);
+        if (accountData == null) {
+            RepositoryMetrics.getTime.stop(start);
+            return null;
+        }
+
+        result = new AccountState(accountData);
+        accountCache.fill(addr, result, accountData.length, stamp);
+        RepositoryMetrics.getTime.stop(start);
+        return result.clone();
+    }
+
+    @Override
+    public AccountState createAccount(final byte[] addr) {
+        ReentrantLock lock = lockFor(addr);
+        try {
+            AccountState accountState = new AccountState();
+            putAccountState(addr, accountState.clone());
+
+            return accountState;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public AccountState createGenesisAccount(final byte[] addr) {
+        return createAccount(addr);
+    }
+
+    @Override
+    public boolean isExist(byte[] addr) {
+        return getAccountState(addr) != null;
+    }
+
+    @Override
+    public void loadAccount(byte[] addr,
+                            Map<ByteArrayWrapper, AccountState> cacheAccounts) {
+        AccountState account = getAccountState(addr);
+
+        account = (account == null) ? new AccountState() : account;
+
+        cacheAccounts.put(wrap(addr), account);
+    }
+
+    @Override
+    public void showRepositoryChange() {
+
+    }
+
+    public int getStripes() {
+        return stripes.length;
+    }
+
+    /**
+     * Returns the decoded account state cache, null if it is disabled.
+     */
+    public AccountStateCache getAccountStateCache() {
+        return accountCache;
+    }
+
+    @Override
+    public KeyValueCursor getAccountCursor() {
+        return KeyValueCursors.excluding(KeyValueCursors.open(stateDB, KeyRange.all()),
+                MAX_NUMBER_KEY);
+    }
+
+    @Nonnull
+    private AccountState getAccountStateOrCreateNew(byte[] addr) {
+        AccountState account = getAccountState(addr);
+        return (account == null) ? new AccountState() : account;
+    }
+
+    private byte[] get(byte[] key) {
+        lifecycleLock.readLock().lock();
+        try {
+            return stateDB.get(key);
+        } finally {
+            lifecycleLock.readLock().unlock();
+        }
+    }
+
+    // Stores the account and caches it, the account is owned by the cache afterwards.
+    private void putAccountState(byte[] addr, AccountState account) {
+        byte[] encoded = account.getEncoded();
+        lifecycleLock.readLock().lock();
+        try {
+            stateDB.put(addr, encoded);
+            if (accountCache != null) {
+                accountCache.put(addr, account, encoded.length);
+            }
+        } finally {
+            lifecycleLock.readLock().unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(byte[] addr) {
+        int h = Arrays.hashCode(addr);
+        // Spread the high bits, account addresses differ everywhere
+        // but the hash of a short array mostly moves the low ones.
+        h ^= (h >>> 16);
+        ReentrantLock lock = stripes[h & stripeMask];
+        lock.lock();
+        return lock;
+    }
+
+    private void clearStateDB() {
+        String dbDir = CONFIG.databaseDir() + File.separator + STATE_DB;
+
+        logger.warn("Clear state db: {}", dbDir);
+        try {
+            batchLock.lock();
+            try {
+                writeBatch.clear();
+            } finally {
+                batchLock.unlock();
+            }
+            FileUtils.deleteDirectory(new File(dbDir));
+            if ("rocksdb".equals(CONFIG.getKeyValueDataSource())) {
+                // The states are a column family of the shared database.
+                new RocksDbDataSource(STATE_DB).destroy();
+            }
+        } catch (IOException e) {
+            logger.error("Clear statedb error:{}", e);
+        }
+    }
+}
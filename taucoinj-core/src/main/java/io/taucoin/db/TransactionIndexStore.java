@@ -0,0 +1,317 @@
+package io.taucoin.db;
+
+import io.taucoin.core.Block;
+import io.taucoin.core.Transaction;
+import io.taucoin.datasource.KeyRange;
+import io.taucoin.datasource.KeyValueCursor;
+import io.taucoin.datasource.KeyValueCursors;
+import io.taucoin.datasource.KeyValueDataSource;
+import io.taucoin.util.ByteUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.spongycastle.util.encoders.Hex;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistent index from transaction hash to its position in the main chain:
+ * block number and index in the block.
+ *
+ * It is maintained block by block by the blockchain, see {@link #addBlock(Block)}
+ * and {@link #reBranch(List, List)}. 'INDEXED_NUMBER_KEY' records the number
+ * below which every main chain block has been indexed, blocks beyond it are
+ * indexed in bulk by {@link #rebuild(BlockSource, long, long, int)}.
+ *
+ * Entries aren't trusted blindly: the blockchain checks the hash of the
+ * transaction found at the indexed position, so an entry left behind
+ * by an interrupted update is a miss, not a wrong answer.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class TransactionIndexStore {
+
+    private static final Logger logger = LoggerFactory.getLogger("blockchain");
+
+    public final static String TXINDEX_DB = "txindex";
+
+    private static final byte[] INDEXED_NUMBER_KEY = "TXINDEX_LATEST_NUMBER".getBytes();
+
+    // Blocks indexed per data source batch by the rebuild workers.
+    private static final int REBUILD_CHUNK = 64;
+
+    private KeyValueDataSource indexDB;
+
+    private long indexedNumber;
+
+    // Highest block added by the blockchain while a rebuild is running.
+    private long liveNumber = -1L;
+
+    // Lowest block re-branched while a rebuild is running, the rebuild
+    // leaves the blocks from there on to reBranch.
+    private long reBranchedFrom = Long.MAX_VALUE;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    public TransactionIndexStore(KeyValueDataSource indexDS) {
+        indexDS.setName(TXINDEX_DB);
+        indexDS.init();
+        this.indexDB = indexDS;
+
+        byte[] numberBytes = indexDB.get(INDEXED_NUMBER_KEY);
+        this.indexedNumber = numberBytes == null ? -1L : ByteUtil.byteArrayToLong(numberBytes);
+        logger.info("Transaction index loaded up to block {}", indexedNumber);
+    }
+
+    /**
+     * Supplies main chain blocks to {@link #rebuild(BlockSource, long, long, int)}.
+     */
+    public interface BlockSource {
+
+        /**
+         * Returns the main chain block with the given number, or null if it isn't stored.
+         */
+        Block getChainBlock(long number);
+    }
+
+    /**
+     * Position of a transaction in the main chain.
+     */
+    public static class Location {
+
+        private final long blockNumber;
+        private final int index;
+
+        public Location(long blockNumber, int index) {
+            this.blockNumber = blockNumber;
+            this.index = index;
+        }
+
+        public long getBlockNumber() {
+            return blockNumber;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        byte[] getEncoded() {
+            return ByteBuffer.allocate(12).putLong(blockNumber).putInt(index).array();
+        }
+
+        static Location decode(byte[] encoded) {
+            if (encoded == null || encoded.length != 12) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(encoded);
+            return new Location(buffer.getLong(), buffer.getInt());
+        }
+    }
+
+    public Location get(byte[] txHash) {
+        return Location.decode(indexDB.get(txHash));
+    }
+
+    public synchronized long getIndexedNumber() {
+        return indexedNumber;
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+
+    /**
+     * Indexes the transactions of a block just connected to the main chain.
+     */
+    public synchronized void addBlock(Block block) {
+        Map<byte[], byte[]> rows = new HashMap<>();
+        putBlockRows(block, rows);
+
+        long number = block.getNumber();
+        if (rebuilding.get()) {
+            liveNumber = Math.max(liveNumber, number);
+        } else if (number <= indexedNumber + 1) {
+            // Re-branched blocks may be below the indexed number.
+            indexedNumber = Math.max(indexedNumber, number);
+            rows.put(INDEXED_NUMBER_KEY, ByteUtil.longToBytes(indexedNumber));
+        }
+
+        indexDB.updateBatch(rows);
+    }
+
+    /**
+     * Moves the index from the blocks of the old branch to the new ones.
+     * The arguments are the lists given to {@link BlockStore#reBranchBlocks(List, List)}.
+     */
+    public synchronized void reBranch(List<Block> undoBlocks, List<Block> newBlocks) {
+        for (Block block : undoBlocks) {
+            for (Transaction tx : block.getTransactionsList()) {
+                indexDB.delete(tx.getHash());
+            }
+        }
+
+        if (rebuilding.get()) {
+            for (Block block : undoBlocks) {
+                reBranchedFrom = Math.min(reBranchedFrom, block.getNumber());
+            }
+            for (Block block : newBlocks) {
+                reBranchedFrom = Math.min(reBranchedFrom, block.getNumber());
+            }
+        }
+
+        // New blocks are given from the highest to the lowest.
+        for (int i = newBlocks.size() - 1; i >= 0; i--) {
+            addBlock(newBlocks.get(i));
+        }
+    }
+
+    /**
+     * Indexes main chain blocks [from, to] with 'threads' workers. Each worker
+     * takes the next REBUILD_CHUNK numbers, loads the blocks from 'source'
+     * and writes their rows in one batch, so memory use doesn't depend on the range.
+     * Blocks not in 'source' any more are skipped.
+     *
+     * Returns true if every block was indexed. Blocks added by the blockchain
+     * meanwhile are indexed as usual and count as indexed when the rebuild ends.
+     * A worker writes its rows under the store lock, after dropping the ones
+     * of blocks a re-branch replaced since it read them.
+     */
+    public boolean rebuild(final BlockSource source, final long from, final long to, int threads) {
+        if (from > to) {
+            return true;
+        }
+        if (!rebuilding.compareAndSet(false, true)) {
+            logger.warn("Transaction index rebuild is running already");
+            return false;
+        }
+
+        long startTime = System.nanoTime();
+        logger.info("Rebuild transaction index from {} to {} with {} threads", from, to, threads);
+
+        final AtomicLong next = new AtomicLong(from);
+        final AtomicLong indexedTxs = new AtomicLong(0);
+        final AtomicBoolean failed = new AtomicBoolean(false);
+
+        int workers = Math.max(1, threads);
+        ExecutorService executor = Executors.newFixedThreadPool(workers, new ThreadFactory() {
+            private AtomicInteger cnt = new AtomicInteger(0);
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "TxIndexRebuilder-" + cnt.getAndIncrement());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+
+        List<Future<?>> futures = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            futures.add(executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    Map<byte[], byte[]> rows = new HashMap<>();
+                    List<Block> blocks = new ArrayList<>(REBUILD_CHUNK);
+                    long start;
+                    while (!failed.get() && (start = next.getAndAdd(REBUILD_CHUNK)) <= to) {
+                        long end = Math.min(start + REBUILD_CHUNK - 1, to);
+                        for (long number = start; number <= end; number++) {
+                            Block block = source.getChainBlock(number);
+                            if (block != null) {
+                                blocks.add(block);
+                                putBlockRows(block, rows);
+                            }
+                        }
+
+                        synchronized (TransactionIndexStore.this) {
+                            if (reBranchedFrom <= end) {
+                                // The blocks read from there on may be off the main chain now.
+                                rows.clear();
+                                for (Block block : blocks) {
+                                    if (block.getNumber() < reBranchedFrom) {
+                                        putBlockRows(block, rows);
+                                    }
+                                }
+                            }
+                            indexDB.updateBatch(rows);
+                        }
+                        indexedTxs.addAndGet(rows.size());
+                        rows.clear();
+                        blocks.clear();
+                    }
+                }
+            }));
+        }
+
+        try {
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failed.set(true);
+                    logger.error("Transaction index rebuild error {}", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            failed.set(true);
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        synchronized (this) {
+            if (!failed.get() && from <= indexedNumber + 1) {
+                indexedNumber = Math.max(Math.max(indexedNumber, to), liveNumber);
+                indexDB.put(INDEXED_NUMBER_KEY, ByteUtil.longToBytes(indexedNumber));
+            }
+            liveNumber = -1L;
+            reBranchedFrom = Long.MAX_VALUE;
+            rebuilding.set(false);
+        }
+
+        logger.info("Transaction index rebuild {}: {} txs, indexed up to {}, cost {}ms",
+                failed.get() ? "failed" : "done", indexedTxs.get(), getIndexedNumber(),
+                (System.nanoTime() - startTime) / 1000000);
+        return !failed.get();
+    }
+
+    /**
+     * Drops every entry, the next {@link #rebuild} has to start from the genesis.
+     */
+    public synchronized void reset() {
+        KeyValueCursor cursor = KeyValueCursors.open(indexDB, KeyRange.all());
+        try {
+            while (cursor.next()) {
+                indexDB.delete(cursor.getKey());
+            }
+        } finally {
+            cursor.close();
+        }
+        indexedNumber = -1L;
+        logger.warn("Transaction index cleared");
+    }
+
+    public synchronized void close() {
+        if (indexDB != null) {
+            indexDB.close();
+        }
+    }
+
+    private static void putBlockRows(Block block, Map<byte[], byte[]> rows) {
+        List<Transaction> txs = block.getTransactionsList();
+        for (int i = 0; i < txs.size(); i++) {
+            byte[] hash = txs.get(i).getHash();
+            rows.put(hash, new Location(block.getNumber(), i).getEncoded());
+            if (logger.isTraceEnabled()) {
+                logger.trace("index tx {} at {}/{}", Hex.toHexString(hash), block.getNumber(), i);
+            }
+        }
+    }
+}
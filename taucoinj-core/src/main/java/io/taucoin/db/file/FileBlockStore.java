@@ -266,6 +266,10 @@ public class FileBlockStore {
         return block;
     }
 
+    public synchronized long getStartNumber() {
+        return startNumber;
+    }
+
     public synchronized long getMaxBlockNumber() {
         return maxNumber;
     }
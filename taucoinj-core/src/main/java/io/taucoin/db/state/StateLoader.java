@@ -5,25 +5,48 @@ import io.taucoin.core.Block;
 import io.taucoin.core.Repository;
 import io.taucoin.db.BlockStore;
 import io.taucoin.db.ByteArrayWrapper;
+import io.taucoin.db.StateUndoStore;
 import io.taucoin.db.file.FileBlockStore;
+import io.taucoin.listener.CompositeTaucoinListener;
 import io.taucoin.listener.TaucoinListener;
+import io.taucoin.util.RLP;
+import io.taucoin.util.RLPList;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.spongycastle.util.encoders.Hex;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import static io.taucoin.config.SystemProperties.CONFIG;
 
+/**
+ * Loads a states tag, see {@link StateSnapshotManifest}, into an empty
+ * block store and repository, and exports one with {@link StateSnapshotWriter}.
+ *
+ * The states chunks are decoded in parallel, their batches are written
+ * one at a time. The tag is verified by the checksums of its files, the
+ * number of accounts loaded and the hash of the block at the tag height.
+ * Blocks carry no state root, so the states themselves can't be checked
+ * against the chain.
+ */
 @Singleton
 public class StateLoader {
 
@@ -31,7 +54,7 @@ public class StateLoader {
 
     private static final String STATES_TAG_DIRECTORY = "states-tag";
 
-    private static final long STATES_BATCH_SIZE = 100L;
+    private static final int STATES_BATCH_SIZE = 1000;
 
     private BlockStore blockStore;
 
@@ -44,12 +67,12 @@ public class StateLoader {
     private long tagNumber = 0;
 
     private long accountAmount = 0;
-    private long accountsLoaded = 0;
+    private final AtomicLong accountsLoaded = new AtomicLong(0);
 
-    private static String sTagDir = null;
+    // Serializes the batches of the loading threads into the repository.
+    private final Object writeLock = new Object();
 
-    private HashMap<ByteArrayWrapper, AccountState> stateBatch
-            = new HashMap<ByteArrayWrapper, AccountState>();
+    private static String sTagDir = null;
 
     @Inject
     public StateLoader(BlockStore blockStore, Repository repository,
@@ -61,253 +84,208 @@ public class StateLoader {
     }
 
     public synchronized boolean loadStatesTag() {
-
-        // States-tag is just experimental.
-        return false;
-        /**
-        if (!stateTagExist()) {
-            logger.error("States tag doesn't exist");
+        File dir = new File(stateTagDir());
+        if (!new File(dir, StateSnapshotManifest.MANIFEST_FILE).isFile()) {
+            logger.info("States tag doesn't exist");
             return false;
         }
 
-        // 1. Set start number for file block store
-        setupFileBlockStore();
-
-        // 2. Load latest blocks into block store.
+        StateSnapshotManifest manifest;
+        try {
+            manifest = StateSnapshotManifest.load(dir);
+            tagNumber = manifest.getNumber();
+            accountAmount = manifest.getAccounts();
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("Invalid states tag manifest: {}", e.getMessage());
+            return false;
+        }
+        accountsLoaded.set(0);
+        logger.info("states tag number: {}, accounts amount: {}", tagNumber, accountAmount);
 
-        // First of all, unzip zip archive.
-        unzipTagFiles();
+        long start = System.currentTimeMillis();
+        try {
+            // 1. Set start number for file block store
+            fileBlockStore.setStartNumber(tagNumber + 1);
 
-        // Load blocks.
-        loadBlocks();
+            // 2. Load latest blocks into block store.
+            loadBlocks(dir, manifest);
 
-        // 3. Load states db into repository.
-        loadStates();
+            // 3. Load states db into repository.
+            loadStates(dir, manifest);
+        } catch (IOException e) {
+            logger.error("States loaded error: {}", e.getMessage());
+            resetChainData();
+            listener.onStatesLoadedFailed(tagNumber);
+            return false;
+        }
 
         // Lastly, broadcast the event of loading successfully.
         Block bestBlock = blockStore.getBestBlock();
         long bestNumber = bestBlock != null ? bestBlock.getNumber() : 0;
 
-        if ((accountsLoaded == accountAmount)
-                && (bestNumber != 0 && bestNumber == tagNumber)) {
+        if (accountsLoaded.get() == accountAmount
+                && bestNumber == tagNumber
+                && Arrays.equals(bestBlock.getHash(), manifest.getHash())
+                && repository.getMaxNumber() == tagNumber) {
             listener.onBlocksDownloaded(1L, tagNumber);
             listener.onBlockConnected(bestBlock);
             listener.onStatesLoadedCompleted(tagNumber);
-            logger.info("States loaded successfully: {}/{}",
-                accountsLoaded, accountAmount);
+            logger.info("States loaded successfully: {}/{} in {} ms",
+                    accountsLoaded.get(), accountAmount, System.currentTimeMillis() - start);
 
             return true;
         } else {
             resetChainData();
             listener.onStatesLoadedFailed(tagNumber);
-            logger.error("States loaded error: {}/{}",
-                    accountsLoaded, accountAmount);
+            logger.error("States loaded error: {}/{}, best block {}",
+                    accountsLoaded.get(), accountAmount, bestNumber);
             return false;
         }
-        */
-    }
-
-    private void setupFileBlockStore() {
-        getTagNumberAndAccountamout();
-        logger.info("states tag number: {}, accounts amount: {}", tagNumber, accountAmount);
-
-        fileBlockStore.setStartNumber(tagNumber + 1);
     }
 
-    private void loadBlocks() {
-        File f = new File(stateTagDir());
-
-        if (!f.exists() || !f.isDirectory()) {
-            return;
+    /**
+     * Exports the stored states into the states tag 'name', see {@link #exportDir},
+     * while blocks keep being imported under 'chainLock'. Needs the state undo journal.
+     */
+    public synchronized StateSnapshotManifest exportStatesTag(String name, StateUndoStore undoStore,
+            Object chainLock) throws IOException {
+        File dir = exportDir(name);
+        if (undoStore == null) {
+            throw new IOException("States tag export needs the state undo journal");
         }
-
-        File[] files = f.listFiles();
-        if (files == null || files.length == 0) {
-            return;
+        if (!(repository instanceof StateSnapshotSource)) {
+            throw new IOException("Repository " + repository.getClass().getSimpleName()
+                    + " can't be exported");
         }
-
-        for (int i = 0; i < files.length; i++) {
-            if (files[i] == null || !files[i].isFile()) {
-                continue;
-            }
-
-            String name = files[i].getName();
-            if (name.startsWith("blocks") && !name.endsWith("zip")) {
-                loadBlocks(files[i]);
-
-                // Remove blocks file.
-                files[i].delete();
-                break;
-            }
+        if (!(listener instanceof CompositeTaucoinListener)) {
+            throw new IOException("States tag export needs a composite listener");
         }
-    }
-
-    private void loadBlocks(File in) {
-        BufferedReader br = null;
-        String strLine;
-
-        try {
-            br = new BufferedReader(new FileReader(in));
-
-            while ((strLine = br.readLine()) != null) {
-                Block block = new Block(Hex.decode(strLine));
 
-                blockStore.saveBlock(block, block.getCumulativeDifficulty(), true);
-                blockStore.flush();
-                logger.info("Load block with number {}", block.getNumber());
-            }
-        } catch (FileNotFoundException e) {
-            // This should never happen.
-            logger.error("load block fatal err:{} {}", in.getName(), e);
-        } catch (IOException e) {
-            logger.error("load block fatal err:{} {}", in.getName(), e);
-        } finally {
-            try {
-                if (br != null) {
-                    br.close();
-                }
-            } catch (IOException e) {
-                logger.error("load block fatal err:{} {}", in.getName(), e);
-            }
-        }
+        StateSnapshotWriter writer = new StateSnapshotWriter(blockStore,
+                (StateSnapshotSource) repository, undoStore,
+                (CompositeTaucoinListener) listener, chainLock, CONFIG.getMutableRange() + 1);
+        return writer.export(dir);
     }
 
-    private void loadStates() {
-        File f = new File(stateTagDir());
-
-        if (!f.exists() || !f.isDirectory()) {
-            return;
-        }
-
-        File[] files = f.listFiles();
-        if (files == null || files.length == 0) {
-            return;
-        }
-
-        for (int i = 0; i < files.length; i++) {
-            if (files[i] == null || !files[i].isFile()) {
-                continue;
-            }
-
-            String name = files[i].getName();
-            if (name.startsWith("states") && !name.endsWith("zip")) {
-                loadStates(files[i]);
+    private void loadBlocks(File dir, StateSnapshotManifest manifest) throws IOException {
+        final byte[][] lastHash = new byte[1][];
+        long blocks = StateSnapshotFiles.read(new File(dir, StateSnapshotManifest.BLOCKS_FILE),
+                manifest.getChecksum(StateSnapshotManifest.BLOCKS_FILE),
+                new StateSnapshotFiles.ItemHandler() {
+                    @Override
+                    public void onItem(byte[] item) throws IOException {
+                        Block block = new Block(item);
+                        if (lastHash[0] != null
+                                && !Arrays.equals(lastHash[0], block.getPreviousHeaderHash())) {
+                            throw new IOException("Block " + block.getNumber()
+                                    + " doesn't follow its predecessor");
+                        }
+                        blockStore.saveBlock(block, block.getCumulativeDifficulty(), true);
+                        lastHash[0] = block.getHash();
+                    }
+                });
+        blockStore.flush();
 
-                // Remove states tag file.
-                files[i].delete();
-            }
+        if (blocks != manifest.getBlocks() || !Arrays.equals(lastHash[0], manifest.getHash())) {
+            throw new IOException("Blocks don't end at the tag block "
+                    + Hex.toHexString(manifest.getHash()));
         }
+        logger.info("Loaded {} blocks up to {}", blocks, tagNumber);
     }
 
-    private void loadStates(File in) {
-        BufferedReader br = null;
-        String strLine;
-
-        try {
-            br = new BufferedReader(new FileReader(in));
-
-            while ((strLine = br.readLine()) != null) {
-                StateRecord state = new StateRecord(strLine);
-
-                if (state.isValid()) {
-                    logger.info("state record: {}", state);
-                    stateBatch.put(state.getAddress(), state.getAccountState());
-                    accountsLoaded++;
-
-                    if (accountsLoaded % STATES_BATCH_SIZE == 0) {
-                        flushStates();
-                        logger.info("states loading progress {}/{}",
-                                accountsLoaded, accountAmount);
-                        listener.onStatesLoaded(accountsLoaded, accountAmount);
-                    }
-                } else {
-                    logger.warn("Invalid state record: {}", strLine);
+    private void loadStates(final File dir, final StateSnapshotManifest manifest)
+            throws IOException {
+        int chunks = manifest.getChunks();
+        if (chunks > 0) {
+            int threads = Math.min(chunks, Runtime.getRuntime().availableProcessors());
+            ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+                private AtomicInteger cnt = new AtomicInteger(0);
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "StateLoader-" + cnt.getAndIncrement());
+                    t.setDaemon(true);
+                    return t;
                 }
+            });
+
+            List<Callable<Long>> tasks = new ArrayList<>(chunks);
+            for (int i = 0; i < chunks; i++) {
+                final String name = StateSnapshotManifest.chunkFile(i);
+                tasks.add(new Callable<Long>() {
+                    @Override
+                    public Long call() throws IOException {
+                        return loadStates(new File(dir, name), manifest.getChecksum(name), false);
+                    }
+                });
             }
 
-            if (stateBatch.size() > 0) {
-                flushStates();
-                logger.info("states loading progress {}/{}", accountsLoaded,
-                        accountAmount);
-                listener.onStatesLoaded(accountsLoaded, accountAmount);
-            }
-        } catch (FileNotFoundException e) {
-            // This should never happen.
-            logger.error("load states fatal err:{} {}", in.getName(), e);
-        } catch (IOException e) {
-            logger.error("load states fatal err:{} {}", in.getName(), e);
-        } finally {
             try {
-                if (br != null) {
-                    br.close();
+                for (Future<Long> future : executor.invokeAll(tasks)) {
+                    future.get();
                 }
-            } catch (IOException e) {
-                logger.error("load states fatal err:{} {}", in.getName(), e);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException ? (IOException) e.getCause()
+                        : new IOException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("States loading interrupted");
+            } finally {
+                executor.shutdownNow();
             }
         }
-    }
 
-    private void flushStates() {
-        repository.updateBatch(stateBatch);
-        repository.flush(tagNumber);
-        stateBatch.clear();
+        // The states changed while the tag was written, put back as of the tag.
+        long rewound = loadStates(new File(dir, StateSnapshotManifest.REWIND_FILE),
+                manifest.getChecksum(StateSnapshotManifest.REWIND_FILE), true);
+        logger.info("Rewound {} states to the tag", rewound);
     }
 
-    private void getTagNumberAndAccountamout() {
-        File f = new File(stateTagDir());
-
-        if (!f.exists() || !f.isDirectory()) {
-            return;
-        }
-
-        File[] files = f.listFiles();
-        if (files == null || files.length == 0) {
-            return;
-        }
-
-        for (int i = 0; i < files.length; i++) {
-            if (files[i] == null || !files[i].isFile()) {
-                continue;
-            }
+    private long loadStates(File in, byte[] checksum, final boolean rewind) throws IOException {
+        final Map<ByteArrayWrapper, AccountState> stateBatch = new HashMap<>();
+        long records = StateSnapshotFiles.read(in, checksum, new StateSnapshotFiles.ItemHandler() {
+            @Override
+            public void onItem(byte[] item) throws IOException {
+                RLPList record = (RLPList) RLP.decode2(item).get(0);
+                byte[] address = record.get(0).getRLPData();
+                byte[] encoded = record.get(1).getRLPData();
+
+                AccountState state;
+                if (encoded != null) {
+                    state = new AccountState(encoded);
+                } else if (rewind) {
+                    // The account didn't exist at the tag.
+                    state = new AccountState();
+                    state.setDeleted(true);
+                } else {
+                    throw new IOException("Empty state in " + Hex.toHexString(address));
+                }
+                stateBatch.put(new ByteArrayWrapper(address), state);
 
-            String name = files[i].getName();
-            if (tagNumber == 0 && accountAmount == 0
-                    && name.startsWith("states") && name.endsWith("zip")) {
-                String[] elements = name.split("_");
-                if (elements != null && elements.length >= 3) {
-                    tagNumber = Long.parseLong(elements[1]);
-                    accountAmount = Long.parseLong(elements[2]);
-                    break;
+                if (stateBatch.size() >= STATES_BATCH_SIZE) {
+                    flushStates(stateBatch, rewind);
                 }
             }
-        }
-    }
+        });
 
-    private void unzipTagFiles() {
-        File f = new File(stateTagDir());
-
-        if (!f.exists() || !f.isDirectory()) {
-            return;
+        if (stateBatch.size() > 0) {
+            flushStates(stateBatch, rewind);
         }
+        logger.debug("Loaded {} states from {}", records, in.getName());
+        return records;
+    }
 
-        File[] files = f.listFiles();
-        if (files == null || files.length == 0) {
-            return;
+    private void flushStates(Map<ByteArrayWrapper, AccountState> stateBatch, boolean rewind) {
+        int size = stateBatch.size();
+        synchronized (writeLock) {
+            repository.updateBatch(stateBatch);
+            repository.flush(tagNumber);
         }
+        stateBatch.clear();
 
-        for (int i = 0; i < files.length; i++) {
-            if (files[i] == null || !files[i].isFile()) {
-                continue;
-            }
-
-            String name = files[i].getName();
-            if (files[i] != null && name.endsWith("zip")) {
-                logger.info("unzip file {}, dest dir {}", name, stateTagDir());
-                ZipUtils.unzipFile(files[i], stateTagDir(),
-                        name.substring(0, name.indexOf(".zip")));
-            }
+        if (!rewind) {
+            long loaded = accountsLoaded.addAndGet(size);
+            logger.info("states loading progress {}/{}", loaded, accountAmount);
+            listener.onStatesLoaded(loaded, accountAmount);
         }
-
     }
 
     private void resetChainData() {
@@ -317,17 +295,23 @@ public class StateLoader {
         fileBlockStore.setStartNumber(1L);
     }
 
-    private boolean stateTagExist() {
-        File f = new File(stateTagDir());
-
-        if (f.exists()) {
-            if (!f.isDirectory()) {
-                return false;
-            }
-            return true;
+    /**
+     * Returns the directory the states tag 'name' is exported to, in the
+     * 'database.statesTags' directory. The name is a plain file name, without
+     * separators, so that nothing is written outside of that directory.
+     */
+    static File exportDir(String name) {
+        if (name == null || name.isEmpty() || name.equals(".") || name.equals("..")
+                || name.indexOf('/') >= 0 || name.indexOf('\\') >= 0
+                || name.indexOf(':') >= 0 || name.indexOf('\0') >= 0) {
+            throw new IllegalArgumentException("Invalid states tag name: " + name);
         }
 
-        return false;
+        File root = new File(CONFIG.databaseStatesTagsDir());
+        if (!root.isAbsolute()) {
+            root = new File(CONFIG.databaseDir(), CONFIG.databaseStatesTagsDir());
+        }
+        return new File(root, name);
     }
 
     private static String stateTagDir() {
@@ -0,0 +1,171 @@
+package io.taucoin.db.state;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reads and writes the gzip compressed rlp item files of a states tag,
+ * see {@link StateSnapshotManifest}.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+class StateSnapshotFiles {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Receives the items of a file in order.
+     */
+    interface ItemHandler {
+
+        void onItem(byte[] item) throws IOException;
+    }
+
+    /**
+     * Writes items into a file and computes the sha256 of what it wrote.
+     */
+    static class ItemWriter {
+
+        private final MessageDigest digest;
+        private final OutputStream out;
+        private long items = 0;
+
+        ItemWriter(File file) throws IOException {
+            this.digest = sha256();
+            this.out = new GZIPOutputStream(new DigestOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE), digest),
+                    BUFFER_SIZE);
+        }
+
+        void write(byte[] item) throws IOException {
+            out.write(item);
+            items++;
+        }
+
+        long getItems() {
+            return items;
+        }
+
+        /**
+         * Closes the file and returns its sha256.
+         */
+        byte[] close() throws IOException {
+            out.close();
+            return digest.digest();
+        }
+    }
+
+    private StateSnapshotFiles() {
+    }
+
+    /**
+     * Checks the sha256 of the file against 'checksum', then hands its items
+     * to 'handler'. Returns the number of items.
+     */
+    static long read(File file, byte[] checksum, ItemHandler handler) throws IOException {
+        if (checksum == null || !Arrays.equals(checksum, sha256(file))) {
+            throw new IOException("Checksum mismatch of " + file.getName());
+        }
+
+        long items = 0;
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(new FileInputStream(file), BUFFER_SIZE), BUFFER_SIZE));
+        try {
+            byte[] item;
+            while ((item = readItem(in)) != null) {
+                handler.onItem(item);
+                items++;
+            }
+        } finally {
+            in.close();
+        }
+        return items;
+    }
+
+    static byte[] sha256(File file) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        InputStream in = new FileInputStream(file);
+        try {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        } finally {
+            in.close();
+        }
+        return digest.digest();
+    }
+
+    // Returns the next whole rlp item, or null at the end of the stream.
+    private static byte[] readItem(DataInputStream in) throws IOException {
+        int prefix = in.read();
+        if (prefix < 0) {
+            return null;
+        }
+
+        int lengthOfLength = 0;
+        long length;
+        if (prefix < 0x80) {
+            return new byte[] {(byte) prefix};
+        } else if (prefix <= 0xB7) {
+            length = prefix - 0x80;
+        } else if (prefix < 0xC0) {
+            lengthOfLength = prefix - 0xB7;
+            length = -1;
+        } else if (prefix <= 0xF7) {
+            length = prefix - 0xC0;
+        } else {
+            lengthOfLength = prefix - 0xF7;
+            length = -1;
+        }
+
+        byte[] lengthBytes = new byte[lengthOfLength];
+        if (lengthOfLength > 0) {
+            if (lengthOfLength > 4) {
+                throw new IOException("Too long rlp item");
+            }
+            in.readFully(lengthBytes);
+            length = 0;
+            for (byte b : lengthBytes) {
+                length = (length << 8) | (b & 0xFF);
+            }
+        }
+        if (length > Integer.MAX_VALUE - 1 - lengthOfLength) {
+            throw new IOException("Too long rlp item");
+        }
+
+        byte[] item = new byte[(int) (1 + lengthOfLength + length)];
+        item[0] = (byte) prefix;
+        System.arraycopy(lengthBytes, 0, item, 1, lengthOfLength);
+        try {
+            in.readFully(item, 1 + lengthOfLength, (int) length);
+        } catch (EOFException e) {
+            throw new IOException("Truncated rlp item");
+        }
+        return item;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
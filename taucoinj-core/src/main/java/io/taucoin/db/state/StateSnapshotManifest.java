@@ -0,0 +1,138 @@
+package io.taucoin.db.state;
+
+import org.spongycastle.util.encoders.Hex;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+/**
+ * Description of a states tag: the block it was taken at and the
+ * files holding it with their sha256 checksums.
+ *
+ * A states tag directory holds:
+ *   manifest.properties     this description
+ *   blocks.gz               the last blocks up to the tag block
+ *   states_[i].gz           the account states, in 'chunks' files
+ *   states_rewind.gz        states to put over the chunks, see {@link StateSnapshotWriter}
+ *
+ * Each .gz file is a gzip compressed sequence of rlp items: encoded blocks
+ * for the blocks file, [address, encoded account state] lists for the
+ * states files where an empty state means the account doesn't exist.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class StateSnapshotManifest {
+
+    public static final String MANIFEST_FILE = "manifest.properties";
+    public static final String BLOCKS_FILE = "blocks.gz";
+    public static final String REWIND_FILE = "states_rewind.gz";
+
+    private static final int VERSION = 1;
+
+    private final Properties properties;
+
+    public StateSnapshotManifest(long number, byte[] hash) {
+        this.properties = new Properties();
+        properties.setProperty("version", String.valueOf(VERSION));
+        properties.setProperty("number", String.valueOf(number));
+        properties.setProperty("hash", Hex.toHexString(hash));
+    }
+
+    private StateSnapshotManifest(Properties properties) {
+        this.properties = properties;
+    }
+
+    public static String chunkFile(int index) {
+        return "states_" + index + ".gz";
+    }
+
+    /**
+     * Loads the manifest of the states tag in 'dir'.
+     */
+    public static StateSnapshotManifest load(File dir) throws IOException {
+        Properties properties = new Properties();
+        InputStream in = new FileInputStream(new File(dir, MANIFEST_FILE));
+        try {
+            properties.load(in);
+        } finally {
+            in.close();
+        }
+
+        if (!String.valueOf(VERSION).equals(properties.getProperty("version"))) {
+            throw new IOException("Unsupported states tag version "
+                    + properties.getProperty("version"));
+        }
+        return new StateSnapshotManifest(properties);
+    }
+
+    /**
+     * Writes the manifest into 'dir', last, so that a tag with
+     * a manifest has all its files.
+     */
+    public void store(File dir) throws IOException {
+        OutputStream out = new FileOutputStream(new File(dir, MANIFEST_FILE));
+        try {
+            properties.store(out, "states tag");
+        } finally {
+            out.close();
+        }
+    }
+
+    public long getNumber() {
+        return getLong("number");
+    }
+
+    public byte[] getHash() {
+        return Hex.decode(properties.getProperty("hash"));
+    }
+
+    public long getAccounts() {
+        return getLong("accounts");
+    }
+
+    public void setAccounts(long accounts) {
+        properties.setProperty("accounts", String.valueOf(accounts));
+    }
+
+    public int getChunks() {
+        return (int) getLong("chunks");
+    }
+
+    public void setChunks(int chunks) {
+        properties.setProperty("chunks", String.valueOf(chunks));
+    }
+
+    public long getBlocks() {
+        return getLong("blocks");
+    }
+
+    public void setBlocks(long blocks) {
+        properties.setProperty("blocks", String.valueOf(blocks));
+    }
+
+    /**
+     * Returns the sha256 of the file with the given name, or null.
+     */
+    public byte[] getChecksum(String file) {
+        String checksum = properties.getProperty(file + ".sha256");
+        return checksum == null ? null : Hex.decode(checksum);
+    }
+
+    public void setChecksum(String file, byte[] checksum) {
+        properties.setProperty(file + ".sha256", Hex.toHexString(checksum));
+    }
+
+    private long getLong(String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException("No " + key + " in states tag manifest");
+        }
+        return Long.parseLong(value);
+    }
+}
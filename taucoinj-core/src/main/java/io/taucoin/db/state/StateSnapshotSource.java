@@ -0,0 +1,22 @@
+package io.taucoin.db.state;
+
+import io.taucoin.datasource.KeyValueCursor;
+
+/**
+ * Repository whose stored account states can be read out for a snapshot.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public interface StateSnapshotSource {
+
+    /**
+     * Opens a cursor over the stored account states, keyed by address.
+     */
+    KeyValueCursor getAccountCursor();
+
+    /**
+     * Returns the number of the last block whose states are stored.
+     */
+    long getMaxNumber();
+}
@@ -0,0 +1,208 @@
+package io.taucoin.db.state;
+
+import io.taucoin.core.AccountState;
+import io.taucoin.core.Block;
+import io.taucoin.datasource.KeyValueCursor;
+import io.taucoin.db.BlockStore;
+import io.taucoin.db.ByteArrayWrapper;
+import io.taucoin.db.StateUndoStore;
+import io.taucoin.listener.CompositeTaucoinListener;
+import io.taucoin.listener.TaucoinListenerAdapter;
+import io.taucoin.util.ByteUtil;
+import io.taucoin.util.RLP;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes a states tag of the stored account states while blocks keep
+ * being imported.
+ *
+ * The tag height is the last flushed block when the export starts. The
+ * accounts are then read with a cursor, each one as of some block at or above
+ * the tag. Once all of them are read, the undo journals of the blocks above
+ * the tag hold the states the accounts changed since had at the tag: the
+ * first journal entry of an account after the tag is its state at the tag.
+ * Those go into the rewind file which the loader puts over the chunks.
+ *
+ * A re-branch during the export invalidates the journals already passed,
+ * so the export fails if a block is disconnected meanwhile, as it does if
+ * the journal of a block above the tag is missing.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class StateSnapshotWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger("stateloader");
+
+    public static final int CHUNK_ACCOUNTS = 10000;
+
+    private final BlockStore blockStore;
+    private final StateSnapshotSource source;
+    private final StateUndoStore undoStore;
+    private final CompositeTaucoinListener listener;
+    private final Object chainLock;
+    private final int keepBlocks;
+
+    private volatile boolean disconnected;
+
+    private final TaucoinListenerAdapter disconnectWatcher = new TaucoinListenerAdapter() {
+        @Override
+        public void onBlockDisconnected(Block block) {
+            disconnected = true;
+        }
+    };
+
+    /**
+     * 'chainLock' is the lock blocks are imported under, it is held only
+     * while the tag height is chosen. The last 'keepBlocks' blocks up to the
+     * tag block are written into the tag.
+     */
+    public StateSnapshotWriter(BlockStore blockStore, StateSnapshotSource source,
+            StateUndoStore undoStore, CompositeTaucoinListener listener, Object chainLock,
+            int keepBlocks) {
+        this.blockStore = blockStore;
+        this.source = source;
+        this.undoStore = undoStore;
+        this.listener = listener;
+        this.chainLock = chainLock;
+        this.keepBlocks = keepBlocks;
+    }
+
+    /**
+     * Writes a states tag into 'dir' and returns its manifest.
+     */
+    public synchronized StateSnapshotManifest export(File dir) throws IOException {
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Can't create states tag directory " + dir);
+        }
+        // A manifest left there would vouch for the files being rewritten.
+        File manifestFile = new File(dir, StateSnapshotManifest.MANIFEST_FILE);
+        if (manifestFile.exists() && !manifestFile.delete()) {
+            throw new IOException("Can't delete " + manifestFile);
+        }
+
+        long start = System.currentTimeMillis();
+        long tag;
+        Block tagBlock;
+        synchronized (chainLock) {
+            disconnected = false;
+            listener.addListener(disconnectWatcher);
+            tag = source.getMaxNumber();
+            tagBlock = blockStore.getChainBlockByNumber(tag);
+        }
+
+        try {
+            if (tagBlock == null) {
+                throw new IOException("No block at states tag height " + tag);
+            }
+            StateSnapshotManifest manifest = new StateSnapshotManifest(tag, tagBlock.getHash());
+            logger.info("Exporting states tag {} into {}", tag, dir);
+
+            long accounts = 0;
+            int chunks = 0;
+            StateSnapshotFiles.ItemWriter writer = null;
+            KeyValueCursor cursor = source.getAccountCursor();
+            try {
+                while (cursor.next()) {
+                    if (writer == null) {
+                        writer = new StateSnapshotFiles.ItemWriter(
+                                new File(dir, StateSnapshotManifest.chunkFile(chunks)));
+                    }
+                    writer.write(RLP.encodeList(RLP.encodeElement(cursor.getKey()),
+                            RLP.encodeElement(cursor.getValue())));
+                    accounts++;
+
+                    if (writer.getItems() == CHUNK_ACCOUNTS) {
+                        manifest.setChecksum(StateSnapshotManifest.chunkFile(chunks),
+                                writer.close());
+                        chunks++;
+                        writer = null;
+                    }
+                }
+            } finally {
+                cursor.close();
+            }
+            if (writer != null) {
+                manifest.setChecksum(StateSnapshotManifest.chunkFile(chunks), writer.close());
+                chunks++;
+            }
+
+            // The states read above are of blocks up to this one. An account
+            // deleted meanwhile is missing from the chunks, its journal entry
+            // puts it back.
+            long end = source.getMaxNumber();
+            Map<ByteArrayWrapper, byte[]> rewind = rewindStates(tag, end);
+
+            StateSnapshotFiles.ItemWriter rewindWriter = new StateSnapshotFiles.ItemWriter(
+                    new File(dir, StateSnapshotManifest.REWIND_FILE));
+            for (Map.Entry<ByteArrayWrapper, byte[]> entry : rewind.entrySet()) {
+                rewindWriter.write(RLP.encodeList(RLP.encodeElement(entry.getKey().getData()),
+                        RLP.encodeElement(entry.getValue())));
+            }
+            manifest.setChecksum(StateSnapshotManifest.REWIND_FILE, rewindWriter.close());
+
+            long blocks = writeBlocks(dir, tag, manifest);
+
+            if (disconnected) {
+                throw new IOException("Chain re-branched during the export");
+            }
+
+            manifest.setAccounts(accounts);
+            manifest.setChunks(chunks);
+            manifest.setBlocks(blocks);
+            manifest.store(dir);
+
+            logger.info("States tag {} exported: {} accounts in {} chunks, {} rewound"
+                    + " up to block {}, {} blocks, {} ms", tag, accounts, chunks,
+                    rewind.size(), end, blocks, System.currentTimeMillis() - start);
+            return manifest;
+        } finally {
+            listener.removeListener(disconnectWatcher);
+        }
+    }
+
+    // States at the tag of the accounts changed by the blocks in (tag, end].
+    private Map<ByteArrayWrapper, byte[]> rewindStates(long tag, long end) throws IOException {
+        Map<ByteArrayWrapper, byte[]> rewind = new HashMap<>();
+        for (long number = tag + 1; number <= end; number++) {
+            Block block = blockStore.getChainBlockByNumber(number);
+            Map<ByteArrayWrapper, AccountState> preImages =
+                    block == null ? null : undoStore.get(block);
+            if (preImages == null) {
+                throw new IOException("No undo journal of block " + number);
+            }
+
+            for (Map.Entry<ByteArrayWrapper, AccountState> entry : preImages.entrySet()) {
+                if (!rewind.containsKey(entry.getKey())) {
+                    AccountState state = entry.getValue();
+                    rewind.put(entry.getKey(),
+                            state == null ? ByteUtil.EMPTY_BYTE_ARRAY : state.getEncoded());
+                }
+            }
+        }
+        return rewind;
+    }
+
+    private long writeBlocks(File dir, long tag, StateSnapshotManifest manifest)
+            throws IOException {
+        StateSnapshotFiles.ItemWriter writer = new StateSnapshotFiles.ItemWriter(
+                new File(dir, StateSnapshotManifest.BLOCKS_FILE));
+        for (long number = Math.max(0, tag - keepBlocks + 1); number <= tag; number++) {
+            Block block = blockStore.getChainBlockByNumber(number);
+            if (block == null) {
+                writer.close();
+                throw new IOException("No block " + number + " in the block store");
+            }
+            writer.write(block.getEncoded());
+        }
+        manifest.setChecksum(StateSnapshotManifest.BLOCKS_FILE, writer.close());
+        return writer.getItems();
+    }
+}
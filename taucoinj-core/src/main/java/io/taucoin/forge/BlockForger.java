@@ -6,6 +6,8 @@ import io.taucoin.db.BlockStore;
 import io.taucoin.facade.Taucoin;
 import io.taucoin.listener.CompositeTaucoinListener;
 import io.taucoin.listener.TaucoinListenerAdapter;
+import io.taucoin.metrics.Histogram;
+import io.taucoin.metrics.Metrics;
 import io.taucoin.sync2.ChainInfoManager;
 import io.taucoin.util.Utils;
 
@@ -33,6 +35,9 @@ public class BlockForger {
 
     private static final long PULL_TX_POOL_TIMEOUT = 30000;
 
+    // How often the block template follows the pool while waiting for the slot.
+    private static final long TEMPLATE_REFRESH_INTERVAL = 1000;
+
     private static ExecutorService executor = null;//Executors.newSingleThreadExecutor();
 
     private Repository repository;
@@ -71,6 +76,13 @@ public class BlockForger {
 
     private AtomicBoolean isWaitingSyncDone = new AtomicBoolean(false);
 
+    // Keys of the multi-key mode, empty to forge with the configured key only.
+    private List<ForgerKey> forgerKeys = Collections.emptyList();
+
+    // Time from the slot wakeup to the block being handed to the import.
+    private static final Histogram handoffTime = Metrics.histogram("forge.handoff.us");
+    private long slotWakeupTime = 0;
+
     private ChainInfoManager.ChainInfoListener chainInfoListener
             = new ChainInfoManager.ChainInfoListener() {
         @Override
@@ -95,6 +107,8 @@ public class BlockForger {
     }
 
     public void init() {
+        loadForgerKeys();
+
         listener.addListener(new TaucoinListenerAdapter() {
 
             @Override
@@ -229,13 +243,15 @@ public class BlockForger {
             return ForgeStatus.BLOCK_SYNC_PROCESSING;
         }
 
-        baseTarget = ProofOfTransaction.calculateRequiredBaseTarget(bestBlock, blockStore);
-        BigInteger forgingPower = repository.getforgePower(CONFIG.getForgerCoinbase());
+        ConsensusHeaderCache headers = blockchain.getConsensusHeaderCache();
+        baseTarget = ProofOfTransaction.calculateRequiredBaseTarget(headers.put(bestBlock), headers);
+        ForgingSlot slot = getEarliestSlot(bestBlock, baseTarget);
 //        BigInteger balance = repository.getBalance(CONFIG.getForgerCoinbase());
-        if (forgingPower.longValue() <= 0) {
+        if (slot == null) {
             logger.error("Forging Power <= 0!!!");
             return ForgeStatus.FORGE_POWER_LESS_THAN_ZERO;
         }
+        BigInteger forgingPower = slot.forgingPower;
 
 //        long hisAverageFee = bestBlock.getCumulativeFee().longValue()/(bestBlock.getNumber()+1);
 //        long medianFee = chainInfoManager.getMedianFee();
@@ -259,14 +275,13 @@ public class BlockForger {
 
         logger.debug("base target {}, forging power {}", baseTarget, forgingPower);
 
-        generationSignature = ProofOfTransaction.
-                calculateNextBlockGenerationSignature(bestBlock.getGenerationSignature(), CONFIG.getForgerPubkey());
+        generationSignature = slot.generationSignature;
         logger.debug("generationSignature {}", Hex.toHexString(generationSignature));
 
-        BigInteger hit = ProofOfTransaction.calculateRandomHit(generationSignature);
+        BigInteger hit = slot.hit;
         logger.debug("hit {}", hit.longValue());
 
-        long timeInterval = ProofOfTransaction.calculateForgingTimeInterval(hit, baseTarget, forgingPower);
+        long timeInterval = slot.timeInterval;
         logger.info("timeInterval {}", timeInterval);
         BigInteger targetValue = ProofOfTransaction.calculateMinerTargetValue(baseTarget, forgingPower, timeInterval);
         logger.debug("target value {}", hit.longValue(), targetValue);
@@ -274,6 +289,15 @@ public class BlockForger {
         long timePreBlock = new BigInteger(bestBlock.getTimestamp()).longValue();
         logger.info("Block forged time {}", timePreBlock + timeInterval);
 
+        cumulativeDifficulty = ProofOfTransaction.
+                calculateCumulativeDifficulty(bestBlock.getCumulativeDifficulty(), baseTarget);
+
+        // Select the transactions now and keep them up to date while waiting,
+        // so that at the slot the block only has to be stamped and signed.
+        BlockTemplate template = new BlockTemplate(bestBlock, baseTarget,
+                generationSignature, cumulativeDifficulty, pendingState.getMemoryPool(), TNO);
+        template.refresh();
+
         if (timeNow < timePreBlock + timeInterval) {
             nextBlockForgedTimePoint = timePreBlock + timeInterval;
             long sleepTime = nextBlockForgedTimePoint - timeNow;
@@ -284,26 +308,22 @@ public class BlockForger {
                     bestBlock.getCumulativeDifficulty(), forgingPower, hit,
                     sleepTime, nextBlockForgedTimePoint, timePreBlock));
 
-            synchronized (blockchain.getLockObject()) {
-                try {
-                    resetPullTxPoolFlag();
-                    blockchain.getLockObject().wait(sleepTime * 1000);
-                } catch (InterruptedException e) {
-                    logger.warn("Forging task is interrupted");
-                    return ForgeStatus.FORGE_TASK_INTERRUPTED;
-                }
+            try {
+                resetPullTxPoolFlag();
+                waitForSlot(template, sleepTime * 1000);
+            } catch (InterruptedException e) {
+                logger.warn("Forging task is interrupted");
+                return ForgeStatus.FORGE_TASK_INTERRUPTED;
             }
         } else {
             logger.info("Forged time has lapsed");
             fireNextBlockForgedInternal(0);
-            synchronized (blockchain.getLockObject()) {
-                try {
-                    resetPullTxPoolFlag();
-                    blockchain.getLockObject().wait(10 * 1000);
-                } catch (InterruptedException e) {
-                    logger.warn("Forging task is interrupted");
-                    return ForgeStatus.FORGE_TASK_INTERRUPTED;
-                }
+            try {
+                resetPullTxPoolFlag();
+                waitForSlot(template, 10 * 1000);
+            } catch (InterruptedException e) {
+                logger.warn("Forging task is interrupted");
+                return ForgeStatus.FORGE_TASK_INTERRUPTED;
             }
         }
 
@@ -321,6 +341,7 @@ public class BlockForger {
         }
          **/
 
+        slotWakeupTime = System.nanoTime();
         logger.info("Forging thread wakeup...");
 
         synchronized(pullTxPoolLock) {
@@ -330,9 +351,6 @@ public class BlockForger {
             }
         }
 
-        cumulativeDifficulty = ProofOfTransaction.
-                calculateCumulativeDifficulty(bestBlock.getCumulativeDifficulty(), baseTarget);
-
         if (bestBlock.equals(blockchain.getBestBlock())) {
             logger.debug("~~~~~~~~~~~~~~~~~~Forging a new block...~~~~~~~~~~~~~~~~~~");
         } else {
@@ -340,8 +358,8 @@ public class BlockForger {
             return ForgeStatus.FORGE_CONTINUE;
         }
 
-        miningBlock = blockchain.createNewBlock(bestBlock, baseTarget,
-                generationSignature, cumulativeDifficulty, getAllPendingTransactions());
+        template.refresh();
+        miningBlock = template.seal(System.currentTimeMillis() / 1000, slot.key.getPrivateKey());
 
         try {
             // wow, block mined!
@@ -367,10 +385,95 @@ public class BlockForger {
 
         // broadcast the block
         logger.debug("Importing newly mined block:{} fee is: {}",newBlock.getShortHash(),newBlock.getCumulativeFee());
+        long handoffLatency = (System.nanoTime() - slotWakeupTime) / 1000;
+        handoffTime.update(handoffLatency);
+        logger.info("Block handed to import {}us after slot wakeup", handoffLatency);
         ImportResult importResult =  taucoin.addNewMinedBlock(newBlock);
         logger.debug("Mined block import result is " + importResult + " : " + newBlock.getShortHash());
     }
 
+    /**
+     * Returns the keys this node forges with.
+     */
+    public List<ForgerKey> getForgerKeys() {
+        if (!forgerKeys.isEmpty()) {
+            return forgerKeys;
+        }
+        // The configured key may be imported again at any time.
+        return Collections.singletonList(new ForgerKey(CONFIG.getForgerPrikey(),
+                CONFIG.getForgerPubkey(), CONFIG.getForgerCoinbase()));
+    }
+
+    private void loadForgerKeys() {
+        List<String> prikeys = CONFIG.getForgerPrikeys();
+        if (prikeys.isEmpty()) {
+            return;
+        }
+
+        List<ForgerKey> keys = new ArrayList<>(prikeys.size());
+        for (String prikey : prikeys) {
+            keys.add(ForgerKey.fromPrivateKey(Utils.getRawPrivateKeyString(prikey)));
+        }
+        forgerKeys = Collections.unmodifiableList(keys);
+        logger.info("Forging with {} keys", keys.size());
+    }
+
+    private ForgingSlot getEarliestSlot(Block bestBlock, BigInteger baseTarget) {
+        long startTime = System.nanoTime();
+        List<ForgerKey> keys = getForgerKeys();
+        ForgingSlot earliest = getEarliestSlot(keys, repository, bestBlock, baseTarget);
+
+        if (keys.size() > 1) {
+            logger.info("Evaluated {} forger keys on block {} in {}us, earliest {}",
+                    keys.size(), bestBlock.getNumber(), (System.nanoTime() - startTime) / 1000,
+                    earliest == null ? "none" : Hex.toHexString(earliest.key.getCoinbase()));
+        }
+        return earliest;
+    }
+
+    // Evaluates every key on top of 'bestBlock' and returns
+    // the earliest slot, or null if no key has forging power.
+    static ForgingSlot getEarliestSlot(List<ForgerKey> keys, Repository repository,
+            Block bestBlock, BigInteger baseTarget) {
+        ForgingSlot earliest = null;
+
+        for (ForgerKey key : keys) {
+            BigInteger forgingPower = repository.getforgePower(key.getCoinbase());
+            if (forgingPower.longValue() <= 0) {
+                continue;
+            }
+
+            byte[] generationSignature = ProofOfTransaction.calculateNextBlockGenerationSignature(
+                    bestBlock.getGenerationSignature(), key.getPublicKey());
+            BigInteger hit = ProofOfTransaction.calculateRandomHit(generationSignature);
+            long timeInterval = ProofOfTransaction.calculateForgingTimeInterval(
+                    hit, baseTarget, forgingPower);
+
+            if (earliest == null || timeInterval < earliest.timeInterval) {
+                earliest = new ForgingSlot(key, forgingPower, generationSignature,
+                        hit, timeInterval);
+            }
+        }
+        return earliest;
+    }
+
+    // Waits up to 'millis' for the slot, refreshing the template meanwhile.
+    // Returns early if the best block changed or forging is stopped.
+    private void waitForSlot(BlockTemplate template, long millis) throws InterruptedException {
+        Object lock = blockchain.getLockObject();
+        long deadline = System.currentTimeMillis() + millis;
+        long remaining;
+        while ((remaining = deadline - System.currentTimeMillis()) > 0 && !stopForge) {
+            synchronized (lock) {
+                lock.wait(Math.min(remaining, TEMPLATE_REFRESH_INTERVAL));
+            }
+            if (!template.getParent().equals(blockchain.getBestBlock())) {
+                return;
+            }
+            template.refresh();
+        }
+    }
+
     /*****  Listener boilerplate  ******/
 
     public void addListener(ForgerListener l) {
@@ -461,6 +564,25 @@ public class BlockForger {
         }
     }
 
+    // Forging parameters of a key on top of the best block.
+    static class ForgingSlot {
+
+        final ForgerKey key;
+        final BigInteger forgingPower;
+        final byte[] generationSignature;
+        final BigInteger hit;
+        final long timeInterval;
+
+        ForgingSlot(ForgerKey key, BigInteger forgingPower, byte[] generationSignature,
+                BigInteger hit, long timeInterval) {
+            this.key = key;
+            this.forgingPower = forgingPower;
+            this.generationSignature = generationSignature;
+            this.hit = hit;
+            this.timeInterval = timeInterval;
+        }
+    }
+
     // Forge task implementation.
     private static class ForgeTask implements Runnable, ForgerListener {
 
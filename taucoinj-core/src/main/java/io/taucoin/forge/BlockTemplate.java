@@ -0,0 +1,103 @@
+package io.taucoin.forge;
+
+import io.taucoin.config.Constants;
+import io.taucoin.core.Block;
+import io.taucoin.core.MemoryPool;
+import io.taucoin.core.Transaction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Candidate block on top of a parent, kept up to date while the forger
+ * waits for its slot so that at the slot it only has to stamp and sign it.
+ *
+ * The consensus fields are fixed by the parent and the forger key, only
+ * the transactions follow the memory pool. {@link #refresh()} reselects them
+ * when the pool version changed since the last selection, which reads the
+ * first 'maxTxs' pool entries only.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class BlockTemplate {
+
+    private static final Logger logger = LoggerFactory.getLogger("forge");
+
+    private final Block parent;
+    private final BigInteger baseTarget;
+    private final byte[] generationSignature;
+    private final BigInteger cumulativeDifficulty;
+
+    private final MemoryPool pool;
+    private final int maxTxs;
+
+    private List<Transaction> txs;
+    private BigInteger cumulativeFee;
+    private long poolVersion = -1;
+
+    public BlockTemplate(Block parent, BigInteger baseTarget, byte[] generationSignature,
+            BigInteger cumulativeDifficulty, MemoryPool pool, int maxTxs) {
+        this.parent = parent;
+        this.baseTarget = baseTarget;
+        this.generationSignature = generationSignature;
+        this.cumulativeDifficulty = cumulativeDifficulty;
+        this.pool = pool;
+        this.maxTxs = maxTxs;
+    }
+
+    public Block getParent() {
+        return parent;
+    }
+
+    /**
+     * Reselects the transactions if the pool changed, returns true if it did.
+     */
+    public synchronized boolean refresh() {
+        long version = pool.getVersion();
+        if (version == poolVersion) {
+            return false;
+        }
+
+        List<Transaction> selected = pool.getTransactions(maxTxs);
+        BigInteger fee = parent.getCumulativeFee();
+        for (Transaction tx : selected) {
+            fee = fee.add(new BigInteger(tx.getFee()));
+        }
+
+        this.txs = selected;
+        this.cumulativeFee = fee;
+        this.poolVersion = version;
+        logger.debug("Block template on {} refreshed, {} txs, pool version {}",
+                parent.getNumber(), selected.size(), version);
+        return true;
+    }
+
+    /**
+     * Returns the block of the current selection with the given timestamp,
+     * signed with 'privateKey'.
+     */
+    public synchronized Block seal(long timestamp, byte[] privateKey) {
+        if (txs == null) {
+            refresh();
+        }
+
+        Block block = new Block(Constants.BLOCK_VERSION,
+                BigInteger.valueOf(timestamp).toByteArray(),
+                parent.getHash(),
+                Constants.BLOCK_OPTION,
+                new ArrayList<Transaction>(txs));
+
+        block.setNumber(parent.getNumber() + 1);
+        block.setBaseTarget(baseTarget);
+        block.setGenerationSignature(generationSignature);
+        block.setCumulativeDifficulty(cumulativeDifficulty);
+        block.setCumulativeFee(cumulativeFee);
+        block.sign(privateKey);
+        return block;
+    }
+}
@@ -0,0 +1,39 @@
+package io.taucoin.forge;
+
+import io.taucoin.crypto.ECKey;
+
+/**
+ * Private key, public key and coinbase of an account the node forges for.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class ForgerKey {
+
+    private final byte[] privateKey;
+    private final byte[] publicKey;
+    private final byte[] coinbase;
+
+    public ForgerKey(byte[] privateKey, byte[] publicKey, byte[] coinbase) {
+        this.privateKey = privateKey;
+        this.publicKey = publicKey;
+        this.coinbase = coinbase;
+    }
+
+    public static ForgerKey fromPrivateKey(byte[] privateKey) {
+        ECKey key = ECKey.fromPrivate(privateKey);
+        return new ForgerKey(privateKey, key.getPubKey(), key.getAddress());
+    }
+
+    public byte[] getPrivateKey() {
+        return privateKey;
+    }
+
+    public byte[] getPublicKey() {
+        return publicKey;
+    }
+
+    public byte[] getCoinbase() {
+        return coinbase;
+    }
+}
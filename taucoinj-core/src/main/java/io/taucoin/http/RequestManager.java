@@ -415,6 +415,14 @@ public class RequestManager implements RequestQueue.MessageListener {
 
         List<Block> blocksList = msg.getBlocks();
 
+        if (msg.isPartial()) {
+            // The rest of the response is still being decoded,
+            // queue these blocks meanwhile.
+            sentNumbers.removeAll(coveredNumbers);
+            queue.addList(blocksList, peersManager.getRandomPeer().getId());
+            return;
+        }
+
         // return numbers not covered by response
         sentNumbers.removeAll(coveredNumbers);
         returnBlockNumbers();
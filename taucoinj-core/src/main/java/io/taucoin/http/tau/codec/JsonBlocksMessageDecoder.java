@@ -0,0 +1,138 @@
+package io.taucoin.http.tau.codec;
+
+import io.taucoin.core.Block;
+import io.taucoin.http.tau.message.BlocksMessage;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.spongycastle.util.encoders.Hex;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming decoder of json "blocks" responses.
+ *
+ * The generic path reads the whole response into a tree, prints its payload
+ * back to a string and maps that string to a message, so a response with
+ * hundreds of blocks is held several times before any block is queued.
+ * This decoder walks the content with a streaming parser instead and hands
+ * out the blocks every PART_BLOCKS blocks as partial messages.
+ *
+ * Blocks are only handed out early if "startno" and "reverse" come before
+ * "blocks", as {@link BlocksMessage.Serializer} writes them, otherwise
+ * all of them go into the last message.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class JsonBlocksMessageDecoder {
+
+    private static final Logger logger = LoggerFactory.getLogger("http");
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private static final int PART_BLOCKS = 16;
+
+    /**
+     * Receives the messages decoded from the response.
+     */
+    public interface PartListener {
+
+        void onPart(BlocksMessage part);
+    }
+
+    private JsonBlocksMessageDecoder() {
+    }
+
+    /**
+     * Decodes the response in data[0, length) if it is a "blocks" message.
+     * Partial messages go to 'listener', the last message is returned.
+     *
+     * Returns null, without calling 'listener', if the response isn't
+     * a "blocks" message, the caller then decodes it the generic way.
+     */
+    public static BlocksMessage decode(byte[] data, int length, PartListener listener)
+            throws IOException {
+        JsonParser parser = jsonFactory.createParser(data, 0, length);
+        try {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+
+            // The message name is written before the payload.
+            String message = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("message".equals(field)) {
+                    message = parser.getText();
+                } else if ("payload".equals(field)) {
+                    if (!"blocks".equals(message)
+                            || parser.getCurrentToken() != JsonToken.START_OBJECT) {
+                        return null;
+                    }
+                    return decodePayload(parser, listener);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return null;
+        } finally {
+            parser.close();
+        }
+    }
+
+    private static BlocksMessage decodePayload(JsonParser parser, PartListener listener)
+            throws IOException {
+        Long startNumber = null;
+        Boolean reverse = null;
+        List<Block> blocks = new ArrayList<Block>();
+        long taken = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("startno".equals(field)) {
+                startNumber = parser.getValueAsLong();
+            } else if ("reverse".equals(field)) {
+                reverse = parser.getValueAsBoolean();
+            } else if ("blocks".equals(field)) {
+                if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+                    throw new IOException("blocks isn't an array");
+                }
+
+                boolean streaming = startNumber != null && reverse != null;
+                while (parser.nextToken() == JsonToken.VALUE_STRING) {
+                    blocks.add(new Block(Hex.decode(parser.getText()), true));
+
+                    if (streaming && blocks.size() >= PART_BLOCKS) {
+                        long start = reverse ? startNumber - taken : startNumber + taken;
+                        BlocksMessage part = new BlocksMessage(start, reverse, blocks);
+                        part.setPartial(true);
+                        taken += blocks.size();
+                        blocks.clear();
+                        listener.onPart(part);
+                    }
+                }
+                if (parser.getCurrentToken() != JsonToken.END_ARRAY) {
+                    throw new IOException("Unexpected token in blocks " + parser.getCurrentToken());
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (startNumber == null || reverse == null) {
+            throw new IOException("Incomplete blocks message");
+        }
+
+        logger.debug("Streamed {} blocks from {}", taken + blocks.size(), startNumber);
+        long start = reverse ? startNumber - taken : startNumber + taken;
+        return new BlocksMessage(start, reverse, blocks);
+    }
+}
@@ -0,0 +1,191 @@
+package io.taucoin.http.tau.codec;
+
+import io.taucoin.core.Block;
+import io.taucoin.http.message.Message;
+import io.taucoin.http.tau.message.BlocksMessage;
+import io.taucoin.http.tau.message.HashesMessage;
+import io.taucoin.util.ByteUtil;
+import io.taucoin.util.RLP;
+import io.taucoin.util.RLPList;
+
+import io.netty.buffer.ByteBuf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental decoder of the binary content type of the http sync protocol.
+ *
+ * The content is a sequence of RLP items: the header list
+ * [message name, start number, reverse] followed by one item per element
+ * of the message, that is the net encoding of a block for "blocks"
+ * and a block hash for "hashes".
+ *
+ * Content parts are fed as they arrive and every item is decoded as soon
+ * as its last byte is there, so only the incomplete item is buffered.
+ * Blocks decoded so far are handed out by {@link #takeBlocksPart()}
+ * while the rest of the response is still being received.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class RlpMessageDecoder {
+
+    private static final Logger logger = LoggerFactory.getLogger("http");
+
+    public static final String RLP_CONTENT_TYPE = "application/x-tau-rlp";
+
+    private static final String BLOCKS = "blocks";
+    private static final String HASHES = "hashes";
+
+    private byte[] buffer = new byte[4096];
+    private int start = 0;
+    private int end = 0;
+
+    private String messageName;
+    private long startNumber;
+    private boolean reverse;
+
+    private List<Block> blocks = new ArrayList<Block>();
+    private List<byte[]> hashes = new ArrayList<byte[]>();
+
+    // Blocks handed out by takeBlocksPart so far.
+    private long taken = 0;
+
+    public RlpMessageDecoder() {
+    }
+
+    /**
+     * Decodes the items completed by this content part.
+     */
+    public void decode(ByteBuf content) {
+        int readable = content.readableBytes();
+        ensureCapacity(readable);
+        content.getBytes(content.readerIndex(), buffer, end, readable);
+        end += readable;
+
+        int length;
+        while ((length = itemLength(buffer, start, end)) > 0 && start + length <= end) {
+            byte[] item = new byte[length];
+            System.arraycopy(buffer, start, item, 0, length);
+            start += length;
+            decodeItem(item);
+        }
+    }
+
+    /**
+     * Returns the blocks decoded since the last call as a partial message,
+     * or null if there is none or the message isn't "blocks".
+     */
+    public BlocksMessage takeBlocksPart() {
+        if (!BLOCKS.equals(messageName) || blocks.isEmpty()) {
+            return null;
+        }
+
+        BlocksMessage part = new BlocksMessage(partStartNumber(), reverse, blocks);
+        part.setPartial(true);
+        taken += blocks.size();
+        blocks.clear();
+        return part;
+    }
+
+    /**
+     * Returns the message once the last content part has been decoded.
+     * For "blocks" it holds the blocks not taken by {@link #takeBlocksPart()}.
+     */
+    public Message finish() {
+        if (start != end) {
+            throw new IllegalArgumentException("Truncated rlp content, "
+                    + (end - start) + " bytes left");
+        }
+        if (messageName == null) {
+            throw new IllegalArgumentException("Empty rlp content");
+        }
+
+        if (BLOCKS.equals(messageName)) {
+            return new BlocksMessage(partStartNumber(), reverse, blocks);
+        }
+        return new HashesMessage(startNumber, reverse, hashes);
+    }
+
+    private void decodeItem(byte[] item) {
+        if (messageName == null) {
+            RLPList header = (RLPList) RLP.decode2(item).get(0);
+            messageName = new String(header.get(0).getRLPData());
+            if (!BLOCKS.equals(messageName) && !HASHES.equals(messageName)) {
+                throw new IllegalArgumentException("No such rlp message: " + messageName);
+            }
+            startNumber = ByteUtil.byteArrayToLong(header.get(1).getRLPData());
+            byte[] reverseBytes = header.get(2).getRLPData();
+            reverse = reverseBytes != null && reverseBytes[0] != 0;
+            logger.debug("rlp message {} start {} reverse {}", messageName, startNumber, reverse);
+            return;
+        }
+
+        if (BLOCKS.equals(messageName)) {
+            blocks.add(new Block(item, true));
+        } else {
+            hashes.add(RLP.decode2(item).get(0).getRLPData());
+        }
+    }
+
+    private long partStartNumber() {
+        return reverse ? startNumber - taken : startNumber + taken;
+    }
+
+    private void ensureCapacity(int size) {
+        if (end + size <= buffer.length) {
+            return;
+        }
+
+        // Drop the decoded items first, then grow if still needed.
+        int pending = end - start;
+        byte[] target = pending + size <= buffer.length ? buffer
+                : new byte[Math.max(buffer.length * 2, pending + size)];
+        System.arraycopy(buffer, start, target, 0, pending);
+        buffer = target;
+        start = 0;
+        end = pending;
+    }
+
+    // Returns the whole length of the rlp item at 'pos',
+    // or -1 if its prefix isn't complete yet.
+    private static int itemLength(byte[] data, int pos, int limit) {
+        if (pos >= limit) {
+            return -1;
+        }
+
+        int prefix = data[pos] & 0xFF;
+        if (prefix < 0x80) {
+            return 1;
+        } else if (prefix <= 0xB7) {
+            return 1 + prefix - 0x80;
+        } else if (prefix < 0xC0) {
+            return longItemLength(data, pos, limit, prefix - 0xB7);
+        } else if (prefix <= 0xF7) {
+            return 1 + prefix - 0xC0;
+        } else {
+            return longItemLength(data, pos, limit, prefix - 0xF7);
+        }
+    }
+
+    private static int longItemLength(byte[] data, int pos, int limit, int lengthOfLength) {
+        if (pos + 1 + lengthOfLength > limit) {
+            return -1;
+        }
+        if (lengthOfLength > 4) {
+            throw new IllegalArgumentException("Too long rlp item");
+        }
+
+        long length = 0;
+        for (int i = 1; i <= lengthOfLength; i++) {
+            length = (length << 8) | (data[pos + i] & 0xFF);
+        }
+        if (length > Integer.MAX_VALUE - 1 - lengthOfLength) {
+            throw new IllegalArgumentException("Too long rlp item");
+        }
+        return (int) (1 + lengthOfLength + length);
+    }
+}
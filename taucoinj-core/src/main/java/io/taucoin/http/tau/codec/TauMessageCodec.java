@@ -2,6 +2,7 @@ package io.taucoin.http.tau.codec;
 
 import io.taucoin.config.SystemProperties;
 import io.taucoin.http.message.Message;
+import io.taucoin.http.tau.message.BlocksMessage;
 import io.taucoin.http.tau.message.MessageFactory;
 import io.taucoin.listener.TaucoinListener;
 
@@ -36,6 +37,13 @@ import static io.taucoin.config.SystemProperties.CONFIG;
 
 /**
  * The Netty codec which encodes/decodes Message to http request/response
+ *
+ * Requests accept the binary content type of {@link RlpMessageDecoder}
+ * besides json when 'http.client.rlp' is on. Responses are decoded by
+ * their content type, so a peer which only knows json is still served.
+ *
+ * Blocks responses are handed to the next handler in partial messages
+ * while they are decoded, see {@link BlocksMessage#isPartial()}.
  */
 public class TauMessageCodec extends MessageToMessageCodec<HttpObject, Message> {
 
@@ -43,7 +51,12 @@ public class TauMessageCodec extends MessageToMessageCodec<HttpObject, Message>
 
     private TaucoinListener tauListener;
 
-    private ByteArrayOutputStream contentsStream = new ByteArrayOutputStream();
+    private static final int MAX_KEPT_CONTENTS = 1024 * 1024;
+
+    private ContentsStream contentsStream = new ContentsStream();
+
+    // Decoder of the current response if its content is rlp, else null.
+    private RlpMessageDecoder rlpDecoder = null;
 
     private String host;
 
@@ -57,7 +70,7 @@ public class TauMessageCodec extends MessageToMessageCodec<HttpObject, Message>
     }
 
     @Override
-    protected void decode(ChannelHandlerContext ctx, HttpObject msg, List<Object> out) throws Exception {
+    protected void decode(final ChannelHandlerContext ctx, HttpObject msg, List<Object> out) throws Exception {
         String output = String.format("From: \t%s \tRecv: \t%s", ctx.channel().remoteAddress(), msg);
         tauListener.trace(output);
         logger.debug("Receive http response {}", msg);
@@ -69,10 +82,43 @@ public class TauMessageCodec extends MessageToMessageCodec<HttpObject, Message>
             if (response.getStatus() != HttpResponseStatus.OK) {
                 throw new DecoderException("Incorrect repsonse status " + response.getStatus().toString());
             }
+
+            String contentType = response.headers().get(HttpHeaders.Names.CONTENT_TYPE);
+            if (CONFIG.httpRlpEnabled() && contentType != null
+                    && contentType.startsWith(RlpMessageDecoder.RLP_CONTENT_TYPE)) {
+                rlpDecoder = new RlpMessageDecoder();
+            } else {
+                rlpDecoder = null;
+            }
+        } else if (msg instanceof HttpContent && rlpDecoder != null) {
+            HttpContent content = (HttpContent) msg;
+
+            tauListener.onRecvHttpBytes(content.content().readableBytes());
+
+            Message message = null;
+            try {
+                rlpDecoder.decode(content.content());
+                BlocksMessage part = rlpDecoder.takeBlocksPart();
+                if (part != null) {
+                    out.add(part);
+                }
+                if (content instanceof LastHttpContent) {
+                    message = rlpDecoder.finish();
+                    rlpDecoder = null;
+                }
+            } catch (Exception e) {
+                rlpDecoder = null;
+                throw new DecoderException("decode exception", e);
+            }
+            if (message != null) {
+                out.add(message);
+            }
         } else if (msg instanceof HttpContent) {
             HttpContent content = (HttpContent) msg;
 
-            logger.debug("http content part {}", content.content().toString(CharsetUtil.UTF_8));
+            if (logger.isDebugEnabled()) {
+                logger.debug("http content part {}", content.content().toString(CharsetUtil.UTF_8));
+            }
 
             ByteBuf contents = content.content();
             contents.getBytes(0, contentsStream, contents.readableBytes());
@@ -81,11 +127,27 @@ public class TauMessageCodec extends MessageToMessageCodec<HttpObject, Message>
                 Message message;
                 try {
                     logger.debug("http response payload {}", contentsStream);
-                    message = createMessage(contentsStream);
+                    message = JsonBlocksMessageDecoder.decode(contentsStream.getBuffer(),
+                            contentsStream.size(), new JsonBlocksMessageDecoder.PartListener() {
+                                @Override
+                                public void onPart(BlocksMessage part) {
+                                    ctx.fireChannelRead(part);
+                                }
+                            });
+                    if (message != null) {
+                        tauListener.onRecvHttpBytes(contentsStream.size());
+                    } else {
+                        message = createMessage(contentsStream);
+                    }
                 } catch (Exception e) {
                     throw new DecoderException("decode exception", e);
                 } finally {
-                    contentsStream.reset();
+                    // Don't keep the buffer of a large response around.
+                    if (contentsStream.getBuffer().length > MAX_KEPT_CONTENTS) {
+                        contentsStream = new ContentsStream();
+                    } else {
+                        contentsStream.reset();
+                    }
                 }
                 out.add(message);
             }
@@ -121,6 +183,10 @@ public class TauMessageCodec extends MessageToMessageCodec<HttpObject, Message>
         request.headers().set(HttpHeaders.Names.HOST, host);
         request.headers().set(HttpHeaders.Names.CONNECTION, HttpHeaders.Values.KEEP_ALIVE);
         request.headers().set(HttpHeaders.Names.ACCEPT_ENCODING, "UTF-8");
+        if (CONFIG.httpRlpEnabled()) {
+            request.headers().set(HttpHeaders.Names.ACCEPT,
+                    RlpMessageDecoder.RLP_CONTENT_TYPE + ", application/json");
+        }
         request.headers().set(HttpHeaders.Names.CONTENT_TYPE, "application/json");
         //request.headers().set(HttpHeaders.Names.CONTENT_TYPE, "application/x-www-form-urlencoded");
         if (jsonPayload != null) {
@@ -143,4 +209,12 @@ public class TauMessageCodec extends MessageToMessageCodec<HttpObject, Message>
 
         return message;
     }
+
+    // Gives the decoders the received bytes without copying them.
+    private static class ContentsStream extends ByteArrayOutputStream {
+
+        byte[] getBuffer() {
+            return buf;
+        }
+    }
 }
@@ -99,7 +99,10 @@ public class TauHandler extends SimpleChannelInboundHandler<Message> {
 
         tauListener.trace(String.format("TauHandler invoke: [%s]", msg.getClass()));
 
-        requestQueue.receivedMessage(msg);
+        // Only the last part of a response answers the request.
+        if (!(msg instanceof BlocksMessage && ((BlocksMessage) msg).isPartial())) {
+            requestQueue.receivedMessage(msg);
+        }
 
         if (msg instanceof PoolTxsMessage) {
             processPoolTxsMessage((PoolTxsMessage)msg);
@@ -31,6 +31,10 @@ public class BlocksMessage extends Message {
     // blocks list
     private List<Block> blocks = new ArrayList<Block>();
 
+    // A part of a response decoded while it is still being received,
+    // more parts and a last, not partial, message follow.
+    private boolean partial = false;
+
     public BlocksMessage() {
     }
 
@@ -56,6 +60,14 @@ public class BlocksMessage extends Message {
         this.reverse = reverse;
     }
 
+    public boolean isPartial() {
+        return partial;
+    }
+
+    public void setPartial(boolean partial) {
+        this.partial = partial;
+    }
+
     public List<Block> getBlocks() {
         List<Block> blocks = new ArrayList<Block>();
         blocks.addAll(this.blocks);
@@ -83,6 +95,7 @@ public class BlocksMessage extends Message {
         payload.append("\nBlocksMessage[\n");
         payload.append("\tstartNumber:" + startNumber + ",\n");
         payload.append("\treverse:" + reverse + ",\n");
+        payload.append("\tpartial:" + partial + ",\n");
 
         StringBuilder blockHashes = new StringBuilder();
         blockHashes.append("[");
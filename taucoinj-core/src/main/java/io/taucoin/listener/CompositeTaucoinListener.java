@@ -155,6 +155,13 @@ public class CompositeTaucoinListener implements TaucoinListener {
         }
     }
 
+    @Override
+    public void onRecvHttpBytes(int length) {
+        for (TaucoinListener listener : listeners) {
+            listener.onRecvHttpBytes(length);
+        }
+    }
+
     @Override
     public void onChainInfoChanged(long height, byte[] previousBlockHash,
             byte[] currentBlockHash, BigInteger totalDiff, long medianFee) {
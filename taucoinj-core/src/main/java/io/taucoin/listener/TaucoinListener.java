@@ -53,6 +53,9 @@ public interface TaucoinListener {
 
     void onRecvHttpPayload(String payload);
 
+    // Http content received without building its payload string, see onRecvHttpPayload.
+    void onRecvHttpBytes(int length);
+
     void onChainInfoChanged(long height, byte[] previousBlockHash,
             byte[] currentBlockHash, BigInteger totalDiff, long medianFee);
 
@@ -97,6 +97,11 @@ public class TaucoinListenerAdapter implements TaucoinListener {
 
     }
 
+    @Override
+    public void onRecvHttpBytes(int length) {
+
+    }
+
     @Override
     public void onChainInfoChanged(long height, byte[] previousBlockHash,
             byte[] currentBlockHash, BigInteger totalDiff, long medianFee) {
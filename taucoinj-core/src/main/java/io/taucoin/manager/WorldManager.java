@@ -4,7 +4,9 @@ import io.taucoin.config.SystemProperties;
 import io.taucoin.core.*;
 import io.taucoin.db.BlockStore;
 import io.taucoin.db.ByteArrayWrapper;
+import io.taucoin.db.StateUndoStore;
 import io.taucoin.db.state.StateLoader;
+import io.taucoin.db.state.StateSnapshotManifest;
 import io.taucoin.debug.RefWatcher;
 import io.taucoin.http.RequestManager;
 import io.taucoin.listener.CompositeTaucoinListener;
@@ -16,6 +18,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.spongycastle.util.encoders.Hex;
 
+import java.io.IOException;
 import java.math.BigInteger;
 
 import javax.inject.Inject;
@@ -269,6 +272,20 @@ public class WorldManager {
             }
         }
 
+        if (blockchain instanceof BlockchainImpl && config.txIndexEnabled()) {
+            // Index in the background what the transaction index has missed,
+            // the lookups of those transactions just miss meanwhile.
+            final BlockchainImpl blockchainImpl = (BlockchainImpl) blockchain;
+            Thread indexer = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    blockchainImpl.rebuildTransactionIndex(config.txIndexRebuildFull());
+                }
+            }, "TxIndexRebuild");
+            indexer.setDaemon(true);
+            indexer.start();
+        }
+
 /* todo: return it when there is no state conflicts on the chain
         boolean dbValid = this.repository.getWorldState().validate() || bestBlock.isGenesis();
         if (!dbValid){
@@ -278,6 +295,16 @@ public class WorldManager {
 */
     }
 
+    /**
+     * Exports the current states into the states tag 'name', in the
+     * 'database.statesTags' directory, blocks keep being imported meanwhile.
+     */
+    public StateSnapshotManifest exportStatesTag(String name) throws IOException {
+        StateUndoStore undoStore = blockchain instanceof BlockchainImpl
+                ? ((BlockchainImpl) blockchain).getStateUndoStore() : null;
+        return stateLoader.exportStatesTag(name, undoStore, blockchain);
+    }
+
     public void close() {
         stopPeerDiscovery();
         stopSync();
@@ -0,0 +1,43 @@
+package io.taucoin.metrics;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic count of events.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class Counter implements Metric {
+
+    static final Counter DISABLED = new Counter(false);
+
+    private final boolean enabled;
+    private final AtomicLong count = new AtomicLong(0);
+
+    Counter(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void inc() {
+        if (enabled) {
+            count.incrementAndGet();
+        }
+    }
+
+    public void add(long n) {
+        if (enabled) {
+            count.addAndGet(n);
+        }
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    @Override
+    public void snapshot(String name, Map<String, Long> values) {
+        values.put(name, count.get());
+    }
+}
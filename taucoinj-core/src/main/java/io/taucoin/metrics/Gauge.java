@@ -0,0 +1,20 @@
+package io.taucoin.metrics;
+
+import java.util.Map;
+
+/**
+ * Value read from its owner each time the metrics are looked at, such
+ * as the size of a queue.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public abstract class Gauge implements Metric {
+
+    public abstract long getValue();
+
+    @Override
+    public void snapshot(String name, Map<String, Long> values) {
+        values.put(name, getValue());
+    }
+}
@@ -0,0 +1,126 @@
+package io.taucoin.metrics;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Distribution of non negative values, mostly durations.
+ *
+ * Values are counted in buckets, 8 per power of two, so the percentiles
+ * are read within an eighth of their value, with a fixed footprint and
+ * without locking. Timings are recorded in microseconds, see
+ * {@link #start()} and {@link #stop(long)}.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class Histogram implements Metric {
+
+    static final Histogram DISABLED = new Histogram(false);
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final boolean enabled;
+    private final AtomicLongArray buckets;
+    private final AtomicLong count = new AtomicLong(0);
+    private final AtomicLong sum = new AtomicLong(0);
+    private final AtomicLong max = new AtomicLong(0);
+
+    Histogram(boolean enabled) {
+        this.enabled = enabled;
+        this.buckets = new AtomicLongArray(enabled ? BUCKETS : 0);
+    }
+
+    public void update(long value) {
+        if (!enabled) {
+            return;
+        }
+        if (value < 0) {
+            value = 0;
+        }
+
+        buckets.incrementAndGet(bucket(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Returns the start time of a timing to {@link #stop(long)}, 0 if the
+     * metrics are disabled.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the microseconds elapsed since 'start', got from {@link #start()}.
+     */
+    public void stop(long start) {
+        if (enabled) {
+            update((System.nanoTime() - start) / 1000);
+        }
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the value under which the fraction 'quantile' of the values
+     * are, rounded up to the bound of its bucket.
+     */
+    public long getQuantile(double quantile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    @Override
+    public void snapshot(String name, Map<String, Long> values) {
+        long total = count.get();
+        values.put(name + ".count", total);
+        values.put(name + ".mean", total == 0 ? 0 : sum.get() / total);
+        values.put(name + ".p50", getQuantile(0.5));
+        values.put(name + ".p95", getQuantile(0.95));
+        values.put(name + ".p99", getQuantile(0.99));
+        values.put(name + ".max", max.get());
+    }
+
+    // Values under SUB_BUCKETS have a bucket each, the others share theirs
+    // with the values having the same highest SUB_BITS + 1 bits.
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
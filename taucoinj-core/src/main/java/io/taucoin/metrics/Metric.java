@@ -0,0 +1,18 @@
+package io.taucoin.metrics;
+
+import java.util.Map;
+
+/**
+ * A value kept in the {@link Metrics} registry.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public interface Metric {
+
+    /**
+     * Puts the current values of this metric registered as 'name' into
+     * 'values', under 'name' or names starting with it.
+     */
+    void snapshot(String name, Map<String, Long> values);
+}
@@ -0,0 +1,102 @@
+package io.taucoin.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static io.taucoin.config.SystemProperties.CONFIG;
+
+/**
+ * Registry of the block import metrics, by name.
+ *
+ * The instrumented classes keep the counters and histograms they update,
+ * gauges read values their owners already have. With 'metrics.enabled'
+ * off every name gets the same disabled metric, whose updates return
+ * right away, and nothing is registered.
+ *
+ * Registered metrics are read as one flat map of numbers, see
+ * {@link #snapshot()}, which is also exposed over JMX if 'metrics.jmx' is on.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public final class Metrics {
+
+    private static final Logger logger = LoggerFactory.getLogger("metrics");
+
+    private static final boolean enabled = CONFIG.metricsEnabled();
+
+    private static final ConcurrentMap<String, Metric> metrics = new ConcurrentHashMap<>();
+
+    static {
+        if (enabled && CONFIG.metricsJmxEnabled()) {
+            try {
+                MetricsMBean.register();
+            } catch (Throwable e) {
+                // No JMX on Android.
+                logger.warn("Metrics aren't exposed over JMX: {}", e.toString());
+            }
+        }
+    }
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static Counter counter(String name) {
+        if (!enabled) {
+            return Counter.DISABLED;
+        }
+        return register(name, new Counter(true), Counter.class);
+    }
+
+    public static Histogram histogram(String name) {
+        if (!enabled) {
+            return Histogram.DISABLED;
+        }
+        return register(name, new Histogram(true), Histogram.class);
+    }
+
+    /**
+     * Registers 'gauge' as 'name', in place of the one registered before.
+     */
+    public static void gauge(String name, Gauge gauge) {
+        if (enabled) {
+            metrics.put(name, gauge);
+        }
+    }
+
+    /**
+     * Returns the current values of all the metrics, by name.
+     */
+    public static Map<String, Long> snapshot() {
+        Map<String, Long> values = new TreeMap<>();
+        for (Map.Entry<String, Metric> entry : metrics.entrySet()) {
+            try {
+                entry.getValue().snapshot(entry.getKey(), values);
+            } catch (RuntimeException e) {
+                logger.warn("Can't read metric {}: {}", entry.getKey(), e.toString());
+            }
+        }
+        return values;
+    }
+
+    private static <T extends Metric> T register(String name, T metric, Class<T> type) {
+        Metric existing = metrics.putIfAbsent(name, metric);
+        if (existing == null) {
+            return metric;
+        }
+        if (!type.isInstance(existing)) {
+            throw new IllegalArgumentException("Metric " + name + " is a "
+                    + existing.getClass().getSimpleName());
+        }
+        return type.cast(existing);
+    }
+}
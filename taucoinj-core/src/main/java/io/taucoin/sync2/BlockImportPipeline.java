@@ -0,0 +1,385 @@
+package io.taucoin.sync2;
+
+import io.taucoin.core.Block;
+import io.taucoin.core.BlockWrapper;
+import io.taucoin.core.Transaction;
+import io.taucoin.db.BlockQueue;
+import io.taucoin.metrics.Histogram;
+import io.taucoin.metrics.Metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Staged block import in front of {@link SyncQueue}.
+ *
+ * The next 'depth' blocks of the block queue are prepared on a small worker pool:
+ * rlp decoding, block and transaction hashing, forger and sender public key
+ * recovery. These steps don't depend on chain state, so they can run ahead
+ * of the single ordered stage which applies blocks to the state and commits them.
+ *
+ * Only the sync worker thread calls {@link #take()}, {@link #recordApplied(long)}
+ * and {@link #returnTo(BlockQueue)}, so the in flight queue keeps block order,
+ * {@link #close()} may be called from any thread. The blocks in flight are
+ * out of the block queue, so queries about the queued blocks ask the
+ * pipeline too. Those come from other threads while the pool prepares the
+ * same blocks, so they only read the hash and number taken before a block
+ * is submitted, never the block itself.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class BlockImportPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger("blockqueue");
+
+    // Log stage throughput every STATS_INTERVAL applied blocks.
+    private static final int STATS_INTERVAL = 500;
+
+    private static final Histogram prepareTime = Metrics.histogram("syncqueue.prepare.us");
+
+    private final BlockQueue blockQueue;
+
+    private final int depth;
+
+    private ExecutorService preparer = null;
+
+    // Guarded by this, set once the blocks in flight went back to the queue.
+    private boolean closed = false;
+
+    private final LinkedBlockingQueue<PreparedBlock> inFlight = new LinkedBlockingQueue<>();
+
+    // Prepare stage statistics, updated from the pool threads.
+    private final AtomicLong preparedBlocks = new AtomicLong(0);
+    private final AtomicLong prepareNanos = new AtomicLong(0);
+
+    // Apply stage statistics, updated from the sync worker only.
+    private long appliedBlocks = 0;
+    private long applyNanos = 0;
+    private long windowStartedAt = System.nanoTime();
+    private long windowPreparedBlocks = 0;
+    private long windowPrepareNanos = 0;
+    private long windowAppliedBlocks = 0;
+    private long windowApplyNanos = 0;
+
+    public BlockImportPipeline(BlockQueue blockQueue, int threads, int depth) {
+        this.blockQueue = blockQueue;
+        this.depth = threads > 0 ? Math.max(depth, 0) : 0;
+
+        if (this.depth > 0) {
+            preparer = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+                private AtomicInteger cnt = new AtomicInteger(0);
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "BlockPreparer-" + cnt.getAndIncrement());
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+            logger.info("Block import pipeline enabled, threads {}, depth {}", threads, this.depth);
+        } else {
+            logger.info("Block import pipeline disabled");
+        }
+    }
+
+    public boolean isEnabled() {
+        return preparer != null;
+    }
+
+    /**
+     * Returns the next block to be applied, in block queue order.
+     * Blocks if there is neither a prepared block nor a queued one.
+     */
+    public BlockWrapper take() throws InterruptedException {
+        if (!isEnabled()) {
+            return blockQueue.take();
+        }
+
+        PreparedBlock head;
+        synchronized (this) {
+            fill();
+            head = inFlight.poll();
+        }
+        if (head == null) {
+            // Nothing was queued, wait for the next block and leave
+            // its preparation to the ordered stage, there is nothing to overlap with.
+            return blockQueue.take();
+        }
+
+        try {
+            head.future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw new PrepareException(head.wrapper, cause);
+        } finally {
+            fill();
+        }
+
+        return head.wrapper;
+    }
+
+    /**
+     * Puts every prepared but not applied block back into the block queue.
+     * Must be called before the sync worker gives a block back to the queue,
+     * otherwise the blocks in flight would be lost until the next restart.
+     *
+     * A block still being prepared is waited for, so that it isn't prepared
+     * again concurrently once polled from the queue, and it stays in flight
+     * until it is queued, so that it is always seen by one of them.
+     */
+    public synchronized void returnTo(BlockQueue queue) {
+        PreparedBlock pending;
+        while ((pending = inFlight.peek()) != null) {
+            if (!pending.future.cancel(false)) {
+                awaitPrepared(pending.future);
+            }
+            queue.add(pending.wrapper);
+            inFlight.remove(pending);
+        }
+    }
+
+    /**
+     * Returns the first block in flight, the next one to be applied, or null.
+     */
+    public BlockWrapper peek() {
+        PreparedBlock head = inFlight.peek();
+        return head == null ? null : head.wrapper;
+    }
+
+    /**
+     * Returns the highest number of the blocks in flight, or -1 if there is none.
+     */
+    public long getMaxBlockNumber() {
+        long maxNumber = -1;
+        for (PreparedBlock pending : inFlight) {
+            maxNumber = Math.max(maxNumber, pending.number);
+        }
+        return maxNumber;
+    }
+
+    public boolean isBlockExist(byte[] hash) {
+        for (PreparedBlock pending : inFlight) {
+            if (Arrays.equals(pending.hash, hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the given numbers but the ones of blocks in flight.
+     */
+    public List<Long> filterExistingNumbers(List<Long> numbers) {
+        if (inFlight.isEmpty()) {
+            return numbers;
+        }
+
+        List<Long> filtered = new ArrayList<>(numbers.size());
+        for (Long number : numbers) {
+            boolean found = false;
+            for (PreparedBlock pending : inFlight) {
+                if (pending.number == number) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                filtered.add(number);
+            }
+        }
+        return filtered;
+    }
+
+    public int inFlightSize() {
+        return inFlight.size();
+    }
+
+    public boolean isEmpty() {
+        return inFlight.isEmpty();
+    }
+
+    /**
+     * Stops preparing blocks and puts the ones in flight back into the block
+     * queue, so it must be called before the block queue is closed.
+     */
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        returnTo(blockQueue);
+        if (preparer != null) {
+            preparer.shutdownNow();
+        }
+    }
+
+    /**
+     * Records the time the ordered stage spent on one block.
+     */
+    public void recordApplied(long nanos) {
+        appliedBlocks++;
+        applyNanos += nanos;
+
+        if (appliedBlocks % STATS_INTERVAL == 0) {
+            logStats();
+        }
+    }
+
+    public long getPreparedBlocks() {
+        return preparedBlocks.get();
+    }
+
+    public long getPrepareNanos() {
+        return prepareNanos.get();
+    }
+
+    public long getAppliedBlocks() {
+        return appliedBlocks;
+    }
+
+    public long getApplyNanos() {
+        return applyNanos;
+    }
+
+    private void logStats() {
+        long now = System.nanoTime();
+        long prepared = preparedBlocks.get() - windowPreparedBlocks;
+        long preparedTime = prepareNanos.get() - windowPrepareNanos;
+        long applied = appliedBlocks - windowAppliedBlocks;
+        long appliedTime = applyNanos - windowApplyNanos;
+        long elapsed = now - windowStartedAt;
+
+        logger.info("Import pipeline: prepare {} blocks/s per thread, apply {} blocks/s,"
+                + " overall {} blocks/s, in flight {}",
+                rate(prepared, preparedTime), rate(applied, appliedTime),
+                rate(applied, elapsed), inFlight.size());
+
+        windowStartedAt = now;
+        windowPreparedBlocks += prepared;
+        windowPrepareNanos += preparedTime;
+        windowAppliedBlocks = appliedBlocks;
+        windowApplyNanos = applyNanos;
+    }
+
+    private static long rate(long blocks, long nanos) {
+        return nanos <= 0 ? 0 : blocks * 1000000000L / nanos;
+    }
+
+    private synchronized void fill() {
+        while (!closed && inFlight.size() < depth) {
+            final BlockWrapper wrapper = blockQueue.poll();
+            if (wrapper == null) {
+                break;
+            }
+
+            // Parsed here, before any pool thread sees the block.
+            byte[] hash;
+            long number;
+            try {
+                hash = wrapper.getHash();
+                number = wrapper.getNumber();
+            } catch (final RuntimeException e) {
+                // Failed as the prepare stage would, take() reports it.
+                FutureTask<Void> failed = new FutureTask<>(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        throw e;
+                    }
+                });
+                failed.run();
+                inFlight.add(new PreparedBlock(wrapper, null, -1, failed));
+                continue;
+            }
+
+            Future<?> future = preparer.submit(new Runnable() {
+                @Override
+                public void run() {
+                    long startTime = System.nanoTime();
+                    prepare(wrapper.getBlock());
+                    long time = System.nanoTime() - startTime;
+                    prepareNanos.addAndGet(time);
+                    prepareTime.update(time / 1000);
+                    preparedBlocks.incrementAndGet();
+                }
+            });
+            inFlight.add(new PreparedBlock(wrapper, hash, number, future));
+        }
+    }
+
+    private static void awaitPrepared(Future<?> future) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                future.get();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            } catch (ExecutionException | CancellationException e) {
+                // The ordered stage prepares the block again.
+                break;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Warms up every state independent value the ordered stage needs,
+     * all of them are cached inside block and transactions.
+     */
+    private static void prepare(Block block) {
+        block.getHash();
+        if (block.isMsg()) {
+            block.getForgerPublicKey();
+        }
+
+        for (Transaction tx : block.getTransactionsList()) {
+            tx.getHash();
+            tx.getSender();
+        }
+    }
+
+    /**
+     * Thrown when a block fails in the prepare stage, so that the sync worker
+     * knows which block to give back to the queue.
+     */
+    public static class PrepareException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient BlockWrapper wrapper;
+
+        PrepareException(BlockWrapper wrapper, Throwable cause) {
+            super(cause == null ? null : cause.getMessage(), cause);
+            this.wrapper = wrapper;
+        }
+
+        public BlockWrapper getWrapper() {
+            return wrapper;
+        }
+    }
+
+    private static class PreparedBlock {
+
+        final BlockWrapper wrapper;
+        final byte[] hash;
+        final long number;
+        final Future<?> future;
+
+        PreparedBlock(BlockWrapper wrapper, byte[] hash, long number, Future<?> future) {
+            this.wrapper = wrapper;
+            this.hash = hash;
+            this.number = number;
+            this.future = future;
+        }
+    }
+}
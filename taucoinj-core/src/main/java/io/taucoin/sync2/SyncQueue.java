@@ -7,6 +7,10 @@ import io.taucoin.datasource.mapdb.MapDBFactory;
 import io.taucoin.db.*;
 import io.taucoin.db.file.BlockQueueFileSys;
 import io.taucoin.db.file.FileBlockStore;
+import io.taucoin.metrics.Counter;
+import io.taucoin.metrics.Gauge;
+import io.taucoin.metrics.Histogram;
+import io.taucoin.metrics.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.spongycastle.util.encoders.Hex;
@@ -45,6 +49,12 @@ public class SyncQueue {
     // BlockQueueImpl implementation configuration.
     private static final int BLOCK_QUEUE_LIMIT = Integer.MAX_VALUE;
 
+    // Time tryToConnect takes and time from queueing to import, per block.
+    private static final Histogram connectTime = Metrics.histogram("syncqueue.connect.us");
+    private static final Histogram importDelay = Metrics.histogram("syncqueue.import.delay.ms");
+    private static final Counter importedBlocks = Metrics.counter("syncqueue.imported");
+    private static final Counter failedBlocks = Metrics.counter("syncqueue.failed");
+
     /**
      * Store holding a list of hashes of the heaviest chain on the network,
      * for which this client doesn't have the blocks yet
@@ -68,6 +78,11 @@ public class SyncQueue {
      */
     private BlockQueue blockQueue;
 
+    /**
+     * Prepares the head of the block queue in parallel before blocks are applied
+     */
+    private BlockImportPipeline importPipeline;
+
     private FileBlockStore fileBlockStore;
 
     private AtomicBoolean noParent = new AtomicBoolean(false);
@@ -147,6 +162,10 @@ public class SyncQueue {
         blockNumbersStore.open();
         blockQueue.open();
 
+        importPipeline = new BlockImportPipeline(blockQueue,
+                config.importPipelineThreads(), config.importPipelineDepth());
+        registerGauges();
+
         if (!config.isSyncEnabled()) {
             logger.warn("Sync disabled");
             return;
@@ -159,6 +178,33 @@ public class SyncQueue {
         inited.set(true);
     }
 
+    private void registerGauges() {
+        Metrics.gauge("syncqueue.blocks", new Gauge() {
+            @Override
+            public long getValue() {
+                return blockQueue.size();
+            }
+        });
+        Metrics.gauge("syncqueue.inflight", new Gauge() {
+            @Override
+            public long getValue() {
+                return importPipeline.inFlightSize();
+            }
+        });
+        Metrics.gauge("syncqueue.hashes", new Gauge() {
+            @Override
+            public long getValue() {
+                return hashStore.size();
+            }
+        });
+        Metrics.gauge("syncqueue.headers", new Gauge() {
+            @Override
+            public long getValue() {
+                return headerStore.size();
+            }
+        });
+    }
+
     public synchronized void start() {
         // If not inited, has been started or has been closed, just return;
         if (!inited.get() || !isRequestStopped.get() || isRequestClose.get()) {
@@ -211,6 +257,10 @@ public class SyncQueue {
         if (blockNumbersStore != null) {
             blockNumbersStore.close();
         }
+        // Return the blocks in flight while the block queue is open.
+        if (importPipeline != null) {
+            importPipeline.close();
+        }
         if (blockQueue != null) {
             if (blockQueue instanceof BlockQueueImpl) {
                 ((BlockQueueImpl)blockQueue).flush();
@@ -271,12 +321,26 @@ public class SyncQueue {
             ImportResult importResult = null;
 
             try {
-                wrapper = blockQueue.take();
-                logger.debug("BlockQueue size: {}", blockQueue.size());
+                wrapper = importPipeline.take();
+                logger.debug("BlockQueue size: {}, in flight: {}", blockQueue.size(),
+                        importPipeline.inFlightSize());
                 isImportingBlocks.set(true);
+                long applyStartTime = System.nanoTime();
                 importResult = blockchain.tryToConnect(wrapper.getBlock());
+                long applyTime = System.nanoTime() - applyStartTime;
+                importPipeline.recordApplied(applyTime);
                 isImportingBlocks.set(false);
 
+                connectTime.update(applyTime / 1000);
+                if (importResult.isSuccessful()) {
+                    importedBlocks.inc();
+                    if (wrapper.getReceivedAt() > 0) {
+                        importDelay.update(System.currentTimeMillis() - wrapper.getReceivedAt());
+                    }
+                } else if (importResult != EXIST) {
+                    failedBlocks.inc();
+                }
+
                 if (wrapper.isNewBlock() && importResult.isSuccessful())
                     syncManager.notifyNewBlockImported(wrapper);
 
@@ -303,7 +367,8 @@ public class SyncQueue {
                     logger.info("No parent on the chain for block.number: {} block.hash: {}", wrapper.getNumber(), wrapper.getBlock().getShortHash());
                     wrapper.importFailed();
 
-                    // Add this block into block queue, and try to add his parent
+                    // Add this block and the prepared ones into block queue, and try to add his parent
+                    importPipeline.returnTo(blockQueue);
                     blockQueue.add(wrapper);
                     if (!tryGapRecoveryAndVerify(wrapper)) {
                         rollbackBlockQueue();
@@ -327,6 +392,11 @@ public class SyncQueue {
             } catch (Throwable e) {
                 e.printStackTrace();
 
+                // Block failed in the prepare stage, treat it as failed in connecting.
+                if (e instanceof BlockImportPipeline.PrepareException) {
+                    wrapper = ((BlockImportPipeline.PrepareException)e).getWrapper();
+                }
+
                 // Note: for the application with the version V1.9.0.3, OOM usually happens.
                 // For the version V1.9.0.4, there is no OOM. But for special case, taucoin
                 // service exists and wallet will start it again.
@@ -374,6 +444,7 @@ public class SyncQueue {
 
                 // Return this block into queue, wait for a while and try again.
                 if (wrapper != null) {
+                    importPipeline.returnTo(blockQueue);
                     blockQueue.add(wrapper);
                     logger.warn("Try connecting block again with number {}", wrapper.getNumber());
                 } else {
@@ -543,9 +614,12 @@ public class SyncQueue {
         }
         */
 
+        long now = System.currentTimeMillis();
         List<BlockWrapper> wrappers = new ArrayList<>(blocks.size());
         for (Block b : blocks) {
-            wrappers.add(new BlockWrapper(b, nodeId));
+            BlockWrapper wrapper = new BlockWrapper(b, nodeId);
+            wrapper.setReceivedAt(now);
+            wrappers.add(wrapper);
         }
 
         blockQueue.addAll(wrappers);
@@ -696,7 +770,7 @@ public class SyncQueue {
             return;
         }
 
-        List<Long> filtered = blockQueue.filterExistingNumbers(numbers);
+        List<Long> filtered = filterExistingNumbers(numbers);
         blockNumbersStore.addBatch(filtered);
 
         if (logger.isDebugEnabled())
@@ -721,7 +795,7 @@ public class SyncQueue {
             startNumber++;
         }
 
-        List<Long> filtered = blockQueue.filterExistingNumbers(numbers);
+        List<Long> filtered = filterExistingNumbers(numbers);
         blockNumbersStore.addBatch(filtered);
 
         if (logger.isDebugEnabled())
@@ -738,7 +812,7 @@ public class SyncQueue {
 
         if (numbers.isEmpty()) return;
 
-        List<Long> filtered = blockQueue.filterExistingNumbers(numbers);
+        List<Long> filtered = filterExistingNumbers(numbers);
         blockNumbersStore.addBatch(filtered);
     }
 
@@ -753,9 +827,18 @@ public class SyncQueue {
 
     public synchronized long getBlockqueueMaxNumber() {
         long maxNumber = blockQueue.getMaxBlockNumber();
+        if (importPipeline != null) {
+            maxNumber = Math.max(maxNumber, importPipeline.getMaxBlockNumber());
+        }
         return maxNumber > 0 ? maxNumber : 0;
     }
 
+    // Numbers of blocks neither queued nor in the import pipeline.
+    private List<Long> filterExistingNumbers(List<Long> numbers) {
+        List<Long> filtered = blockQueue.filterExistingNumbers(numbers);
+        return importPipeline == null ? filtered : importPipeline.filterExistingNumbers(filtered);
+    }
+
     /**
      * Adds list of headers received from remote host <br>
      * Runs header validation before addition <br>
@@ -833,7 +916,8 @@ public class SyncQueue {
     }
 
     public boolean isBlocksEmpty() {
-        return blockQueue.isEmpty();
+        return blockQueue.isEmpty()
+                && (importPipeline == null || importPipeline.isEmpty());
     }
 
     public boolean isMoreBlocksNeeded() {
@@ -884,7 +968,10 @@ public class SyncQueue {
      * @return true if queue contains solid blocks, false otherwise
      */
     public boolean hasSolidBlocks() {
-        BlockWrapper wrapper = blockQueue.peek();
+        BlockWrapper wrapper = importPipeline == null ? null : importPipeline.peek();
+        if (wrapper == null) {
+            wrapper = blockQueue.peek();
+        }
         return wrapper != null && wrapper.isSolidBlock();
     }
 
@@ -896,6 +983,9 @@ public class SyncQueue {
      * @return true if block exists, false otherwise
      */
     public boolean isBlockExist(byte[] hash) {
+        if (importPipeline != null && importPipeline.isBlockExist(hash)) {
+            return true;
+        }
         return blockQueue.isBlockExist(hash);
     }
 
@@ -0,0 +1,260 @@
+package io.taucoin.util;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Cursor over the rlp items of a byte range which decodes them in place:
+ * {@link #next()} moves to the next item and tells where its payload is,
+ * nothing is copied until a value is asked for.
+ *
+ * The items of a list item are walked with the reader {@link #list()}
+ * returns, over the same bytes. Encodings are checked like
+ * {@link RLP#decode2(byte[])} checks them. As with {@link RLPItem}, an
+ * empty item reads as null bytes and as zero.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public final class RLPReader {
+
+    private static final int OFFSET_SHORT_ITEM = 0x80;
+    private static final int OFFSET_LONG_ITEM = 0xb7;
+    private static final int OFFSET_SHORT_LIST = 0xc0;
+    private static final int OFFSET_LONG_LIST = 0xf7;
+    private static final int SIZE_THRESHOLD = 56;
+
+    private final byte[] data;
+    private final int end;
+    private int pos;
+
+    // The current item: where its encoding starts, its payload.
+    private int itemStart = -1;
+    private int offset;
+    private int length;
+    private boolean list;
+
+    public RLPReader(byte[] data) {
+        this(data, 0, data.length);
+    }
+
+    /**
+     * Reads the items in the 'length' bytes of 'data' from 'offset'.
+     */
+    public RLPReader(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IndexOutOfBoundsException("Range " + offset + "+" + length
+                    + " out of " + data.length + " bytes");
+        }
+        this.data = data;
+        this.pos = offset;
+        this.end = offset + length;
+    }
+
+    /**
+     * Reads the remaining bytes of 'buffer' in its backing array, or in a
+     * copy of them if it has none. The buffer position isn't moved.
+     */
+    public static RLPReader of(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            return new RLPReader(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                    buffer.remaining());
+        }
+        byte[] copy = new byte[buffer.remaining()];
+        buffer.duplicate().get(copy);
+        return new RLPReader(copy);
+    }
+
+    /**
+     * Returns a reader over the items of the list 'encoded' starts with.
+     */
+    public static RLPReader ofList(byte[] encoded) {
+        return ofList(encoded, 0, encoded.length);
+    }
+
+    public static RLPReader ofList(byte[] data, int offset, int length) {
+        RLPReader reader = new RLPReader(data, offset, length);
+        if (!reader.next() || !reader.isList()) {
+            throw new RuntimeException("RLP list expected at " + offset);
+        }
+        return reader.list();
+    }
+
+    public boolean hasNext() {
+        return pos < end;
+    }
+
+    /**
+     * Moves to the next item, returns false once there are no more.
+     */
+    public boolean next() {
+        if (pos >= end) {
+            itemStart = -1;
+            return false;
+        }
+
+        int prefix = data[pos] & 0xFF;
+        int header;
+        if (prefix < OFFSET_SHORT_ITEM) {
+            // single byte item, its own payload
+            header = 0;
+            length = 1;
+            list = false;
+        } else if (prefix <= OFFSET_LONG_ITEM) {
+            header = 1;
+            length = prefix - OFFSET_SHORT_ITEM;
+            list = false;
+        } else if (prefix < OFFSET_SHORT_LIST) {
+            header = 1 + prefix - OFFSET_LONG_ITEM;
+            length = readLength(header - 1);
+            if (length < SIZE_THRESHOLD) {
+                throw wrongEncoding("Short item has been encoded as long item");
+            }
+            list = false;
+        } else if (prefix <= OFFSET_LONG_LIST) {
+            header = 1;
+            length = prefix - OFFSET_SHORT_LIST;
+            list = true;
+        } else {
+            header = 1 + prefix - OFFSET_LONG_LIST;
+            length = readLength(header - 1);
+            if (length < SIZE_THRESHOLD) {
+                throw wrongEncoding("Short list has been encoded as long list");
+            }
+            list = true;
+        }
+
+        if (length > end - pos - header) {
+            throw wrongEncoding(String.format("Length parsed from RLP (%s bytes) is greater "
+                    + "than possible size of data (%s bytes)", length, end - pos - header));
+        }
+        if (!list && header == 1 && length == 1
+                && (data[pos + 1] & 0xFF) < OFFSET_SHORT_ITEM) {
+            throw wrongEncoding("Single byte has been encoded as byte string");
+        }
+
+        itemStart = pos;
+        offset = pos + header;
+        pos = offset + length;
+        return true;
+    }
+
+    /**
+     * Moves to the next item like {@link #next()}, throws if there is none.
+     * Returns this reader.
+     */
+    public RLPReader nextItem() {
+        if (!next()) {
+            throw new NoSuchElementException("No more RLP items");
+        }
+        return this;
+    }
+
+    public boolean isList() {
+        current();
+        return list;
+    }
+
+    /**
+     * Returns the bytes the items are read from, the payload of the
+     * current item is at {@link #getOffset()} in them.
+     */
+    public byte[] getData() {
+        return data;
+    }
+
+    public int getOffset() {
+        current();
+        return offset;
+    }
+
+    public int getLength() {
+        current();
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return getLength() == 0;
+    }
+
+    /**
+     * Returns a copy of the payload of the current item, null if it is empty.
+     */
+    public byte[] getBytes() {
+        current();
+        return length == 0 ? null : Arrays.copyOfRange(data, offset, offset + length);
+    }
+
+    /**
+     * Returns the first byte of the current item, 0 if it is empty.
+     */
+    public byte getByte() {
+        current();
+        return length == 0 ? 0 : data[offset];
+    }
+
+    /**
+     * Returns the current item as an unsigned big endian number, keeping its
+     * low 64 bits like {@link ByteUtil#byteArrayToLong(byte[])}.
+     */
+    public long getLong() {
+        current();
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            value = (value << 8) | (data[i] & 0xFF);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the current item as an unsigned big endian number.
+     */
+    public BigInteger getBigInteger() {
+        current();
+        return length == 0 ? BigInteger.ZERO : new BigInteger(1, getBytes());
+    }
+
+    /**
+     * Returns a copy of the whole encoding of the current item.
+     */
+    public byte[] getEncoded() {
+        current();
+        return Arrays.copyOfRange(data, itemStart, pos);
+    }
+
+    /**
+     * Returns a reader over the items of the current item, which is a list.
+     */
+    public RLPReader list() {
+        if (!isList()) {
+            throw new IllegalStateException("RLP item at " + itemStart + " isn't a list");
+        }
+        return new RLPReader(data, offset, length);
+    }
+
+    private void current() {
+        if (itemStart < 0) {
+            throw new IllegalStateException("No current RLP item");
+        }
+    }
+
+    private int readLength(int lengthOfLength) {
+        if (lengthOfLength > 4 || pos + 1 + lengthOfLength > end) {
+            throw wrongEncoding("Invalid length of length " + lengthOfLength);
+        }
+        long length = 0;
+        for (int i = pos + 1; i <= pos + lengthOfLength; i++) {
+            length = (length << 8) | (data[i] & 0xFF);
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw wrongEncoding("Too long RLP item " + length);
+        }
+        return (int) length;
+    }
+
+    private RuntimeException wrongEncoding(String message) {
+        return new RuntimeException("RLP wrong encoding at " + pos + ": " + message);
+    }
+}
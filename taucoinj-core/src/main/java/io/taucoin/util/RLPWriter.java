@@ -0,0 +1,182 @@
+package io.taucoin.util;
+
+import io.netty.buffer.ByteBuf;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static org.spongycastle.util.BigIntegers.asUnsignedByteArray;
+
+/**
+ * Single pass rlp encoder writing into one growable buffer.
+ *
+ * The payload size of a list is computed with the size methods before its
+ * header is written, then its items are written right after it. So every
+ * byte is written once, without the intermediate arrays
+ * {@link RLP#encodeList(byte[]...)} allocates at each level, and a buffer
+ * created with the exact size is returned as it is. The encodings are the
+ * same as the ones of {@link RLP}.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public final class RLPWriter {
+
+    private static final int OFFSET_SHORT_ITEM = 0x80;
+    private static final int OFFSET_LONG_ITEM = 0xb7;
+    private static final int OFFSET_SHORT_LIST = 0xc0;
+    private static final int OFFSET_LONG_LIST = 0xf7;
+    private static final int SIZE_THRESHOLD = 56;
+
+    private byte[] buffer;
+    private int size = 0;
+
+    public RLPWriter() {
+        this(256);
+    }
+
+    public RLPWriter(int capacity) {
+        this.buffer = new byte[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Returns the size of {@link RLP#encodeElement(byte[])} of 'data'.
+     */
+    public static int elementSize(byte[] data) {
+        if (data == null || data.length == 0) {
+            return 1;
+        }
+        if (data.length == 1 && (data[0] & 0xFF) < OFFSET_SHORT_ITEM) {
+            return 1;
+        }
+        return headerSize(data.length) + data.length;
+    }
+
+    /**
+     * Returns the size of {@link RLP#encodeByte(byte)} of 'value'.
+     */
+    public static int byteSize(byte value) {
+        return (value & 0xFF) < OFFSET_SHORT_ITEM ? 1 : 2;
+    }
+
+    /**
+     * Returns the size of {@link RLP#encodeBigInteger(BigInteger)} of 'value'.
+     */
+    public static int bigIntegerSize(BigInteger value) {
+        return value.signum() == 0 ? 1 : elementSize(asUnsignedByteArray(value));
+    }
+
+    /**
+     * Returns the size of a list whose items take 'payloadSize' bytes.
+     */
+    public static int listSize(int payloadSize) {
+        return headerSize(payloadSize) + payloadSize;
+    }
+
+    private static int headerSize(int length) {
+        return length < SIZE_THRESHOLD ? 1 : 1 + lengthOfLength(length);
+    }
+
+    private static int lengthOfLength(int length) {
+        int bytes = 0;
+        while (length != 0) {
+            bytes++;
+            length >>>= 8;
+        }
+        return bytes;
+    }
+
+    public RLPWriter writeElement(byte[] data) {
+        if (data == null || data.length == 0) {
+            ensure(1);
+            buffer[size++] = (byte) OFFSET_SHORT_ITEM;
+        } else if (data.length == 1 && (data[0] & 0xFF) < OFFSET_SHORT_ITEM) {
+            ensure(1);
+            buffer[size++] = data[0];
+        } else {
+            writeHeader(OFFSET_SHORT_ITEM, OFFSET_LONG_ITEM, data.length);
+            writeEncoded(data, 0, data.length);
+        }
+        return this;
+    }
+
+    public RLPWriter writeByte(byte value) {
+        ensure(2);
+        if (value == 0) {
+            buffer[size++] = (byte) OFFSET_SHORT_ITEM;
+        } else if ((value & 0xFF) < OFFSET_SHORT_ITEM) {
+            buffer[size++] = value;
+        } else {
+            buffer[size++] = (byte) (OFFSET_SHORT_ITEM + 1);
+            buffer[size++] = value;
+        }
+        return this;
+    }
+
+    public RLPWriter writeBigInteger(BigInteger value) {
+        if (value.signum() < 0) {
+            throw new RuntimeException("negative numbers are not allowed");
+        }
+        return value.signum() == 0 ? writeByte((byte) 0) : writeElement(asUnsignedByteArray(value));
+    }
+
+    /**
+     * Writes the header of a list whose items, written next, take
+     * 'payloadSize' bytes.
+     */
+    public RLPWriter writeListHeader(int payloadSize) {
+        writeHeader(OFFSET_SHORT_LIST, OFFSET_LONG_LIST, payloadSize);
+        return this;
+    }
+
+    /**
+     * Writes an item or items which are rlp encoded already.
+     */
+    public RLPWriter writeEncoded(byte[] encoded) {
+        return writeEncoded(encoded, 0, encoded.length);
+    }
+
+    public RLPWriter writeEncoded(byte[] encoded, int offset, int length) {
+        ensure(length);
+        System.arraycopy(encoded, offset, buffer, size, length);
+        size += length;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the encoding, the buffer itself if it is filled exactly.
+     * The writer mustn't be written to after.
+     */
+    public byte[] toByteArray() {
+        return size == buffer.length ? buffer : Arrays.copyOf(buffer, size);
+    }
+
+    public void writeTo(ByteBuf out) {
+        out.writeBytes(buffer, 0, size);
+    }
+
+    private void writeHeader(int shortOffset, int longOffset, int length) {
+        if (length < SIZE_THRESHOLD) {
+            ensure(1);
+            buffer[size++] = (byte) (shortOffset + length);
+            return;
+        }
+
+        int lengthOfLength = lengthOfLength(length);
+        ensure(1 + lengthOfLength);
+        buffer[size++] = (byte) (longOffset + lengthOfLength);
+        for (int i = lengthOfLength - 1; i >= 0; i--) {
+            buffer[size++] = (byte) (length >>> (8 * i));
+        }
+    }
+
+    private void ensure(int bytes) {
+        if (size + bytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + bytes));
+        }
+    }
+}
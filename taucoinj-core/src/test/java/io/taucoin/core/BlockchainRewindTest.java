@@ -0,0 +1,144 @@
+package io.taucoin.core;
+
+import io.taucoin.crypto.ECKey;
+import io.taucoin.datasource.HashMapDB;
+import io.taucoin.db.ByteArrayWrapper;
+import io.taucoin.db.IndexedBlockStore;
+import io.taucoin.db.StateUndoStore;
+import io.taucoin.db.StripedRepositoryImpl;
+import io.taucoin.listener.TaucoinListenerAdapter;
+import io.taucoin.sync2.ChainInfoManager;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * The state rewind of a re-branch, BlockchainImpl.disconnectBlock, from
+ * the undo journal and by executing transactions backwards.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class BlockchainRewindTest {
+
+    private static final int LENGTH = 8;
+    private static final int FORK = 4;
+
+    private StripedRepositoryImpl repository;
+    private IndexedBlockStore blockStore;
+    private StateUndoStore undoStore;
+    private BlockchainImpl blockchain;
+    private List<Block> chain;
+
+    // Account states after block FORK, null for the accounts missing then.
+    private Map<ByteArrayWrapper, byte[]> forkStates = new HashMap<>();
+
+    @Before
+    public void setup() {
+        repository = new StripedRepositoryImpl(new HashMapDB(), 64, 0);
+        blockStore = new IndexedBlockStore();
+        blockStore.init(new HashMap<Long, List<IndexedBlockStore.BlockInfo>>(),
+                new HashMapDB(), null, null);
+        undoStore = new StateUndoStore(new HashMapDB());
+
+        Map<ByteArrayWrapper, AccountState> accounts = new HashMap<>();
+        for (ECKey key : Fixtures.keys(16)) {
+            accounts.put(new ByteArrayWrapper(key.getAddress()), new AccountState(
+                    BigInteger.valueOf(1000), BigInteger.TEN.pow(15)));
+        }
+        repository.updateBatch(accounts);
+        repository.flush(0);
+
+        blockchain = new BlockchainImpl(blockStore, repository, null,
+                new TaucoinListenerAdapter(), new ChainInfoManager(), null, null, null,
+                undoStore);
+        blockchain.setBestBlock(Fixtures.block(0, new byte[20], Fixtures.key(0),
+                new ArrayList<Transaction>()));
+
+        chain = Fixtures.chain(LENGTH, 20, 1);
+        Set<ByteArrayWrapper> touched = new HashSet<>();
+        for (Block block : chain) {
+            touched.add(new ByteArrayWrapper(block.getForgerAddress()));
+            for (Transaction tx : block.getTransactionsList()) {
+                touched.add(new ByteArrayWrapper(tx.getSender()));
+                touched.add(new ByteArrayWrapper(tx.getReceiveAddress()));
+            }
+        }
+
+        for (int i = 0; i < LENGTH; i++) {
+            assertTrue(blockchain.addBlock(chain.get(i)));
+            if (i == FORK - 1) {
+                for (ByteArrayWrapper address : touched) {
+                    AccountState state = repository.getAccountState(address.getData());
+                    forkStates.put(address, state == null ? null : state.getEncoded());
+                }
+            }
+        }
+    }
+
+    // The backward execution restores balances and forge powers only, not the
+    // state heights and witnesses the undone blocks moved, the journal all of it.
+    private void assertForkStates(Repository track, boolean exact) {
+        for (Map.Entry<ByteArrayWrapper, byte[]> entry : forkStates.entrySet()) {
+            AccountState state = track.getAccountState(entry.getKey().getData());
+            if (entry.getValue() == null) {
+                // Created after the fork, rewound to an empty account as
+                // executing its transactions backwards leaves it.
+                assertTrue(state == null || state.isDeleted()
+                        || (state.getBalance().signum() == 0
+                                && state.getforgePower().signum() == 0));
+            } else if (exact) {
+                assertNotNull(state);
+                assertArrayEquals(entry.getValue(), state.getEncoded());
+            } else {
+                AccountState fork = new AccountState(entry.getValue());
+                assertNotNull(state);
+                assertEquals(fork.getBalance(), state.getBalance());
+                assertEquals(fork.getforgePower(), state.getforgePower());
+            }
+        }
+    }
+
+    private Repository rewind(BlockchainImpl rewinder) {
+        Repository track = repository.startTracking();
+        for (int i = LENGTH - 1; i >= FORK; i--) {
+            rewinder.disconnectBlock(chain.get(i), track);
+        }
+        return track;
+    }
+
+    @Test
+    public void rewindsFromTheJournal() {
+        for (int i = FORK; i < LENGTH; i++) {
+            assertNotNull(undoStore.get(chain.get(i)));
+        }
+        assertForkStates(rewind(blockchain), true);
+    }
+
+    @Test
+    public void rewindsBackwardsWithoutTheJournal() {
+        BlockchainImpl backward = new BlockchainImpl(blockStore, repository, null,
+                new TaucoinListenerAdapter(), new ChainInfoManager(), null, null, null, null);
+        backward.setBestBlock(chain.get(LENGTH - 1));
+        assertForkStates(rewind(backward), false);
+    }
+
+    @Test
+    public void rollbackKeepsTheChainState() {
+        AccountState before = repository.getAccountState(Fixtures.key(1).getAddress());
+        Repository track = rewind(blockchain);
+        track.rollback();
+        assertArrayEquals(before.getEncoded(),
+                repository.getAccountState(Fixtures.key(1).getAddress()).getEncoded());
+    }
+}
@@ -0,0 +1,146 @@
+package io.taucoin.core;
+
+import io.taucoin.crypto.ECKey;
+import io.taucoin.crypto.HashUtil;
+import io.taucoin.util.ByteUtil;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Deterministic keys, transactions, blocks and account states the
+ * tests and the benchmarks are run over.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public final class Fixtures {
+
+    // 2018-10-01, around the genesis.
+    private static final long TIME = 1538352000L;
+
+    private Fixtures() {
+    }
+
+    public static ECKey key(int i) {
+        return ECKey.fromPrivate(HashUtil.sha3(ByteUtil.intToBytes(i)));
+    }
+
+    public static List<ECKey> keys(int count) {
+        List<ECKey> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add(key(i));
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the transaction 'i' of 'sender', signed, to a random address.
+     */
+    public static Transaction transaction(ECKey sender, int i, Random random) {
+        byte[] to = new byte[20];
+        random.nextBytes(to);
+        Transaction tx = new Transaction((byte) 1, (byte) 1,
+                ByteUtil.longToBytes(TIME + i), to,
+                ByteUtil.longToBytesNoLeadZeroes(1 + random.nextInt(1000000)),
+                ByteUtil.longToBytesNoLeadZeroes(1 + random.nextInt(1000)),
+                ByteUtil.shortToBytes((short) 43200));
+        tx.sign(sender.getPrivKeyBytes());
+        return tx;
+    }
+
+    /**
+     * Returns a transaction of 'sender' built at 'time', paying 'fee', which
+     * expires 'expireTime' blocks after the first block later than 'time'.
+     */
+    public static Transaction transaction(ECKey sender, long time, long amount, long fee,
+            int expireTime) {
+        Transaction tx = new Transaction((byte) 1, (byte) 1, ByteUtil.longToBytes(time),
+                HashUtil.sha3omit12(ByteUtil.longToBytes(time)),
+                ByteUtil.longToBytesNoLeadZeroes(amount), ByteUtil.longToBytesNoLeadZeroes(fee),
+                ByteUtil.shortToBytes((short) expireTime));
+        tx.sign(sender.getPrivKeyBytes());
+        return tx;
+    }
+
+    /**
+     * Returns 'count' transactions signed by 'senders' in turn.
+     */
+    public static List<Transaction> transactions(List<ECKey> senders, int count, long seed) {
+        Random random = new Random(seed);
+        List<Transaction> txs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            txs.add(transaction(senders.get(i % senders.size()), i, random));
+        }
+        return txs;
+    }
+
+    /**
+     * Returns the block 'number' on top of 'parentHash', forged by 'forger'
+     * and holding 'txs', with every field its disk encoding has set.
+     */
+    public static Block block(long number, byte[] parentHash, ECKey forger,
+            List<Transaction> txs) {
+        Block block = new Block((byte) 1, ByteUtil.longToBytes(TIME + number * 300),
+                parentHash, (byte) 1, txs);
+        block.setNumber(number);
+        block.setBaseTarget(BigInteger.valueOf(0x369D0369D036978L));
+        block.setGenerationSignature(HashUtil.sha3(ByteUtil.longToBytes(number)));
+        block.setCumulativeDifficulty(BigInteger.valueOf(number).shiftLeft(40));
+        block.setCumulativeFee(BigInteger.valueOf(number * 1000));
+        block.sign(forger.getPrivKeyBytes());
+        block.extractForgerPublicKey();
+        return block;
+    }
+
+    /**
+     * Returns 'length' blocks of 'txsPerBlock' transactions each, the first
+     * one numbered 1.
+     */
+    public static List<Block> chain(int length, int txsPerBlock, long seed) {
+        List<ECKey> keys = keys(16);
+        Random random = new Random(seed);
+        List<Block> blocks = new ArrayList<>(length);
+        byte[] parentHash = new byte[20];
+        for (int n = 1; n <= length; n++) {
+            List<Transaction> txs = new ArrayList<>(txsPerBlock);
+            for (int i = 0; i < txsPerBlock; i++) {
+                txs.add(transaction(keys.get(random.nextInt(keys.size())), n * txsPerBlock + i, random));
+            }
+            Block block = block(n, parentHash, keys.get(n % keys.size()), txs);
+            blocks.add(block);
+            parentHash = block.getHash();
+        }
+        return blocks;
+    }
+
+    /**
+     * Returns an account state with 'history' transaction history entries.
+     */
+    public static AccountState accountState(int history, Random random) {
+        AccountState state = new AccountState(BigInteger.valueOf(random.nextInt(1000)),
+                BigInteger.valueOf(random.nextLong() & Long.MAX_VALUE));
+        byte[] witness = new byte[20];
+        random.nextBytes(witness);
+        state.setWitnessAddress(witness);
+        ArrayList<byte[]> associated = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            byte[] address = new byte[20];
+            random.nextBytes(address);
+            associated.add(address);
+        }
+        state.setAssociatedAddress(associated);
+        state.setStateHeight(random.nextInt(100000));
+        TreeMap<Long, byte[]> tranHistory = new TreeMap<>();
+        for (int i = 0; i < history; i++) {
+            byte[] hash = new byte[20];
+            random.nextBytes(hash);
+            tranHistory.put(TIME + i, hash);
+        }
+        state.setTranHistory(tranHistory);
+        return state;
+    }
+}
@@ -0,0 +1,199 @@
+package io.taucoin.core;
+
+import io.taucoin.crypto.ECKey;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class MemoryPoolTest {
+
+    private static final long TIME = 1538352000L;
+
+    private static final BigInteger BALANCE = BigInteger.valueOf(1000000);
+
+    private final ECKey alice = Fixtures.key(1);
+    private final ECKey bob = Fixtures.key(2);
+
+    private static MemoryPoolEntry entry(ECKey sender, long time, long amount, long fee) {
+        return MemoryPoolEntry.with(Fixtures.transaction(sender, time, amount, fee, 144));
+    }
+
+    @Test
+    public void addsOnce() {
+        MemoryPool pool = new MemoryPool();
+        MemoryPoolEntry entry = entry(alice, TIME, 100, 10);
+
+        assertEquals(MemoryPool.Admission.ADDED, pool.add(entry, BALANCE));
+        assertEquals(MemoryPool.Admission.KNOWN, pool.add(entry, BALANCE));
+
+        assertTrue(pool.contains(entry.hash.getData()));
+        assertSame(entry, pool.get(entry.hash.getData()));
+        assertEquals(1, pool.size());
+        assertEquals(1, pool.getSenders());
+        assertEquals(entry.size, pool.getBytes());
+        assertEquals(BigInteger.valueOf(110), pool.getExpend(alice.getAddress()));
+    }
+
+    @Test
+    public void refusesDuplicateTimeOfSender() {
+        MemoryPool pool = new MemoryPool();
+        assertEquals(MemoryPool.Admission.ADDED, pool.add(entry(alice, TIME, 100, 10), BALANCE));
+
+        assertEquals(MemoryPool.Admission.DUPLICATE_TIME,
+                pool.add(entry(alice, TIME, 300, 10), BALANCE));
+        assertEquals(MemoryPool.Admission.ADDED, pool.add(entry(bob, TIME, 300, 10), BALANCE));
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    public void refusesWhatTheBalanceDoesNotCover() {
+        MemoryPool pool = new MemoryPool();
+        BigInteger balance = BigInteger.valueOf(1000);
+
+        assertEquals(MemoryPool.Admission.NO_BALANCE,
+                pool.add(entry(alice, TIME, 1000, 10), balance));
+        assertEquals(MemoryPool.Admission.ADDED, pool.add(entry(alice, TIME, 600, 10), balance));
+        // Covered alone, not with the pooled one.
+        assertEquals(MemoryPool.Admission.NO_BALANCE,
+                pool.add(entry(alice, TIME + 1, 600, 10), balance));
+        assertEquals(MemoryPool.Admission.ADDED, pool.add(entry(alice, TIME + 1, 300, 10), balance));
+        assertEquals(BigInteger.valueOf(920), pool.getExpend(alice.getAddress()));
+        // Refusals made by the balance aren't fee pressure.
+        assertEquals(0, pool.getRejections());
+    }
+
+    @Test
+    public void checkDoesNotAdd() {
+        MemoryPool pool = new MemoryPool();
+        MemoryPoolEntry entry = entry(alice, TIME, 100, 10);
+
+        assertEquals(MemoryPool.Admission.ADDED, pool.check(entry, BALANCE));
+        assertFalse(pool.contains(entry.hash.getData()));
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    public void ordersByFeeThenTime() {
+        MemoryPool pool = new MemoryPool();
+        MemoryPoolEntry low = entry(alice, TIME, 100, 10);
+        MemoryPoolEntry high = entry(alice, TIME + 1, 100, 30);
+        MemoryPoolEntry earlier = entry(bob, TIME - 1, 100, 10);
+        pool.add(low, BALANCE);
+        pool.add(high, BALANCE);
+        pool.add(earlier, BALANCE);
+
+        assertEquals(Arrays.asList(high.tx, earlier.tx, low.tx), pool.getTransactions());
+        assertEquals(Arrays.asList(high.tx, earlier.tx), pool.getTransactions(2));
+    }
+
+    @Test
+    public void evictsLowestFeeWhenFull() {
+        MemoryPoolEntry fee10 = entry(alice, TIME, 100, 10);
+        MemoryPoolEntry fee20 = entry(alice, TIME + 1, 100, 20);
+        MemoryPoolEntry fee30 = entry(bob, TIME, 100, 30);
+        MemoryPoolEntry fee40 = entry(bob, TIME + 1, 100, 40);
+        // Room for the first three, and for the last one in place of the first.
+        long maxBytes = fee10.size + fee20.size + fee30.size + Math.max(0, fee40.size - fee10.size);
+
+        MemoryPool pool = new MemoryPool(maxBytes, 5, 3600000);
+        final List<MemoryPoolEntry> removed = new ArrayList<>();
+        pool.setRemovalListener(new MemoryPool.RemovalListener() {
+            @Override
+            public void onRemoved(MemoryPoolEntry entry) {
+                removed.add(entry);
+            }
+        });
+        pool.add(fee10, BALANCE);
+        pool.add(fee20, BALANCE);
+        pool.add(fee30, BALANCE);
+        assertEquals(0, pool.getMinFee());
+
+        assertEquals(MemoryPool.Admission.ADDED, pool.add(fee40, BALANCE));
+        assertFalse(pool.contains(fee10.hash.getData()));
+        assertEquals(Arrays.asList(fee10), removed);
+        assertEquals(1, pool.getEvictions());
+        assertEquals(3, pool.size());
+        assertTrue(pool.getBytes() <= maxBytes);
+        assertEquals(BigInteger.valueOf(120), pool.getExpend(alice.getAddress()));
+
+        // The eviction raised the minimum fee to the evicted one plus the
+        // increment, which decays by the hour.
+        long minFee = pool.getMinFee();
+        assertTrue(minFee == 14 || minFee == 15);
+        assertEquals(MemoryPool.Admission.LOW_FEE, pool.add(entry(alice, TIME + 2, 100, 12), BALANCE));
+        assertEquals(1, pool.getRejections());
+    }
+
+    @Test
+    public void refusesWhatRanksBelowAFullPool() {
+        MemoryPoolEntry fee20 = entry(alice, TIME, 100, 20);
+        MemoryPoolEntry fee30 = entry(bob, TIME, 100, 30);
+        MemoryPool pool = new MemoryPool(fee20.size + fee30.size, 5, 3600000);
+        pool.add(fee20, BALANCE);
+        pool.add(fee30, BALANCE);
+
+        MemoryPoolEntry fee10 = entry(alice, TIME + 1, 100, 10);
+        assertEquals(MemoryPool.Admission.POOL_FULL, pool.check(fee10, BALANCE));
+        assertEquals(0, pool.getRejections());
+        assertEquals(MemoryPool.Admission.POOL_FULL, pool.add(fee10, BALANCE));
+        assertEquals(1, pool.getRejections());
+        assertEquals(0, pool.getEvictions());
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    public void minFeeDecays() throws InterruptedException {
+        MemoryPoolEntry fee10 = entry(alice, TIME, 100, 10);
+        MemoryPoolEntry fee20 = entry(bob, TIME, 100, 20);
+        MemoryPool pool = new MemoryPool(Math.max(fee10.size, fee20.size), 5, 10);
+        pool.add(fee10, BALANCE);
+        pool.add(fee20, BALANCE);
+        assertEquals(1, pool.getEvictions());
+        assertTrue(pool.getMinFee() > 0);
+
+        Thread.sleep(200);
+        assertEquals(0, pool.getMinFee());
+    }
+
+    @Test
+    public void removesAndTellsTheListener() {
+        MemoryPool pool = new MemoryPool();
+        final List<MemoryPoolEntry> removed = new ArrayList<>();
+        pool.setRemovalListener(new MemoryPool.RemovalListener() {
+            @Override
+            public void onRemoved(MemoryPoolEntry entry) {
+                removed.add(entry);
+            }
+        });
+        MemoryPoolEntry first = entry(alice, TIME, 100, 10);
+        MemoryPoolEntry second = entry(alice, TIME + 1, 100, 10);
+        MemoryPoolEntry other = entry(bob, TIME, 100, 10);
+        pool.add(first, BALANCE);
+        pool.add(second, BALANCE);
+        pool.add(other, BALANCE);
+        long version = pool.getVersion();
+
+        assertEquals(2, pool.removeAll(Arrays.asList(first.tx, other.tx,
+                entry(bob, TIME + 1, 100, 10).tx)));
+        assertEquals(Arrays.asList(first, other), removed);
+        assertTrue(pool.getVersion() > version);
+        assertEquals(1, pool.size());
+        assertEquals(1, pool.getSenders());
+        assertEquals(second.size, pool.getBytes());
+        assertEquals(BigInteger.ZERO, pool.getExpend(bob.getAddress()));
+        assertNull(pool.remove(first.hash.getData()));
+
+        // The time of a removed transaction is free again.
+        assertEquals(MemoryPool.Admission.ADDED, pool.add(entry(alice, TIME, 50, 10), BALANCE));
+    }
+}
@@ -0,0 +1,137 @@
+package io.taucoin.core;
+
+import io.taucoin.datasource.HashMapDB;
+import io.taucoin.db.IndexedBlockStore;
+import io.taucoin.util.ByteUtil;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class TransactionExpiryIndexTest {
+
+    private List<Block> chain;
+    private IndexedBlockStore blockStore;
+    private TransactionExpiryIndex index;
+
+    @Before
+    public void setup() {
+        blockStore = new IndexedBlockStore();
+        blockStore.init(new HashMap<Long, List<IndexedBlockStore.BlockInfo>>(),
+                new HashMapDB(), null, null);
+        chain = Fixtures.chain(40, 0, 1);
+        for (Block block : chain) {
+            blockStore.saveBlock(block, block.getCumulativeDifficulty(), true);
+        }
+        index = new TransactionExpiryIndex(blockStore, 8);
+    }
+
+    private Block block(long number) {
+        return chain.get((int) number - 1);
+    }
+
+    private long timestamp(long number) {
+        return ByteUtil.byteArrayToLong(block(number).getTimestamp());
+    }
+
+    // An entry built just after block 'number', expiring 'expireTime' blocks after the next one.
+    private MemoryPoolEntry entryAfter(long number, int expireTime, int i) {
+        return MemoryPoolEntry.with(Fixtures.transaction(Fixtures.key(i),
+                timestamp(number) + 1, 100, 10, expireTime));
+    }
+
+    @Test
+    public void expiresAnchoredEntry() {
+        // Anchored at block 6, the first one later than it, so stale at 6 + 3.
+        MemoryPoolEntry entry = entryAfter(5, 3, 0);
+        index.add(entry, block(7));
+        assertEquals(1, index.size());
+
+        assertTrue(index.connect(block(8)).isEmpty());
+        assertEquals(Collections.singletonList(entry), index.connect(block(9)));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void anchorsWaitingEntry() {
+        // Newer than the best block, it waits for block 6 to anchor it.
+        MemoryPoolEntry entry = entryAfter(5, 3, 0);
+        index.add(entry, block(3));
+
+        for (long number = 4; number < 9; number++) {
+            assertTrue(index.connect(block(number)).isEmpty());
+            assertEquals(1, index.size());
+        }
+        assertEquals(Collections.singletonList(entry), index.connect(block(9)));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void readsAnchorsOutOfTheRingFromTheBlockStore() {
+        // The ring holds 8 blocks, the anchor at 6 is read from the store.
+        MemoryPoolEntry entry = entryAfter(5, 20, 0);
+        index.add(entry, block(24));
+
+        assertTrue(index.connect(block(25)).isEmpty());
+        assertEquals(Collections.singletonList(entry), index.connect(block(26)));
+    }
+
+    @Test
+    public void addsStaleEntryAtTheBestBlock() {
+        // Stale at 6 + 3 already, the next block returns it.
+        MemoryPoolEntry entry = entryAfter(5, 3, 0);
+        index.add(entry, block(12));
+
+        assertEquals(Collections.singletonList(entry), index.connect(block(13)));
+    }
+
+    @Test
+    public void removesEntryLeavingThePool() {
+        MemoryPoolEntry anchored = entryAfter(5, 3, 0);
+        MemoryPoolEntry waiting = entryAfter(10, 3, 1);
+        index.add(anchored, block(7));
+        index.add(waiting, block(7));
+        assertEquals(2, index.size());
+
+        index.remove(anchored);
+        index.remove(waiting);
+        assertEquals(0, index.size());
+        for (long number = 8; number <= 20; number++) {
+            assertTrue(index.connect(block(number)).isEmpty());
+        }
+
+        // Removing it again does nothing.
+        index.remove(anchored);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void expiresOnlyTheDueEntries() {
+        for (int i = 0; i < 200; i++) {
+            index.add(entryAfter(5, 30, i), block(7));
+        }
+        MemoryPoolEntry due = entryAfter(5, 3, 200);
+        index.add(due, block(7));
+
+        assertTrue(index.connect(block(8)).isEmpty());
+        assertEquals(Collections.singletonList(due), index.connect(block(9)));
+        assertEquals(200, index.size());
+        assertEquals(200, index.connect(block(36)).size());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void timestampsOfMissingBlocksAreInTheFuture() {
+        assertEquals(timestamp(3), index.timestampAt(3));
+        assertEquals(Long.MAX_VALUE, index.timestampAt(41));
+    }
+}
@@ -0,0 +1,88 @@
+package io.taucoin.db;
+
+import io.taucoin.core.AccountState;
+import io.taucoin.core.Block;
+import io.taucoin.core.Fixtures;
+import io.taucoin.core.Transaction;
+import io.taucoin.datasource.HashMapDB;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class StateUndoStoreTest {
+
+    private List<Block> chain;
+    private StateUndoStore undoStore;
+
+    @Before
+    public void setup() {
+        chain = Fixtures.chain(5, 0, 1);
+        undoStore = new StateUndoStore(new HashMapDB());
+    }
+
+    private static ByteArrayWrapper address(int i) {
+        return new ByteArrayWrapper(Fixtures.key(i).getAddress());
+    }
+
+    @Test
+    public void returnsTheRecordedPreImages() {
+        Map<ByteArrayWrapper, AccountState> preImages = new HashMap<>();
+        AccountState state = Fixtures.accountState(3, new Random(1));
+        preImages.put(address(0), state);
+        preImages.put(address(1), null);
+        undoStore.put(chain.get(0), preImages, 10);
+
+        Map<ByteArrayWrapper, AccountState> read = undoStore.get(chain.get(0));
+        assertEquals(2, read.size());
+        assertArrayEquals(state.getEncoded(), read.get(address(0)).getEncoded());
+        // Created by the block.
+        assertTrue(read.containsKey(address(1)));
+        assertNull(read.get(address(1)));
+    }
+
+    @Test
+    public void missesBlocksOfOtherBranches() {
+        undoStore.put(chain.get(1), new HashMap<ByteArrayWrapper, AccountState>(), 10);
+
+        Block other = Fixtures.block(2, chain.get(0).getHash(), Fixtures.key(7),
+                new ArrayList<Transaction>());
+        assertNull(undoStore.get(other));
+        assertNull(undoStore.get(chain.get(2)));
+        assertNotNull(undoStore.get(chain.get(1)));
+    }
+
+    @Test
+    public void keepsTheLastBlocks() {
+        for (Block block : chain) {
+            Map<ByteArrayWrapper, AccountState> preImages = new HashMap<>();
+            preImages.put(address(0), new AccountState(BigInteger.ONE,
+                    BigInteger.valueOf(block.getNumber())));
+            undoStore.put(block, preImages, 2);
+        }
+
+        // Blocks 1 to 5, the ones 2 below each new one are dropped.
+        assertNull(undoStore.get(chain.get(0)));
+        assertNull(undoStore.get(chain.get(1)));
+        assertNull(undoStore.get(chain.get(2)));
+        assertEquals(BigInteger.valueOf(4),
+                undoStore.get(chain.get(3)).get(address(0)).getBalance());
+        assertEquals(BigInteger.valueOf(5),
+                undoStore.get(chain.get(4)).get(address(0)).getBalance());
+
+        undoStore.delete(5);
+        assertNull(undoStore.get(chain.get(4)));
+    }
+}
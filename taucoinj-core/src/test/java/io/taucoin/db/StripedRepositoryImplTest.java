@@ -0,0 +1,95 @@
+package io.taucoin.db;
+
+import io.taucoin.core.AccountState;
+import io.taucoin.datasource.HashMapDB;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.taucoin.config.SystemProperties.CONFIG;
+import static org.junit.Assert.*;
+
+/**
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class StripedRepositoryImplTest {
+
+    private static final byte[] ADDRESS = new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10,
+            11, 12, 13, 14, 15, 16, 17, 18, 19, 20};
+
+    @Test
+    public void defaultIsStriped() {
+        assertEquals(64, CONFIG.databaseStateLockStripes());
+    }
+
+    @Test
+    public void getforgePowerOfUnknownAccountCreatesNothing() {
+        getforgePowerOfUnknownAccount(8388608);
+    }
+
+    @Test
+    public void getforgePowerOfUnknownAccountCreatesNothingUncached() {
+        getforgePowerOfUnknownAccount(0);
+    }
+
+    private void getforgePowerOfUnknownAccount(long cacheSize) {
+        HashMapDB stateDS = new KeptHashMapDB();
+        StripedRepositoryImpl repository = new StripedRepositoryImpl(stateDS, 64, cacheSize);
+
+        assertEquals(BigInteger.ZERO, repository.getforgePower(ADDRESS));
+        assertEquals(BigInteger.ZERO, repository.getBalance(ADDRESS));
+        assertFalse(repository.isExist(ADDRESS));
+        assertNull(repository.getAccountState(ADDRESS));
+
+        repository.flush(1);
+        repository.flush();
+        assertFalse(repository.isExist(ADDRESS));
+
+        // Only the latest block number is written.
+        repository.close();
+        assertNull(stateDS.get(ADDRESS));
+        assertEquals(1, stateDS.getAddedItems());
+    }
+
+    @Test
+    public void getforgePowerOfStoredAccount() {
+        HashMapDB stateDS = new KeptHashMapDB();
+        StripedRepositoryImpl repository = new StripedRepositoryImpl(stateDS, 64, 8388608);
+
+        Map<ByteArrayWrapper, AccountState> states = new HashMap<>();
+        states.put(new ByteArrayWrapper(ADDRESS),
+                new AccountState(BigInteger.valueOf(7), BigInteger.valueOf(1000)));
+        repository.updateBatch(states);
+        repository.flush(1);
+
+        assertEquals(BigInteger.valueOf(7), repository.getforgePower(ADDRESS));
+        assertEquals(BigInteger.valueOf(1000), repository.getBalance(ADDRESS));
+
+        repository.flush();
+        assertEquals(1, repository.getMaxNumber());
+        repository.close();
+        assertNotNull(stateDS.get(ADDRESS));
+    }
+
+    @Test
+    public void increaseforgePowerCreatesAccount() {
+        HashMapDB stateDS = new KeptHashMapDB();
+        StripedRepositoryImpl repository = new StripedRepositoryImpl(stateDS, 64, 8388608);
+
+        assertEquals(BigInteger.ONE, repository.increaseforgePower(ADDRESS));
+        assertTrue(repository.isExist(ADDRESS));
+        assertEquals(BigInteger.ONE, repository.getforgePower(ADDRESS));
+        repository.close();
+    }
+
+    // Keeps its rows on close.
+    private static class KeptHashMapDB extends HashMapDB {
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package io.taucoin.db;
+
+import io.taucoin.core.Block;
+import io.taucoin.core.Fixtures;
+import io.taucoin.core.Transaction;
+import io.taucoin.datasource.HashMapDB;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class TransactionIndexStoreTest {
+
+    // Numbered from the genesis, which the index starts at.
+    private List<Block> chain;
+    private HashMapDB indexDS;
+    private TransactionIndexStore index;
+
+    private final TransactionIndexStore.BlockSource source =
+            new TransactionIndexStore.BlockSource() {
+        @Override
+        public Block getChainBlock(long number) {
+            return number < chain.size() ? chain.get((int) number) : null;
+        }
+    };
+
+    @Before
+    public void setup() {
+        chain = new ArrayList<>();
+        chain.add(Fixtures.block(0, new byte[20], Fixtures.key(0), new ArrayList<Transaction>()));
+        chain.addAll(Fixtures.chain(120, 2, 1));
+        indexDS = new HashMapDB();
+        index = new TransactionIndexStore(indexDS);
+    }
+
+    private void assertIndexed(Block block) {
+        List<Transaction> txs = block.getTransactionsList();
+        for (int i = 0; i < txs.size(); i++) {
+            TransactionIndexStore.Location location = index.get(txs.get(i).getHash());
+            assertNotNull(location);
+            assertEquals(block.getNumber(), location.getBlockNumber());
+            assertEquals(i, location.getIndex());
+        }
+    }
+
+    private void assertNotIndexed(Block block) {
+        for (Transaction tx : block.getTransactionsList()) {
+            assertNull(index.get(tx.getHash()));
+        }
+    }
+
+    @Test
+    public void indexesAddedBlocks() {
+        assertEquals(-1, index.getIndexedNumber());
+        for (int i = 0; i < 3; i++) {
+            index.addBlock(chain.get(i));
+            assertIndexed(chain.get(i));
+        }
+        assertEquals(2, index.getIndexedNumber());
+
+        // A gap leaves the indexed number where the gap starts.
+        index.addBlock(chain.get(4));
+        assertIndexed(chain.get(4));
+        assertEquals(2, index.getIndexedNumber());
+    }
+
+    @Test
+    public void keepsTheIndexedNumber() {
+        index.addBlock(chain.get(0));
+        index.addBlock(chain.get(1));
+        assertEquals(1, new TransactionIndexStore(indexDS).getIndexedNumber());
+    }
+
+    @Test
+    public void reBranchMovesTheEntries() {
+        for (int i = 0; i < 4; i++) {
+            index.addBlock(chain.get(i));
+        }
+        Block fork = Fixtures.block(3, chain.get(2).getHash(), Fixtures.key(9),
+                Fixtures.transactions(Fixtures.keys(2), 2, 7));
+
+        index.reBranch(Collections.singletonList(chain.get(3)),
+                Collections.singletonList(fork));
+        assertNotIndexed(chain.get(3));
+        assertIndexed(fork);
+        assertIndexed(chain.get(2));
+        assertEquals(3, index.getIndexedNumber());
+    }
+
+    @Test
+    public void rebuildsTheRange() {
+        assertTrue(index.rebuild(source, 0, chain.size() - 1, 4));
+        assertEquals(chain.size() - 1, index.getIndexedNumber());
+        assertFalse(index.isRebuilding());
+        for (Block block : chain) {
+            assertIndexed(block);
+        }
+    }
+
+    @Test
+    public void rebuildSkipsMissingBlocks() {
+        final List<Block> stored = new ArrayList<>(chain.subList(0, 50));
+        assertTrue(index.rebuild(new TransactionIndexStore.BlockSource() {
+            @Override
+            public Block getChainBlock(long number) {
+                return number < stored.size() ? stored.get((int) number) : null;
+            }
+        }, 0, chain.size() - 1, 2));
+        assertIndexed(chain.get(49));
+        assertNotIndexed(chain.get(50));
+    }
+
+    @Test
+    public void resetDropsEveryEntry() {
+        assertTrue(index.rebuild(source, 0, 10, 1));
+        index.reset();
+        assertEquals(-1, index.getIndexedNumber());
+        assertNotIndexed(chain.get(1));
+        assertEquals(0, indexDS.getAddedItems());
+    }
+}
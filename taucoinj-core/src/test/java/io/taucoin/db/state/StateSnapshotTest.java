@@ -0,0 +1,242 @@
+package io.taucoin.db.state;
+
+import io.taucoin.core.AccountState;
+import io.taucoin.core.Block;
+import io.taucoin.core.BlockchainImpl;
+import io.taucoin.core.Fixtures;
+import io.taucoin.core.Transaction;
+import io.taucoin.crypto.ECKey;
+import io.taucoin.datasource.HashMapDB;
+import io.taucoin.datasource.KeyValueCursor;
+import io.taucoin.db.ByteArrayWrapper;
+import io.taucoin.db.IndexedBlockStore;
+import io.taucoin.db.StateUndoStore;
+import io.taucoin.db.StripedRepositoryImpl;
+import io.taucoin.db.file.FileBlockStore;
+import io.taucoin.listener.CompositeTaucoinListener;
+import io.taucoin.sync2.ChainInfoManager;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.taucoin.config.SystemProperties.CONFIG;
+import static org.junit.Assert.*;
+
+/**
+ * A states tag exported while the chain moved past it, loaded into an
+ * empty node.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class StateSnapshotTest {
+
+    private static final int LENGTH = 8;
+    private static final int TAG = 6;
+    private static final int KEEP_BLOCKS = 4;
+
+    private static String databaseDir;
+    private static File dir;
+
+    private StripedRepositoryImpl repository;
+    private IndexedBlockStore blockStore;
+    private StateUndoStore undoStore;
+    private CompositeTaucoinListener listener;
+    private List<Block> chain;
+
+    // Account states at the tag, null for the accounts missing then.
+    private Map<ByteArrayWrapper, byte[]> tagStates = new HashMap<>();
+
+    // The loader keeps the states tag directory it first reads.
+    @BeforeClass
+    public static void setupDatabaseDir() throws IOException {
+        databaseDir = CONFIG.databaseDir();
+        dir = Files.createTempDirectory("states-tag-test").toFile();
+        CONFIG.setDataBaseDir(dir.getAbsolutePath());
+    }
+
+    @AfterClass
+    public static void tearDownDatabaseDir() {
+        CONFIG.setDataBaseDir(databaseDir);
+        delete(dir);
+    }
+
+    @Before
+    public void setup() {
+        repository = new StripedRepositoryImpl(new HashMapDB(), 64, 0);
+        blockStore = newBlockStore();
+        undoStore = new StateUndoStore(new HashMapDB());
+        listener = new CompositeTaucoinListener();
+
+        Map<ByteArrayWrapper, AccountState> accounts = new HashMap<>();
+        for (ECKey key : Fixtures.keys(16)) {
+            accounts.put(new ByteArrayWrapper(key.getAddress()), new AccountState(
+                    BigInteger.valueOf(1000), BigInteger.TEN.pow(15)));
+        }
+        repository.updateBatch(accounts);
+        repository.flush(0);
+
+        BlockchainImpl blockchain = new BlockchainImpl(blockStore, repository, null,
+                listener, new ChainInfoManager(), null, null, null, undoStore);
+        blockchain.setBestBlock(Fixtures.block(0, new byte[20], Fixtures.key(0),
+                new ArrayList<Transaction>()));
+
+        chain = Fixtures.chain(LENGTH, 20, 1);
+        for (int i = 0; i < LENGTH; i++) {
+            assertTrue(blockchain.addBlock(chain.get(i)));
+            if (i == TAG - 1) {
+                KeyValueCursor cursor = repository.getAccountCursor();
+                while (cursor.next()) {
+                    tagStates.put(new ByteArrayWrapper(cursor.getKey()), cursor.getValue());
+                }
+                cursor.close();
+            }
+        }
+        assertEquals(LENGTH, repository.getMaxNumber());
+    }
+
+    @After
+    public void tearDown() {
+        for (File file : dir.listFiles()) {
+            delete(file);
+        }
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private static IndexedBlockStore newBlockStore() {
+        IndexedBlockStore store = new IndexedBlockStore();
+        store.init(new HashMap<Long, List<IndexedBlockStore.BlockInfo>>(),
+                new HashMapDB(), null, null);
+        return store;
+    }
+
+    // Tags the states at TAG, then reads them as of the best block.
+    private final StateSnapshotSource source = new StateSnapshotSource() {
+        private boolean tagged;
+
+        @Override
+        public KeyValueCursor getAccountCursor() {
+            return repository.getAccountCursor();
+        }
+
+        @Override
+        public long getMaxNumber() {
+            if (!tagged) {
+                tagged = true;
+                return TAG;
+            }
+            return repository.getMaxNumber();
+        }
+    };
+
+    private StateSnapshotManifest export() throws IOException {
+        StateSnapshotWriter writer = new StateSnapshotWriter(blockStore, source, undoStore,
+                listener, new Object(), KEEP_BLOCKS);
+        return writer.export(new File(CONFIG.databaseDir(), "states-tag"));
+    }
+
+    @Test
+    public void loadsTheStatesAtTheTag() throws IOException {
+        StateSnapshotManifest manifest = export();
+        assertEquals(TAG, manifest.getNumber());
+        assertArrayEquals(chain.get(TAG - 1).getHash(), manifest.getHash());
+        assertEquals(KEEP_BLOCKS, manifest.getBlocks());
+
+        StripedRepositoryImpl loaded = new StripedRepositoryImpl(new HashMapDB(), 64, 0);
+        IndexedBlockStore loadedBlocks = newBlockStore();
+        FileBlockStore fileBlockStore = new FileBlockStore();
+        try {
+            StateLoader loader = new StateLoader(loadedBlocks, loaded, fileBlockStore,
+                    new CompositeTaucoinListener());
+            assertTrue(loader.loadStatesTag());
+            assertEquals(TAG + 1, fileBlockStore.getStartNumber());
+        } finally {
+            fileBlockStore.close();
+        }
+
+        assertEquals(TAG, loaded.getMaxNumber());
+        assertArrayEquals(chain.get(TAG - 1).getHash(), loadedBlocks.getBestBlock().getHash());
+        assertNotNull(loadedBlocks.getChainBlockByNumber(TAG - KEEP_BLOCKS + 1));
+        assertNull(loadedBlocks.getChainBlockByNumber(TAG - KEEP_BLOCKS));
+
+        KeyValueCursor cursor = repository.getAccountCursor();
+        while (cursor.next()) {
+            ByteArrayWrapper address = new ByteArrayWrapper(cursor.getKey());
+            AccountState state = loaded.getAccountState(address.getData());
+            byte[] expected = tagStates.get(address);
+            if (expected == null) {
+                // Created after the tag.
+                assertTrue(state == null || state.isDeleted());
+            } else {
+                assertNotNull(state);
+                assertArrayEquals(expected, state.getEncoded());
+            }
+        }
+        cursor.close();
+    }
+
+    @Test
+    public void exportsNamedTagsInTheStatesTagsDirectory() throws IOException {
+        File tags = new File(CONFIG.databaseDir(), CONFIG.databaseStatesTagsDir());
+        assertEquals(new File(tags, "tag"), StateLoader.exportDir("tag"));
+
+        FileBlockStore fileBlockStore = new FileBlockStore();
+        try {
+            StateLoader loader = new StateLoader(blockStore, repository, fileBlockStore, listener);
+            for (String name : new String[] {null, "", ".", "..", "../tag", "a/b", "a\\b",
+                    new File(tags, "tag").getAbsolutePath(), "C:tag"}) {
+                try {
+                    loader.exportStatesTag(name, undoStore, new Object());
+                    fail(name);
+                } catch (IllegalArgumentException e) {
+                    // Expected.
+                }
+            }
+        } finally {
+            fileBlockStore.close();
+        }
+        assertFalse(tags.exists());
+    }
+
+    @Test
+    public void refusesTamperedChunk() throws IOException {
+        export();
+        File chunk = new File(new File(CONFIG.databaseDir(), "states-tag"),
+                StateSnapshotManifest.chunkFile(0));
+        byte[] bytes = Files.readAllBytes(chunk.toPath());
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(chunk.toPath(), bytes);
+
+        FileBlockStore fileBlockStore = new FileBlockStore();
+        try {
+            StateLoader loader = new StateLoader(newBlockStore(),
+                    new StripedRepositoryImpl(new HashMapDB(), 64, 0), fileBlockStore,
+                    new CompositeTaucoinListener());
+            assertFalse(loader.loadStatesTag());
+            assertEquals(1, fileBlockStore.getStartNumber());
+        } finally {
+            fileBlockStore.close();
+        }
+    }
+}
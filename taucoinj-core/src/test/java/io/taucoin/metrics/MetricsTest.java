@@ -0,0 +1,110 @@
+package io.taucoin.metrics;
+
+import io.taucoin.datasource.HashMapDB;
+import io.taucoin.db.StripedRepositoryImpl;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * The registry snapshot tau_getMetrics serves, with 'metrics.enabled' set
+ * by the test task.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class MetricsTest {
+
+    private static final String[] HISTOGRAM_VALUES = {
+            ".count", ".mean", ".p50", ".p95", ".p99", ".max"};
+
+    @BeforeClass
+    public static void enabled() {
+        assertTrue("Run with -Dmetrics.enabled=true", Metrics.isEnabled());
+    }
+
+    private static void assertHistogram(Map<String, Long> values, String name) {
+        for (String value : HISTOGRAM_VALUES) {
+            assertTrue(name + value, values.containsKey(name + value));
+        }
+    }
+
+    @Test
+    public void snapshotsHistogramsAndGauges() {
+        Histogram histogram = Metrics.histogram("test.histogram");
+        for (int i = 1; i <= 1000; i++) {
+            histogram.update(i);
+        }
+        Metrics.gauge("test.gauge", new Gauge() {
+            @Override
+            public long getValue() {
+                return 42;
+            }
+        });
+
+        Map<String, Long> values = Metrics.snapshot();
+        assertHistogram(values, "test.histogram");
+        assertEquals(1000, (long) values.get("test.histogram.count"));
+        assertEquals(500, (long) values.get("test.histogram.mean"));
+        assertEquals(1000, (long) values.get("test.histogram.max"));
+        // Within the eighth of the value a bucket spans.
+        long p50 = values.get("test.histogram.p50");
+        assertTrue(p50 >= 500 && p50 <= 500 + 500 / 8);
+        long p99 = values.get("test.histogram.p99");
+        assertTrue(p99 >= 990 && p99 <= 1000);
+        assertEquals(42, (long) values.get("test.gauge"));
+    }
+
+    @Test
+    public void registersTheInstrumentedMetrics() throws ClassNotFoundException {
+        Class.forName("io.taucoin.forge.BlockForger");
+        Class.forName("io.taucoin.core.BlockchainImpl");
+        new StripedRepositoryImpl(new HashMapDB(), 64, 1 << 20);
+
+        Map<String, Long> values = Metrics.snapshot();
+        assertHistogram(values, "forge.handoff.us");
+        assertHistogram(values, "blockchain.validate.us");
+        assertHistogram(values, "blockchain.apply.us");
+        assertHistogram(values, "repository.flush.us");
+        assertTrue(values.containsKey("blockchain.rebranches"));
+        assertTrue(values.containsKey("repository.cache.hits"));
+        assertTrue(values.containsKey("repository.cache.bytes"));
+    }
+
+    @Test
+    public void namesKeepTheirMetric() {
+        assertSame(Metrics.histogram("test.same"), Metrics.histogram("test.same"));
+        Metrics.counter("test.counter").inc();
+        try {
+            Metrics.histogram("test.counter");
+            fail();
+        } catch (IllegalArgumentException e) {
+            // Expected.
+        }
+        assertEquals(1, (long) Metrics.snapshot().get("test.counter"));
+    }
+
+    @Test
+    public void skipsFailingGauges() {
+        Metrics.gauge("test.failing", new Gauge() {
+            @Override
+            public long getValue() {
+                throw new IllegalStateException();
+            }
+        });
+        Metrics.gauge("test.after", new Gauge() {
+            @Override
+            public long getValue() {
+                return 7;
+            }
+        });
+
+        Map<String, Long> values = Metrics.snapshot();
+        assertFalse(values.containsKey("test.failing"));
+        assertEquals(7, (long) values.get("test.after"));
+    }
+}
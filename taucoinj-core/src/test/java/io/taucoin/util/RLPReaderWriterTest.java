@@ -0,0 +1,182 @@
+package io.taucoin.util;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * RLPWriter and RLPReader agree with the encodings and decodings of RLP.
+ *
+ * @author Taucoin Core Developers
+ * @since 18.10.2026
+ */
+public class RLPReaderWriterTest {
+
+    // Elements around the single byte, short and long item bounds.
+    private static List<byte[]> elements() {
+        Random random = new Random(1);
+        List<byte[]> elements = new ArrayList<>();
+        elements.add(null);
+        elements.add(new byte[0]);
+        elements.add(new byte[] {0});
+        elements.add(new byte[] {0x7f});
+        elements.add(new byte[] {(byte) 0x80});
+        elements.add(new byte[] {(byte) 0xff});
+        for (int length : new int[] {2, 55, 56, 57, 255, 256, 1024, 70000}) {
+            byte[] element = new byte[length];
+            random.nextBytes(element);
+            elements.add(element);
+        }
+        return elements;
+    }
+
+    private static List<BigInteger> numbers() {
+        List<BigInteger> numbers = new ArrayList<>();
+        for (long n : new long[] {0, 1, 0x7f, 0x80, 0xff, 0x100, Long.MAX_VALUE}) {
+            numbers.add(BigInteger.valueOf(n));
+        }
+        numbers.add(BigInteger.TEN.pow(40));
+        return numbers;
+    }
+
+    @Test
+    public void writesElementsLikeRLP() {
+        for (byte[] element : elements()) {
+            byte[] expected = RLP.encodeElement(element);
+            assertArrayEquals(expected, new RLPWriter().writeElement(element).toByteArray());
+            assertEquals(expected.length, RLPWriter.elementSize(element));
+        }
+    }
+
+    @Test
+    public void writesBytesLikeRLP() {
+        for (int i = 0; i < 256; i++) {
+            byte value = (byte) i;
+            byte[] expected = RLP.encodeByte(value);
+            assertArrayEquals(expected, new RLPWriter(1).writeByte(value).toByteArray());
+            assertEquals(expected.length, RLPWriter.byteSize(value));
+        }
+    }
+
+    @Test
+    public void writesNumbersLikeRLP() {
+        for (BigInteger number : numbers()) {
+            byte[] expected = RLP.encodeBigInteger(number);
+            assertArrayEquals(expected, new RLPWriter().writeBigInteger(number).toByteArray());
+            assertEquals(expected.length, RLPWriter.bigIntegerSize(number));
+        }
+    }
+
+    @Test
+    public void writesListsLikeRLP() {
+        List<byte[]> elements = elements();
+        // Short and long lists, and a list nested in one.
+        for (int count : new int[] {0, 1, 5, elements.size()}) {
+            byte[][] encoded = new byte[count][];
+            int payload = 0;
+            for (int i = 0; i < count; i++) {
+                encoded[i] = RLP.encodeElement(elements.get(i));
+                payload += RLPWriter.elementSize(elements.get(i));
+            }
+            byte[] expected = RLP.encodeList(RLP.encodeList(encoded), RLP.encodeByte((byte) 1));
+
+            int inner = RLPWriter.listSize(payload);
+            RLPWriter writer = new RLPWriter(RLPWriter.listSize(inner + 1));
+            writer.writeListHeader(inner + 1).writeListHeader(payload);
+            for (int i = 0; i < count; i++) {
+                writer.writeElement(elements.get(i));
+            }
+            writer.writeByte((byte) 1);
+            assertEquals(expected.length, writer.size());
+            assertArrayEquals(expected, writer.toByteArray());
+        }
+    }
+
+    @Test
+    public void readsWhatRLPDecodes() {
+        List<byte[]> elements = elements();
+        byte[][] encoded = new byte[elements.size()][];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = RLP.encodeElement(elements.get(i));
+        }
+        byte[] list = RLP.encodeList(encoded);
+        RLPList decoded = (RLPList) RLP.decode2(list).get(0);
+
+        RLPReader reader = RLPReader.ofList(list);
+        for (int i = 0; i < encoded.length; i++) {
+            reader.nextItem();
+            assertFalse(reader.isList());
+            assertArrayEquals(decoded.get(i).getRLPData(), reader.getBytes());
+            assertArrayEquals(encoded[i], reader.getEncoded());
+        }
+        assertFalse(reader.next());
+    }
+
+    @Test
+    public void readsNumbers() {
+        for (BigInteger number : numbers()) {
+            RLPReader reader = new RLPReader(RLP.encodeBigInteger(number)).nextItem();
+            assertEquals(number, reader.getBigInteger());
+            assertEquals(number.longValue(), reader.getLong());
+        }
+        assertEquals(0, new RLPReader(RLP.encodeByte((byte) 0)).nextItem().getByte());
+        assertEquals((byte) 0x90, new RLPReader(RLP.encodeByte((byte) 0x90)).nextItem().getByte());
+    }
+
+    @Test
+    public void readsNestedLists() {
+        byte[] encoded = RLP.encodeList(RLP.encodeElement(new byte[] {1, 2}),
+                RLP.encodeList(RLP.encodeByte((byte) 3), RLP.encodeList()),
+                RLP.encodeElement(null));
+
+        RLPReader reader = RLPReader.ofList(encoded);
+        assertArrayEquals(new byte[] {1, 2}, reader.nextItem().getBytes());
+        RLPReader inner = reader.nextItem().list();
+        assertEquals(3, inner.nextItem().getByte());
+        assertTrue(inner.nextItem().isList());
+        assertFalse(inner.list().hasNext());
+        assertFalse(inner.next());
+        assertTrue(reader.nextItem().isEmpty());
+        assertNull(reader.getBytes());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    public void readsTheRemainingBytesOfABuffer() {
+        byte[] encoded = RLP.encodeList(RLP.encodeElement(new byte[] {9, 9}));
+        ByteBuffer buffer = ByteBuffer.allocate(encoded.length + 3);
+        buffer.put(new byte[] {1, 2, 3}).put(encoded).flip();
+        buffer.position(3);
+
+        RLPReader reader = RLPReader.of(buffer).nextItem().list();
+        assertArrayEquals(new byte[] {9, 9}, reader.nextItem().getBytes());
+        assertEquals(3, buffer.position());
+    }
+
+    @Test
+    public void refusesWhatRLPRefuses() {
+        byte[][] wrong = {
+                // A single byte encoded as a byte string.
+                new byte[] {(byte) 0x81, 0x05},
+                // A short item encoded as a long one.
+                new byte[] {(byte) 0xb8, 0x01, 0x05},
+                // Longer than the data.
+                new byte[] {(byte) 0x83, 0x01},
+                new byte[] {(byte) 0xc3, 0x01},
+        };
+        for (byte[] encoded : wrong) {
+            try {
+                new RLPReader(encoded).next();
+                fail();
+            } catch (RuntimeException e) {
+                // Expected.
+            }
+        }
+    }
+}